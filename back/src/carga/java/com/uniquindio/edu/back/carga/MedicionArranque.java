@@ -0,0 +1,172 @@
+package com.uniquindio.edu.back.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Tiempo de arranque en cada modo de ejecución: jar normal, jar con Spring AOT, jar extraído con AOT y
+// archivo CDS (como en el Dockerfile) y este último con inicialización diferida. Mide desde que se lanza
+// el proceso hasta que /actuator/health responde, y el application.ready.time que reporta Spring.
+// Con -ParranqueMaximoMs el build falla si el modo del Dockerfile supera ese tiempo.
+//
+// Uso: ./gradlew medirArranque [-ParranqueRepeticiones=3] [-ParranqueMaximoMs=15000]
+public final class MedicionArranque {
+
+    private static final Pattern VALOR = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final String MODO_DOCKERFILE = "aot+cds";
+
+    private MedicionArranque() {}
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Path directorio = Path.of(args.length > 2 ? args[2] : "build/arranque");
+        long maximoMs = args.length > 3 && !args[3].isBlank() ? Long.parseLong(args[3]) : 0;
+
+        Path extraido = directorio.resolve("extraido");
+        Path archivoCds = directorio.resolve("app.jsa");
+        prepararCds(jar, extraido, archivoCds);
+
+        String aot = "-Dspring.aot.enabled=true";
+        String cds = "-XX:SharedArchiveFile=" + archivoCds;
+        Path jarExtraido = extraido.resolve(jar.getFileName());
+        List<Modo> modos = List.of(
+                new Modo("jar", List.of("-jar", jar.toString()), List.of()),
+                new Modo("aot", List.of(aot, "-jar", jar.toString()), List.of()),
+                new Modo(MODO_DOCKERFILE, List.of(cds, aot, "-jar", jarExtraido.toString()), List.of()),
+                new Modo("aot+cds+lazy", List.of(cds, aot, "-jar", jarExtraido.toString()),
+                        List.of("--spring.main.lazy-initialization=true")));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<Resultado> resultados = new ArrayList<>();
+        int puerto = 18100;
+        for (Modo modo : modos) {
+            long[] hastaResponder = new long[repeticiones];
+            double[] listoSegunSpring = new double[repeticiones];
+            for (int i = 0; i < repeticiones; i++) {
+                Medicion medicion = medir(cliente, modo, puerto++);
+                hastaResponder[i] = medicion.hastaResponderMs();
+                listoSegunSpring[i] = medicion.listoSegunSpringMs();
+                System.out.printf("[%s] %d/%d: %d ms%n", modo.nombre(), i + 1, repeticiones, medicion.hastaResponderMs());
+            }
+            Arrays.sort(hastaResponder);
+            Arrays.sort(listoSegunSpring);
+            resultados.add(new Resultado(modo.nombre(), hastaResponder[repeticiones / 2], listoSegunSpring[repeticiones / 2]));
+        }
+
+        long base = resultados.get(0).hastaResponderMs();
+        System.out.printf("%nMediana de %d arranques por modo%n", repeticiones);
+        System.out.printf("%-14s %16s %18s %10s%n", "modo", "hasta responder", "listo según Spring", "vs jar");
+        for (Resultado r : resultados) {
+            System.out.printf("%-14s %13d ms %15.0f ms %9.0f%%%n", r.modo(), r.hastaResponderMs(), r.listoSegunSpringMs(),
+                    100.0 * (r.hastaResponderMs() - base) / base);
+        }
+
+        long dockerfile = resultados.stream().filter(r -> r.modo().equals(MODO_DOCKERFILE)).findFirst().orElseThrow().hastaResponderMs();
+        if (maximoMs > 0 && dockerfile > maximoMs) {
+            System.err.printf("El arranque del modo %s (%d ms) supera el máximo de %d ms%n", MODO_DOCKERFILE, dockerfile, maximoMs);
+            System.exit(1);
+        }
+    }
+
+    // Mismos pasos que el Dockerfile: extraer el jar (CDS no archiva clases de jars anidados) y una corrida
+    // de entrenamiento que sale al terminar el refresh del contexto y guarda las clases cargadas
+    private static void prepararCds(Path jar, Path extraido, Path archivoCds) throws IOException, InterruptedException {
+        Files.createDirectories(extraido);
+        ejecutar(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", extraido.toString(), "--force"));
+        Files.deleteIfExists(archivoCds);
+        ejecutar(List.of(java(), "-XX:ArchiveClassesAtExit=" + archivoCds, "-Xlog:cds=error", "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh", "-jar", extraido.resolve(jar.getFileName()).toString(),
+                "--logging.level.root=WARN"));
+        if (!Files.exists(archivoCds)) {
+            throw new IllegalStateException("La corrida de entrenamiento no generó " + archivoCds);
+        }
+    }
+
+    private static Medicion medir(HttpClient cliente, Modo modo, int puerto) throws Exception {
+        List<String> comando = new ArrayList<>();
+        comando.add(java());
+        comando.addAll(modo.jvm());
+        comando.add("--server.port=" + puerto);
+        comando.add("--logging.level.root=WARN");
+        comando.addAll(modo.aplicacion());
+
+        String base = "http://localhost:" + puerto;
+        long inicio = System.nanoTime();
+        Process aplicacion = new ProcessBuilder(comando)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long limite = inicio + Duration.ofMinutes(3).toNanos();
+            while (System.nanoTime() < limite) {
+                if (!aplicacion.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó al arrancar en modo " + modo.nombre());
+                }
+                if (responde(cliente, base + "/actuator/health")) {
+                    long hastaResponder = (System.nanoTime() - inicio) / 1_000_000;
+                    return new Medicion(hastaResponder, listoSegunSpring(cliente, base));
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException("La aplicación no respondió en " + base);
+        } finally {
+            aplicacion.destroy();
+            aplicacion.waitFor();
+        }
+    }
+
+    private static boolean responde(HttpClient cliente, String url) throws InterruptedException {
+        try {
+            return cliente.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode() == 200;
+        } catch (IOException ex) {
+            // Todavía no escucha
+            return false;
+        }
+    }
+
+    // application.ready.time (segundos) se registra al terminar los runners; se espera a que exista
+    private static double listoSegunSpring(HttpClient cliente, String base) throws InterruptedException, IOException {
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(base + "/actuator/metrics/application.ready.time")).build();
+        for (int intento = 0; intento < 600; intento++) {
+            HttpResponse<String> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+            Matcher valor = VALOR.matcher(respuesta.body());
+            if (respuesta.statusCode() == 200 && valor.find()) {
+                return Double.parseDouble(valor.group(1)) * 1000;
+            }
+            Thread.sleep(100);
+        }
+        return Double.NaN;
+    }
+
+    private static void ejecutar(List<String> comando) throws IOException, InterruptedException {
+        int salida = new ProcessBuilder(comando).inheritIO().start().waitFor();
+        if (salida != 0) {
+            throw new IllegalStateException("Falló (" + salida + "): " + String.join(" ", comando));
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private record Modo(String nombre, List<String> jvm, List<String> aplicacion) {
+    }
+
+    private record Medicion(long hastaResponderMs, double listoSegunSpringMs) {
+    }
+
+    private record Resultado(String modo, long hastaResponderMs, double listoSegunSpringMs) {
+    }
+}
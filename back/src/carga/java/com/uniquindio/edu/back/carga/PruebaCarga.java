@@ -0,0 +1,158 @@
+package com.uniquindio.edu.back.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// Prueba de carga: levanta el jar de la aplicación en cada modo de ejecución (hilos de plataforma y
+// hilos virtuales), lanza N clientes concurrentes contra endpoints que consultan la base de datos
+// y compara throughput y latencias.
+//
+// Uso: ./gradlew pruebaCarga [-PcargaClientes=1000] [-PcargaSegundos=30]
+public final class PruebaCarga {
+
+    private static final String[] RUTAS = {
+            "/api/resultados-medicos/pagina?tamano=20",
+            "/api/citas/pagina?tamano=20",
+            "/api/resultados-medicos/buscar/paciente?paciente=juan",
+    };
+
+    private PruebaCarga() {}
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        List<Resultado> resultados = new ArrayList<>();
+        resultados.add(ejecutarModo("plataforma", jar, 18081, clientes, segundos));
+        resultados.add(ejecutarModo("virtual", jar, 18082, clientes, segundos));
+
+        System.out.printf("%n%d clientes concurrentes, %d s por modo%n", clientes, segundos);
+        System.out.printf("%-12s %12s %10s %10s %10s %10s%n", "modo", "peticiones/s", "p50 ms", "p99 ms", "max ms", "errores");
+        for (Resultado r : resultados) {
+            System.out.printf("%-12s %12.1f %10.1f %10.1f %10.1f %10d%n",
+                    r.modo(), r.throughput(), r.percentil(0.50), r.percentil(0.99), r.percentil(1.0), r.errores());
+        }
+    }
+
+    private static Resultado ejecutarModo(String modo, Path jar, int puerto, int clientes, int segundos) throws Exception {
+        List<String> comando = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx1g", "-jar", jar.toString(),
+                "--server.port=" + puerto,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (modo.equals("virtual")) {
+            comando.add("--spring.profiles.active=virtual");
+        }
+
+        Process aplicacion = new ProcessBuilder(comando).inheritIO().start();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient cliente = HttpClient.newBuilder()
+                    .executor(hilos)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            String base = "http://localhost:" + puerto;
+            esperarArranque(cliente, base);
+
+            System.out.printf("[%s] calentando...%n", modo);
+            medir(cliente, hilos, base, Math.min(clientes, 100), 10);
+            System.out.printf("[%s] midiendo con %d clientes...%n", modo, clientes);
+            Medicion medicion = medir(cliente, hilos, base, clientes, segundos);
+            return new Resultado(modo, medicion.latencias(), medicion.errores(), segundos);
+        } finally {
+            aplicacion.destroy();
+            aplicacion.waitFor();
+        }
+    }
+
+    private static void esperarArranque(HttpClient cliente, String base) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < limite) {
+            try {
+                HttpResponse<Void> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base + RUTAS[1])).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Todavía no escucha
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("La aplicación no respondió en " + base);
+    }
+
+    // Cada cliente hace peticiones seguidas (sin pausa) hasta que se acaba el tiempo
+    private static Medicion medir(HttpClient cliente, ExecutorService hilos, String base, int clientes, int segundos)
+            throws Exception {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        LongAdder errores = new LongAdder();
+        List<Future<long[]>> tareas = new ArrayList<>(clientes);
+        for (int c = 0; c < clientes; c++) {
+            int desplazamiento = c;
+            tareas.add(hilos.submit(() -> {
+                long[] latencias = new long[1024];
+                int n = 0;
+                for (int i = desplazamiento; System.nanoTime() < fin; i++) {
+                    HttpRequest peticion = HttpRequest.newBuilder(URI.create(base + RUTAS[i % RUTAS.length]))
+                            .timeout(Duration.ofSeconds(60))
+                            .build();
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                        if (respuesta.statusCode() != 200) {
+                            errores.increment();
+                            continue;
+                        }
+                    } catch (IOException ex) {
+                        errores.increment();
+                        continue;
+                    }
+                    if (n == latencias.length) {
+                        latencias = Arrays.copyOf(latencias, n * 2);
+                    }
+                    latencias[n++] = System.nanoTime() - inicio;
+                }
+                return Arrays.copyOf(latencias, n);
+            }));
+        }
+
+        List<long[]> porCliente = new ArrayList<>(clientes);
+        for (Future<long[]> tarea : tareas) {
+            porCliente.add(tarea.get());
+        }
+        long[] todas = porCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Medicion(todas, errores.sum());
+    }
+
+    private record Medicion(long[] latencias, long errores) {
+    }
+
+    private record Resultado(String modo, long[] latencias, long errores, int segundos) {
+
+        double throughput() {
+            return (double) latencias.length / segundos;
+        }
+
+        double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int i = (int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1);
+            return latencias[Math.max(i, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.uniquindio.edu.back.busqueda.Autocompletado;
+import com.uniquindio.edu.back.model.dto.SugerenciaDTO;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Diez sugerencias por prefijo entre "nombres" valores distintos: el arreglo ordenado con árbol de máximos de
+// Autocompletado frente a recorrer el rango del prefijo en un TreeMap y ordenarlo por frecuencia.
+// Los prefijos van de muy amplio ("j", una décima parte de los nombres) a casi un nombre completo.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutocompletadoBenchmark {
+
+    @Param({"1000000"})
+    public int nombres;
+
+    @Param({"j", "jose p", "jose perez gomez 12"})
+    public String prefijo;
+
+    private Autocompletado autocompletado;
+    private TreeMap<String, Long> ordenado;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        autocompletado = new Autocompletado();
+        ordenado = new TreeMap<>();
+        SplittableRandom azar = new SplittableRandom(42);
+        autocompletado.iniciarCarga();
+        for (int i = 0; i < nombres; i++) {
+            String nombre = DatosSinteticos.NOMBRES[i % DatosSinteticos.NOMBRES.length] + " "
+                    + DatosSinteticos.APELLIDOS[(i / 10) % DatosSinteticos.APELLIDOS.length] + " "
+                    + DatosSinteticos.sesgado(azar, DatosSinteticos.APELLIDOS) + " " + i;
+            // Pocas apariciones para casi todos y muchas para unos pocos
+            long apariciones = 1 + (long) (Math.pow(azar.nextDouble(), 8) * 200);
+            autocompletado.sumar(nombre, apariciones);
+            ordenado.merge(TextoNormalizado.normalizar(nombre), apariciones, Long::sum);
+        }
+        autocompletado.terminarCarga();
+    }
+
+    @Benchmark
+    public List<SugerenciaDTO> arregloOrdenado() {
+        return autocompletado.sugerir(prefijo, 10);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> recorridoDelRango() {
+        String p = TextoNormalizado.normalizar(prefijo);
+        return ordenado.subMap(p, p + Character.MAX_VALUE).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(10)
+                .toList();
+    }
+}
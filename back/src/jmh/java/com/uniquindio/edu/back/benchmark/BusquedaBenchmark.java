@@ -0,0 +1,99 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.uniquindio.edu.back.busqueda.IndiceInvertido;
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+
+// Compara el índice invertido con las consultas LIKE '%...%' de ResultadoMedicoRepository
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BusquedaBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int filas;
+
+    @Param({"ramirez", "hemograma"})
+    public String consulta;
+
+    private Connection conexion;
+    private PreparedStatement likePaciente;
+    private PreparedStatement likeDescripcion;
+    private IndiceInvertido indice;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        conexion = DriverManager.getConnection("jdbc:h2:mem:busqueda;DB_CLOSE_DELAY=-1");
+        DatosSinteticos.crearTablaResultados(conexion, filas);
+
+        indice = IndiceResultadosMedicos.crearIndice();
+        try (Statement st = conexion.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, paciente, tipo_examen, medico_responsable, resultados, "
+                     + "descripcion, observaciones FROM resultado_medico")) {
+            while (rs.next()) {
+                indice.indexar(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), rs.getString(6), rs.getString(7));
+            }
+        }
+
+        // Mismo SQL que genera Hibernate para findByPacienteContainingIgnoreCase y buscarPorTexto
+        likePaciente = conexion.prepareStatement(
+                "SELECT id FROM resultado_medico WHERE UPPER(paciente) LIKE UPPER(?) ESCAPE '\\' FETCH FIRST 20 ROWS ONLY");
+        likeDescripcion = conexion.prepareStatement(
+                "SELECT id FROM resultado_medico WHERE descripcion LIKE ? FETCH FIRST 20 ROWS ONLY");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        conexion.close();
+    }
+
+    @Benchmark
+    public int likePaciente() throws SQLException {
+        likePaciente.setString(1, "%" + consulta + "%");
+        return contar(likePaciente);
+    }
+
+    @Benchmark
+    public int likeDescripcion() throws SQLException {
+        likeDescripcion.setString(1, "%" + consulta + "%");
+        return contar(likeDescripcion);
+    }
+
+    @Benchmark
+    public List<Long> indiceInvertido() {
+        return indice.buscar(consulta, 20);
+    }
+
+    private static int contar(PreparedStatement ps) throws SQLException {
+        int total = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,138 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Búsqueda por nombre de paciente: la consulta anterior (UPPER(paciente) LIKE '%...%', que no puede usar el
+// índice de paciente y distingue tildes) frente al prefijo sobre paciente_normalizado con su índice.
+// La búsqueda por el inicio de cualquier palabra usa la tabla de sufijos (resultado_sufijo_paciente).
+// Devuelven todas las coincidencias, como /api/resultados-medicos/buscar/paciente.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BusquedaNombreBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int filas;
+
+    // Nombre frecuente y nombre completo; sin tildes, como suelen escribirse
+    @Param({"jose", "jose perez 12", "perez"})
+    public String consulta;
+
+    private Connection conexion;
+    private PreparedStatement contieneSinIndice;
+    private PreparedStatement prefijoNormalizado;
+    private PreparedStatement palabraPorSufijo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        conexion = DriverManager.getConnection("jdbc:h2:mem:busquedanombre;DB_CLOSE_DELAY=-1");
+        DatosSinteticos.crearTablaResultados(conexion, filas);
+        try (Statement st = conexion.createStatement()) {
+            st.execute("ALTER TABLE resultado_medico ADD COLUMN paciente_normalizado VARCHAR(255)");
+        }
+
+        try (Statement st = conexion.createStatement()) {
+            st.execute("CREATE TABLE resultado_sufijo_paciente (resultado_medico_id BIGINT NOT NULL, "
+                    + "sufijo VARCHAR(255) NOT NULL, PRIMARY KEY (sufijo, resultado_medico_id))");
+        }
+
+        // Misma normalización que la entidad al guardar
+        conexion.setAutoCommit(false);
+        try (Statement st = conexion.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, paciente FROM resultado_medico");
+             PreparedStatement ps = conexion.prepareStatement(
+                     "UPDATE resultado_medico SET paciente_normalizado = ? WHERE id = ?");
+             PreparedStatement sufijos = conexion.prepareStatement(
+                     "INSERT INTO resultado_sufijo_paciente (resultado_medico_id, sufijo) VALUES (?, ?)")) {
+            int n = 0;
+            while (rs.next()) {
+                ps.setString(1, TextoNormalizado.normalizar(rs.getString(2)));
+                ps.setLong(2, rs.getLong(1));
+                ps.addBatch();
+                for (String sufijo : TextoNormalizado.sufijos(rs.getString(2))) {
+                    sufijos.setLong(1, rs.getLong(1));
+                    sufijos.setString(2, sufijo);
+                    sufijos.addBatch();
+                }
+                if (++n % 1000 == 0) {
+                    ps.executeBatch();
+                    sufijos.executeBatch();
+                }
+            }
+            ps.executeBatch();
+            sufijos.executeBatch();
+        }
+        conexion.commit();
+        conexion.setAutoCommit(true);
+
+        try (Statement st = conexion.createStatement()) {
+            st.execute("CREATE INDEX idx_resultado_paciente ON resultado_medico (paciente)");
+            st.execute("CREATE INDEX idx_resultado_paciente_normalizado ON resultado_medico (paciente_normalizado)");
+        }
+
+        contieneSinIndice = conexion.prepareStatement(
+                "SELECT id FROM resultado_medico WHERE UPPER(paciente) LIKE UPPER(?)");
+        prefijoNormalizado = conexion.prepareStatement(
+                "SELECT id FROM resultado_medico WHERE paciente_normalizado LIKE ? ESCAPE '\\' "
+                        + "ORDER BY paciente_normalizado, id");
+        palabraPorSufijo = conexion.prepareStatement(
+                "SELECT r.id FROM resultado_medico r WHERE r.id IN (SELECT r2.id FROM resultado_medico r2 "
+                        + "JOIN resultado_sufijo_paciente s ON r2.id = s.resultado_medico_id WHERE s.sufijo LIKE ? ESCAPE '\\') "
+                        + "ORDER BY r.paciente_normalizado, r.id");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        conexion.close();
+    }
+
+    @Benchmark
+    public int contieneConUpper() throws SQLException {
+        contieneSinIndice.setString(1, "%" + consulta + "%");
+        return contar(contieneSinIndice);
+    }
+
+    @Benchmark
+    public int prefijoNormalizado() throws SQLException {
+        prefijoNormalizado.setString(1, TextoNormalizado.patronPrefijo(consulta));
+        return contar(prefijoNormalizado);
+    }
+
+    @Benchmark
+    public int palabraPorSufijo() throws SQLException {
+        palabraPorSufijo.setString(1, TextoNormalizado.patronPrefijo(consulta));
+        return contar(palabraPorSufijo);
+    }
+
+    private static int contar(PreparedStatement ps) throws SQLException {
+        int total = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
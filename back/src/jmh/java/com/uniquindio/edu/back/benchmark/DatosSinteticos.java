@@ -0,0 +1,76 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+// Tabla resultado_medico de prueba en un H2 propio, con nombres repetidos como en producción
+final class DatosSinteticos {
+
+    static final String[] NOMBRES = {"Juan", "Ana", "Pedro", "Carlos", "Laura", "María", "José", "Luisa", "Andrés", "Sofía"};
+    static final String[] APELLIDOS = {"Pérez", "Gómez", "López", "Ramírez", "Torres", "Rodríguez", "Jiménez", "Silva", "Mendoza", "Fernández"};
+    static final String[] EXAMENES = {"Hemograma Completo", "Electrocardiograma", "Radiografía de Tórax", "Perfil Lipídico",
+            "Resonancia Magnética Cerebral", "Ultrasonido Abdominal", "Glicemia", "Uroanálisis"};
+    static final String[] HALLAZGOS = {"Valores dentro de parámetros normales", "Leve elevación de colesterol LDL",
+            "Ritmo sinusal regular sin alteraciones", "Campos pulmonares claros", "Hemoglobina baja, control en 3 meses"};
+    static final String[] ESTADOS = {"PENDIENTE", "COMPLETADO", "REVISADO"};
+
+    private DatosSinteticos() {}
+
+    static void crearTablaResultados(Connection conexion, int filas) throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS resultado_medico");
+            st.execute("CREATE TABLE resultado_medico (id BIGINT PRIMARY KEY, paciente VARCHAR(255), tipo_examen VARCHAR(255), "
+                    + "resultados VARCHAR(255), medico_responsable VARCHAR(255), fecha_examen TIMESTAMP, fecha_emision TIMESTAMP, "
+                    + "descripcion VARCHAR(255), observaciones VARCHAR(255), estado VARCHAR(255))");
+        }
+
+        insertarResultados(conexion, filas, 1);
+    }
+
+    // Inserta filas en una tabla resultado_medico ya existente (la de Flyway o la de crearTablaResultados)
+    static void insertarResultados(Connection conexion, int filas, long primerId) throws SQLException {
+        SplittableRandom azar = new SplittableRandom(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        boolean autoCommit = conexion.getAutoCommit();
+        conexion.setAutoCommit(false);
+        try (PreparedStatement ps = conexion.prepareStatement("INSERT INTO resultado_medico (id, paciente, tipo_examen, resultados, "
+                + "medico_responsable, fecha_examen, fecha_emision, descripcion, observaciones, estado) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= filas; i++) {
+                LocalDateTime examen = base.plusMinutes(azar.nextInt(60 * 24 * 600));
+                ps.setLong(1, primerId + i - 1);
+                ps.setString(2, paciente(azar));
+                ps.setString(3, sesgado(azar, EXAMENES));
+                ps.setString(4, sesgado(azar, HALLAZGOS));
+                ps.setString(5, "Dr. " + paciente(azar));
+                ps.setTimestamp(6, Timestamp.valueOf(examen));
+                ps.setTimestamp(7, Timestamp.valueOf(examen.plusHours(1 + azar.nextInt(72))));
+                ps.setString(8, sesgado(azar, HALLAZGOS));
+                ps.setString(9, "Control " + i % 97);
+                ps.setString(10, sesgado(azar, ESTADOS));
+                ps.addBatch();
+                if (i % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conexion.commit();
+        conexion.setAutoCommit(autoCommit);
+    }
+
+    static String paciente(SplittableRandom azar) {
+        return sesgado(azar, NOMBRES) + " " + sesgado(azar, APELLIDOS) + " " + azar.nextInt(5000);
+    }
+
+    // Los primeros valores salen con más frecuencia, como pasa con los datos reales
+    static String sesgado(SplittableRandom azar, String[] valores) {
+        double u = azar.nextDouble();
+        return valores[(int) (valores.length * u * u)];
+    }
+}
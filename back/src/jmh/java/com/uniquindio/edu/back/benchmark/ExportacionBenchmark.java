@@ -0,0 +1,87 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.BackApplication;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService.Formato;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+// Exportación de la tabla completa: lista en memoria serializada de una vez (GET /api/resultados-medicos)
+// frente al cursor que escribe y desprende fila a fila. La salida se descarta para medir solo lectura y escritura.
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportacionBenchmark {
+
+    private static final long PRIMER_ID = 1_000_000L;
+
+    @Param({"10000", "100000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private ResultadoMedicoService servicio;
+    private ResultadoMedicoExportacionService exportacion;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        contexto = new SpringApplicationBuilder(BackApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:exportacion" + filas + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        servicio = contexto.getBean(ResultadoMedicoService.class);
+        exportacion = contexto.getBean(ResultadoMedicoExportacionService.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        try (Connection conexion = contexto.getBean(DataSource.class).getConnection()) {
+            DatosSinteticos.insertarResultados(conexion, filas, PRIMER_ID);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public long listaCompleta() throws IOException {
+        List<ResultadoMedicoDTO> todos = servicio.listarResultadosMedicos();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), todos);
+        return todos.size();
+    }
+
+    @Benchmark
+    public long exportacionNdjson() {
+        return exportacion.exportar(Formato.NDJSON, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long exportacionCsv() {
+        return exportacion.exportar(Formato.CSV, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,91 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+// Costo por petición de la línea de log de los controladores según la configuración:
+// - sincrono: INFO directo al appender (lo que había antes, consola sin cola)
+// - asincrono: INFO a través del AsyncAppender del perfil prod (cola, neverBlock)
+// - debug: la línea ya en DEBUG con el logger en INFO (lo que queda ahora en los controladores)
+@State(Scope.Benchmark)
+@Threads(4)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LogBenchmark {
+
+    @Param({"sincrono", "asincrono", "debug"})
+    public String modo;
+
+    private LoggerContext contexto;
+    private org.slf4j.Logger logger;
+    private Path archivo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        contexto = new LoggerContext();
+        archivo = Files.createTempFile("log-benchmark", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t --- %logger{39} : %m%n");
+        encoder.start();
+
+        // Mismo comportamiento que la consola: se escribe y se vacía el buffer en cada evento
+        FileAppender<ILoggingEvent> destino = new FileAppender<>();
+        destino.setContext(contexto);
+        destino.setFile(archivo.toString());
+        destino.setEncoder(encoder);
+        destino.setImmediateFlush(true);
+        destino.start();
+
+        Appender<ILoggingEvent> appender = destino;
+        if (modo.equals("asincrono")) {
+            AsyncAppender asincrono = new AsyncAppender();
+            asincrono.setContext(contexto);
+            asincrono.setQueueSize(8192);
+            asincrono.setDiscardingThreshold(1638);
+            asincrono.setNeverBlock(true);
+            asincrono.addAppender(destino);
+            asincrono.start();
+            appender = asincrono;
+        }
+
+        ch.qos.logback.classic.Logger raiz = contexto.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        raiz.setLevel(ch.qos.logback.classic.Level.INFO);
+        raiz.addAppender(appender);
+        logger = contexto.getLogger("com.uniquindio.edu.back.controller.ResultadoMedicoController");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws IOException {
+        contexto.stop();
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public void lineaPorPeticion() {
+        if (modo.equals("debug")) {
+            logger.debug("Obteniendo resultado médico con ID: {}", 42L);
+        } else {
+            logger.info("Obteniendo resultado médico con ID: {}", 42L);
+        }
+    }
+}
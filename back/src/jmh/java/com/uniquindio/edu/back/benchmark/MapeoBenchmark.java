@@ -0,0 +1,66 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.uniquindio.edu.back.mapper.CitaMapper;
+import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+
+// Conversión entidad <-> DTO que se repite por cada fila de los listados
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapeoBenchmark {
+
+    private final CitaMapper citaMapper = Mappers.getMapper(CitaMapper.class);
+    private final ResultadoMedicoMapper resultadoMedicoMapper = Mappers.getMapper(ResultadoMedicoMapper.class);
+
+    private Cita cita;
+    private CitaDTO citaDTO;
+    private ResultadoMedico resultado;
+    private ResultadoMedicoDTO resultadoDTO;
+
+    @Setup
+    public void preparar() {
+        cita = new Cita(1L, "Laura Gómez", "Medicina General", LocalDateTime.of(2025, 10, 28, 16, 0), "Chequeo anual");
+        citaDTO = citaMapper.toDTO(cita);
+
+        LocalDateTime examen = LocalDateTime.of(2025, 10, 10, 8, 30);
+        resultado = new ResultadoMedico(1L, "Juan Pérez", "Hemograma Completo",
+                "Hemoglobina: 14.2 g/dL, Leucocitos: 7200/mm³", "Dr. María González", examen, examen.plusHours(4),
+                "Resultados dentro de parámetros normales", EstadoResultado.COMPLETADO);
+        resultado.setDescripcion("Valores dentro de parámetros normales");
+        resultadoDTO = resultadoMedicoMapper.toDTO(resultado);
+    }
+
+    @Benchmark
+    public CitaDTO citaToDTO() {
+        return citaMapper.toDTO(cita);
+    }
+
+    @Benchmark
+    public Cita citaToEntity() {
+        return citaMapper.toEntity(citaDTO);
+    }
+
+    @Benchmark
+    public ResultadoMedicoDTO resultadoToDTO() {
+        return resultadoMedicoMapper.toDTO(resultado);
+    }
+
+    @Benchmark
+    public ResultadoMedico resultadoToEntity() {
+        return resultadoMedicoMapper.toEntity(resultadoDTO);
+    }
+}
@@ -0,0 +1,90 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import com.uniquindio.edu.back.BackApplication;
+import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+
+// Lectura de la tabla completa por tres caminos: entidades administradas + mapper (como antes),
+// proyección directa al DTO y proyección de resumen sin los textos largos
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProyeccionBenchmark {
+
+    private static final long PRIMER_ID = 1_000_000L;
+
+    @Param({"10000", "100000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private ResultadoMedicoRepository repositorio;
+    private ResultadoMedicoMapper mapper;
+    private Limit limite;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        contexto = new SpringApplicationBuilder(BackApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:proyeccion" + filas + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        repositorio = contexto.getBean(ResultadoMedicoRepository.class);
+        mapper = contexto.getBean(ResultadoMedicoMapper.class);
+
+        try (Connection conexion = contexto.getBean(DataSource.class).getConnection()) {
+            DatosSinteticos.insertarResultados(conexion, filas, PRIMER_ID);
+            try (Statement st = conexion.createStatement()) {
+                st.execute("ANALYZE");
+            }
+        }
+        limite = Limit.of(filas + 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> entidadesConMapper() {
+        return repositorio.findByIdGreaterThanOrderByIdAsc(0L, limite)
+                .stream()
+                .map(mapper::toDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> proyeccionDTO() {
+        return repositorio.listarDTODesde(0L, limite);
+    }
+
+    @Benchmark
+    public List<ResumenResultadoMedicoDTO> proyeccionResumen() {
+        return repositorio.listarResumenDesde(0L, limite);
+    }
+}
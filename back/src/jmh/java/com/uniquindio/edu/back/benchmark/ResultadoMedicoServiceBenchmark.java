@@ -0,0 +1,133 @@
+package com.uniquindio.edu.back.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.BackApplication;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+// Métodos de listado y búsqueda de ResultadoMedicoService contra un H2 sembrado (mismo esquema de Flyway),
+// más la serialización JSON de lo que devuelven
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultadoMedicoServiceBenchmark {
+
+    // Los ids sembrados empiezan lejos de los que usa la secuencia para DataLoader
+    private static final long PRIMER_ID = 1_000_000L;
+
+    @Param({"10000", "100000", "1000000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private ResultadoMedicoService servicio;
+    private ObjectMapper objectMapper;
+    private List<ResultadoMedicoDTO> listado;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        contexto = new SpringApplicationBuilder(BackApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark" + filas + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        servicio = contexto.getBean(ResultadoMedicoService.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        try (Connection conexion = contexto.getBean(DataSource.class).getConnection()) {
+            DatosSinteticos.insertarResultados(conexion, filas, PRIMER_ID);
+            try (Statement st = conexion.createStatement()) {
+                st.execute("ANALYZE");
+            }
+        }
+        listado = servicio.listarResultadosMedicos();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> listarResultadosMedicos() {
+        return servicio.listarResultadosMedicos();
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarPorPaciente() {
+        return servicio.buscarPorPaciente("Gómez 42");
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarPorTipoExamen() {
+        return servicio.buscarPorTipoExamen("uroanálisis");
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarPorMedicoResponsable() {
+        return servicio.buscarPorMedicoResponsable("Dr. Sofía");
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarPorEstado() {
+        return servicio.buscarPorEstado("REVISADO");
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarPorRangoFechas() {
+        LocalDateTime inicio = LocalDateTime.of(2024, 6, 1, 0, 0);
+        return servicio.buscarPorRangoFechas(inicio, inicio.plusDays(7));
+    }
+
+    @Benchmark
+    public List<ResultadoMedicoDTO> buscarResultadosRecientes() {
+        return servicio.buscarResultadosRecientes(LocalDateTime.of(2025, 7, 1, 0, 0));
+    }
+
+    // Serializa el listado completo sin acumular los bytes, igual que al escribir la respuesta HTTP
+    @Benchmark
+    public long serializarListado() throws IOException {
+        ContadorBytes salida = new ContadorBytes();
+        objectMapper.writeValue(salida, listado);
+        return salida.total;
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+
+        private long total;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
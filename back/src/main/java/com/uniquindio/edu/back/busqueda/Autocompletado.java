@@ -0,0 +1,237 @@
+package com.uniquindio.edu.back.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.uniquindio.edu.back.model.dto.SugerenciaDTO;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Sugerencias por prefijo de los valores de un campo, ordenadas por frecuencia.
+// Las claves normalizadas viven en un arreglo ordenado: las que empiezan por un prefijo forman un rango
+// contiguo que se ubica con dos búsquedas binarias. Sobre los conteos hay un árbol de segmentos con el
+// índice del máximo de cada tramo, así las k más frecuentes del rango salen en O(k log n) sin recorrerlo.
+// Los valores nuevos esperan en un TreeMap pequeño hasta que se funden con el arreglo.
+public class Autocompletado {
+
+    static final int MAXIMO_PENDIENTES = 4096;
+
+    private String[] claves = new String[0];
+    private String[] textos = new String[0];
+    private long[] conteos = new long[0];
+    private int capacidad = 1;
+    private int[] arbol = {-1, -1};
+    private final TreeMap<String, Pendiente> pendientes = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int activos;
+    private boolean cargando;
+
+    // Durante una carga masiva los valores nuevos se acumulan sin fundirse; terminarCarga() los funde de una vez
+    public void iniciarCarga() {
+        lock.writeLock().lock();
+        try {
+            cargando = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void terminarCarga() {
+        lock.writeLock().lock();
+        try {
+            cargando = false;
+            fundir();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Suma (o resta) apariciones del valor; el texto que se sugiere es la primera forma registrada
+    public void sumar(String texto, long delta) {
+        String clave = TextoNormalizado.normalizar(texto);
+        if (clave.isEmpty() || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int i = Arrays.binarySearch(claves, clave);
+            if (i >= 0) {
+                long anterior = conteos[i];
+                conteos[i] = Math.max(0, anterior + delta);
+                contarActivo(anterior, conteos[i]);
+                actualizarArbol(i);
+                return;
+            }
+            Pendiente pendiente = pendientes.get(clave);
+            long anterior = pendiente == null ? 0 : pendiente.conteo;
+            long nuevo = Math.max(0, anterior + delta);
+            contarActivo(anterior, nuevo);
+            if (nuevo == 0) {
+                pendientes.remove(clave);
+            } else if (pendiente == null) {
+                pendientes.put(clave, new Pendiente(texto.trim(), nuevo));
+            } else {
+                pendiente.conteo = nuevo;
+            }
+            if (!cargando && pendientes.size() > MAXIMO_PENDIENTES) {
+                fundir();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Hasta "limite" valores que empiezan por el prefijo (sin importar mayúsculas ni tildes), del más frecuente al menos
+    public List<SugerenciaDTO> sugerir(String prefijo, int limite) {
+        String p = TextoNormalizado.normalizar(prefijo);
+        String fin = p + Character.MAX_VALUE;
+        List<Candidato> candidatos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            masFrecuentes(desde(p), desde(fin), limite, candidatos);
+            pendientes.subMap(p, fin).forEach((clave, pendiente) ->
+                    candidatos.add(new Candidato(clave, pendiente.texto, pendiente.conteo)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidatos.stream()
+                .sorted(Comparator.comparingLong(Candidato::conteo).reversed().thenComparing(Candidato::clave))
+                .limit(limite)
+                .map(c -> new SugerenciaDTO(c.texto(), c.conteo()))
+                .toList();
+    }
+
+    // Valores distintos con al menos una aparición
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return activos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Recorre el árbol de mayor a menor: se parte de los nodos que cubren [inicio, fin) y en cada paso se
+    // abre el de mayor máximo; cada hoja que sale es el siguiente valor más frecuente del rango
+    private void masFrecuentes(int inicio, int fin, int limite, List<Candidato> destino) {
+        PriorityQueue<Integer> nodos = new PriorityQueue<>(
+                Comparator.comparingLong((Integer n) -> conteo(arbol[n])).reversed().thenComparingInt(n -> arbol[n]));
+        for (int l = inicio + capacidad, r = fin + capacidad; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                nodos.add(l++);
+            }
+            if ((r & 1) == 1) {
+                nodos.add(--r);
+            }
+        }
+        int encontrados = 0;
+        while (encontrados < limite && !nodos.isEmpty()) {
+            int nodo = nodos.poll();
+            int i = arbol[nodo];
+            if (conteo(i) <= 0) {
+                break;
+            }
+            if (nodo >= capacidad) {
+                destino.add(new Candidato(claves[i], textos[i], conteos[i]));
+                encontrados++;
+            } else {
+                nodos.add(2 * nodo);
+                nodos.add(2 * nodo + 1);
+            }
+        }
+    }
+
+    // Primera posición del arreglo cuya clave no es menor que la dada
+    private int desde(String clave) {
+        int i = Arrays.binarySearch(claves, clave);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    // Funde los pendientes con el arreglo en orden y descarta las claves que quedaron en cero
+    private void fundir() {
+        int total = claves.length + pendientes.size();
+        String[] nuevasClaves = new String[total];
+        String[] nuevosTextos = new String[total];
+        long[] nuevosConteos = new long[total];
+        int n = 0;
+        int i = 0;
+        for (Map.Entry<String, Pendiente> entrada : pendientes.entrySet()) {
+            while (i < claves.length && claves[i].compareTo(entrada.getKey()) < 0) {
+                if (conteos[i] > 0) {
+                    nuevasClaves[n] = claves[i];
+                    nuevosTextos[n] = textos[i];
+                    nuevosConteos[n++] = conteos[i];
+                }
+                i++;
+            }
+            nuevasClaves[n] = entrada.getKey();
+            nuevosTextos[n] = entrada.getValue().texto;
+            nuevosConteos[n++] = entrada.getValue().conteo;
+        }
+        for (; i < claves.length; i++) {
+            if (conteos[i] > 0) {
+                nuevasClaves[n] = claves[i];
+                nuevosTextos[n] = textos[i];
+                nuevosConteos[n++] = conteos[i];
+            }
+        }
+        pendientes.clear();
+        claves = Arrays.copyOf(nuevasClaves, n);
+        textos = Arrays.copyOf(nuevosTextos, n);
+        conteos = Arrays.copyOf(nuevosConteos, n);
+
+        capacidad = Math.max(1, Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+        arbol = new int[2 * capacidad];
+        for (int hoja = 0; hoja < capacidad; hoja++) {
+            arbol[capacidad + hoja] = hoja < n ? hoja : -1;
+        }
+        for (int nodo = capacidad - 1; nodo >= 1; nodo--) {
+            arbol[nodo] = mayor(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        }
+    }
+
+    private void actualizarArbol(int i) {
+        for (int nodo = (capacidad + i) >> 1; nodo >= 1; nodo >>= 1) {
+            arbol[nodo] = mayor(arbol[2 * nodo], arbol[2 * nodo + 1]);
+        }
+    }
+
+    // Índice con más apariciones; a igual conteo gana el de clave menor, para que el orden sea estable
+    private int mayor(int a, int b) {
+        if (b < 0 || (a >= 0 && conteos[a] >= conteos[b])) {
+            return a;
+        }
+        return b;
+    }
+
+    private long conteo(int i) {
+        return i < 0 ? -1 : conteos[i];
+    }
+
+    private void contarActivo(long anterior, long nuevo) {
+        if (anterior == 0 && nuevo > 0) {
+            activos++;
+        } else if (anterior > 0 && nuevo == 0) {
+            activos--;
+        }
+    }
+
+    private static final class Pendiente {
+
+        private final String texto;
+        private long conteo;
+
+        Pendiente(String texto, long conteo) {
+            this.texto = texto;
+            this.conteo = conteo;
+        }
+    }
+
+    private record Candidato(String clave, String texto, long conteo) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.uniquindio.edu.back.busqueda;
+
+import java.util.Arrays;
+
+// Campos de los formularios con sugerencias; "ruta" es el segmento de /api/autocompletar/{campo}
+public enum CampoAutocompletado {
+    PACIENTE("paciente"),
+    MEDICO("medico"),
+    TIPO_EXAMEN("tipo-examen"),
+    ESPECIALIDAD("especialidad");
+
+    private final String ruta;
+
+    CampoAutocompletado(String ruta) {
+        this.ruta = ruta;
+    }
+
+    public String ruta() {
+        return ruta;
+    }
+
+    public static CampoAutocompletado desdeRuta(String ruta) {
+        return Arrays.stream(values())
+                .filter(c -> c.ruta.equalsIgnoreCase(ruta))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Campo sin autocompletado: " + ruta
+                        + " (válidos: " + Arrays.stream(values()).map(CampoAutocompletado::ruta).toList() + ")"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.uniquindio.edu.back.busqueda;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.SugerenciaDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria.Huellas;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Sugerencias de paciente, médico, tipo de examen y especialidad para los formularios.
+// Se cargan de las tablas al arrancar y luego las ajustan los eventos de escritura de citas y resultados
+// (AgregadoEnMemoria); por cada id se guardan los valores que aportó para restarlos al cambiar.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IndiceAutocompletado {
+
+    public static final int MAXIMO_SUGERENCIAS = 50;
+
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final CitaRepository citaRepository;
+
+    private final AgregadoEnMemoria<Acumulado> acumulado = new AgregadoEnMemoria<>(new Acumulado());
+
+    // 🔎 Valores del campo que empiezan por el prefijo, del más usado al menos usado
+    public List<SugerenciaDTO> sugerir(CampoAutocompletado campo, String prefijo, int limite) {
+        return acumulado.actual().campos.get(campo).sugerir(prefijo, Math.min(Math.max(limite, 1), MAXIMO_SUGERENCIAS));
+    }
+
+    public int tamano(CampoAutocompletado campo) {
+        return acumulado.actual().campos.get(campo).tamano();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        if (cambio.tipo() == TipoCambio.ESTADO_CAMBIADO) {
+            return;
+        }
+        ResultadoMedicoDTO dto = cambio.tipo() == TipoCambio.ELIMINADO ? null : cambio.actual();
+        acumulado.aplicar(a -> a.resultado(cambio.id(), dto == null ? null
+                : new HuellaResultado(dto.getPaciente(), dto.getTipoExamen(), dto.getMedicoResponsable())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCita(CambioCita cambio) {
+        CitaDTO dto = cambio.tipo() == TipoCambio.ELIMINADO ? null : cambio.actual();
+        acumulado.aplicar(a -> a.cita(cambio.id(), dto == null ? null : new HuellaCita(dto.getPaciente(), dto.getEspecialidad())));
+    }
+
+    // 🔄 Carga completa por páginas de la llave primaria
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        acumulado.reconstruir(Acumulado::new, this::cargar);
+        log.info("Autocompletado cargado: {} pacientes, {} médicos, {} tipos de examen y {} especialidades en {} ms",
+                tamano(CampoAutocompletado.PACIENTE), tamano(CampoAutocompletado.MEDICO),
+                tamano(CampoAutocompletado.TIPO_EXAMEN), tamano(CampoAutocompletado.ESPECIALIDAD),
+                System.currentTimeMillis() - inicio);
+    }
+
+    private void cargar(Acumulado destino) {
+        destino.campos.values().forEach(Autocompletado::iniciarCarga);
+        AgregadoEnMemoria.recorrer(resultadoMedicoRepository::listarResumenDesde, ResumenResultadoMedicoDTO::id,
+                r -> destino.resultado(r.id(), new HuellaResultado(r.paciente(), r.tipoExamen(), r.medicoResponsable())));
+        AgregadoEnMemoria.recorrer(citaRepository::listarDTODesde, CitaDTO::getId,
+                c -> destino.cita(c.getId(), new HuellaCita(c.getPaciente(), c.getEspecialidad())));
+        destino.campos.values().forEach(Autocompletado::terminarCarga);
+    }
+
+    private record HuellaResultado(String paciente, String tipoExamen, String medico) {
+    }
+
+    private record HuellaCita(String paciente, String especialidad) {
+    }
+
+    // Estado de una carga completa
+    private static final class Acumulado {
+
+        private final Map<CampoAutocompletado, Autocompletado> campos = new EnumMap<>(CampoAutocompletado.class);
+        private final Huellas<HuellaResultado> resultados = new Huellas<>(this::sumar);
+        private final Huellas<HuellaCita> citas = new Huellas<>(this::sumar);
+
+        Acumulado() {
+            for (CampoAutocompletado campo : CampoAutocompletado.values()) {
+                campos.put(campo, new Autocompletado());
+            }
+        }
+
+        void resultado(Long id, HuellaResultado nueva) {
+            resultados.reemplazar(id, nueva);
+        }
+
+        void cita(Long id, HuellaCita nueva) {
+            citas.reemplazar(id, nueva);
+        }
+
+        private void sumar(HuellaResultado huella, int signo) {
+            campos.get(CampoAutocompletado.PACIENTE).sumar(huella.paciente(), signo);
+            campos.get(CampoAutocompletado.TIPO_EXAMEN).sumar(huella.tipoExamen(), signo);
+            campos.get(CampoAutocompletado.MEDICO).sumar(huella.medico(), signo);
+        }
+
+        private void sumar(HuellaCita huella, int signo) {
+            campos.get(CampoAutocompletado.PACIENTE).sumar(huella.paciente(), signo);
+            campos.get(CampoAutocompletado.ESPECIALIDAD).sumar(huella.especialidad(), signo);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.uniquindio.edu.back.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Índice invertido en memoria con campos ponderados.
+// Cada palabra normalizada apunta a los documentos que la contienen y a los campos donde aparece;
+// las búsquedas por fragmento ("hemo" -> "hemograma") usan trigramas sobre el vocabulario.
+public class IndiceInvertido {
+
+    private static final int BITS_MASCARA = 8;
+
+    // Coincidencia intermedia, por prefijo y exacta
+    private static final double[] FACTORES = {1.0, 1.5, 2.0};
+
+    private final int[] pesos;
+    private final double[] pesosPorMascara = new double[1 << BITS_MASCARA];
+    private final TreeMap<String, Postings> terminos = new TreeMap<>();
+    private final Map<String, Set<String>> trigramas = new HashMap<>();
+    private final Map<Long, String[]> terminosPorDocumento = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceInvertido(int... pesos) {
+        if (pesos.length == 0 || pesos.length > BITS_MASCARA) {
+            throw new IllegalArgumentException("El índice admite entre 1 y " + BITS_MASCARA + " campos");
+        }
+        this.pesos = pesos.clone();
+        for (int mascara = 0; mascara < pesosPorMascara.length; mascara++) {
+            for (int i = 0; i < pesos.length; i++) {
+                if ((mascara & (1 << i)) != 0) {
+                    pesosPorMascara[mascara] += pesos[i];
+                }
+            }
+        }
+    }
+
+    // Indexa (o reindexa) un documento; los campos van en el mismo orden que los pesos
+    public void indexar(long id, String... campos) {
+        Map<String, Integer> mascaras = new HashMap<>();
+        for (int i = 0; i < campos.length && i < pesos.length; i++) {
+            int bit = 1 << i;
+            for (String palabra : TextoNormalizado.palabras(campos[i])) {
+                mascaras.merge(palabra, bit, (a, b) -> a | b);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            eliminarSinBloqueo(id);
+            String[] propios = new String[mascaras.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entrada : mascaras.entrySet()) {
+                String termino = entrada.getKey();
+                Postings postings = terminos.get(termino);
+                if (postings == null) {
+                    postings = new Postings();
+                    terminos.put(termino, postings);
+                    registrarTrigramas(termino);
+                }
+                postings.agregar(id, entrada.getValue());
+                propios[i++] = termino;
+            }
+            terminosPorDocumento.put(id, propios);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(long id) {
+        lock.writeLock().lock();
+        try {
+            eliminarSinBloqueo(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            terminos.clear();
+            trigramas.clear();
+            terminosPorDocumento.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int totalDocumentos() {
+        lock.readLock().lock();
+        try {
+            return terminosPorDocumento.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Devuelve los ids que contienen todas las palabras de la consulta, del más al menos relevante
+    public List<Long> buscar(String consulta, int limite) {
+        List<String> palabras = TextoNormalizado.palabras(consulta);
+        if (palabras.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Coincidencias acumulado = null;
+            for (String palabra : palabras) {
+                Coincidencias actual = puntuarPalabra(palabra);
+                acumulado = acumulado == null ? actual : intersectar(acumulado, actual);
+                if (acumulado.tamano() == 0) {
+                    return List.of();
+                }
+            }
+            return mejores(acumulado, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documentos que coinciden con una palabra, ordenados por id y con su mejor puntaje
+    private Coincidencias puntuarPalabra(String palabra) {
+        Collection<String> candidatos = terminosCandidatos(palabra);
+        int total = 0;
+        for (String termino : candidatos) {
+            total += terminos.get(termino).tamano;
+        }
+
+        // Cada valor lleva (id << 10) | (nivel de coincidencia << 8) | máscara, así se ordena sin objetos
+        long[] codificados = new long[total];
+        int n = 0;
+        for (String termino : candidatos) {
+            long nivel = termino.equals(palabra) ? 2 : termino.startsWith(palabra) ? 1 : 0;
+            Postings postings = terminos.get(termino);
+            for (int i = 0; i < postings.tamano; i++) {
+                long valor = postings.datos[i];
+                codificados[n++] = ((valor >>> BITS_MASCARA) << 10) | (nivel << BITS_MASCARA) | (valor & 0xFF);
+            }
+        }
+        if (candidatos.size() > 1) {
+            Arrays.sort(codificados);
+        }
+
+        long[] ids = new long[total];
+        double[] puntajes = new double[total];
+        int tamano = 0;
+        for (int i = 0; i < total; i++) {
+            long id = codificados[i] >>> 10;
+            double puntaje = FACTORES[(int) (codificados[i] >>> BITS_MASCARA) & 0x3] * pesosPorMascara[(int) (codificados[i] & 0xFF)];
+            if (tamano > 0 && ids[tamano - 1] == id) {
+                puntajes[tamano - 1] = Math.max(puntajes[tamano - 1], puntaje);
+            } else {
+                ids[tamano] = id;
+                puntajes[tamano] = puntaje;
+                tamano++;
+            }
+        }
+        return new Coincidencias(ids, puntajes, tamano);
+    }
+
+    private static Coincidencias intersectar(Coincidencias a, Coincidencias b) {
+        int maximo = Math.min(a.tamano(), b.tamano());
+        long[] ids = new long[maximo];
+        double[] puntajes = new double[maximo];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.tamano() && j < b.tamano()) {
+            if (a.ids()[i] < b.ids()[j]) {
+                i++;
+            } else if (a.ids()[i] > b.ids()[j]) {
+                j++;
+            } else {
+                ids[n] = a.ids()[i];
+                puntajes[n] = a.puntajes()[i] + b.puntajes()[j];
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return new Coincidencias(ids, puntajes, n);
+    }
+
+    // Selección de los k mejores; se recorre de mayor a menor id para que a igual puntaje ganen los más recientes
+    private static List<Long> mejores(Coincidencias coincidencias, int limite) {
+        int k = Math.min(limite, coincidencias.tamano());
+        long[] ids = new long[k];
+        double[] puntajes = new double[k];
+        int n = 0;
+        for (int i = coincidencias.tamano() - 1; i >= 0; i--) {
+            double puntaje = coincidencias.puntajes()[i];
+            if (n == k && puntaje <= puntajes[k - 1]) {
+                continue;
+            }
+            int posicion = n < k ? n++ : k - 1;
+            while (posicion > 0 && puntaje > puntajes[posicion - 1]) {
+                ids[posicion] = ids[posicion - 1];
+                puntajes[posicion] = puntajes[posicion - 1];
+                posicion--;
+            }
+            ids[posicion] = coincidencias.ids()[i];
+            puntajes[posicion] = puntaje;
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private Collection<String> terminosCandidatos(String palabra) {
+        if (palabra.length() < 3) {
+            return terminos.subMap(palabra, true, palabra + Character.MAX_VALUE, true).keySet();
+        }
+
+        Set<String> menor = null;
+        for (String trigrama : trigramasDe(palabra)) {
+            Set<String> conjunto = trigramas.get(trigrama);
+            if (conjunto == null) {
+                return List.of();
+            }
+            if (menor == null || conjunto.size() < menor.size()) {
+                menor = conjunto;
+            }
+        }
+
+        List<String> candidatos = new ArrayList<>();
+        for (String termino : menor) {
+            if (termino.contains(palabra)) {
+                candidatos.add(termino);
+            }
+        }
+        return candidatos;
+    }
+
+    private void eliminarSinBloqueo(long id) {
+        String[] anteriores = terminosPorDocumento.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termino : anteriores) {
+            Postings postings = terminos.get(termino);
+            if (postings != null && postings.quitar(id) && postings.tamano == 0) {
+                terminos.remove(termino);
+                for (String trigrama : trigramasDe(termino)) {
+                    Set<String> conjunto = trigramas.get(trigrama);
+                    if (conjunto != null) {
+                        conjunto.remove(termino);
+                        if (conjunto.isEmpty()) {
+                            trigramas.remove(trigrama);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void registrarTrigramas(String termino) {
+        for (String trigrama : trigramasDe(termino)) {
+            trigramas.computeIfAbsent(trigrama, t -> new HashSet<>()).add(termino);
+        }
+    }
+
+    private static Set<String> trigramasDe(String termino) {
+        Set<String> unicos = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= termino.length(); i++) {
+            unicos.add(termino.substring(i, i + 3));
+        }
+        return unicos;
+    }
+
+    private record Coincidencias(long[] ids, double[] puntajes, int tamano) {
+    }
+
+    // Lista ordenada de documentos de un término: cada valor es (id << 8) | máscara de campos
+    private static final class Postings {
+
+        private long[] datos = new long[4];
+        private int tamano;
+
+        void agregar(long id, int mascara) {
+            int posicion = buscar(id);
+            if (posicion >= 0) {
+                datos[posicion] |= mascara;
+                return;
+            }
+            posicion = -posicion - 1;
+            if (tamano == datos.length) {
+                datos = Arrays.copyOf(datos, tamano * 2);
+            }
+            System.arraycopy(datos, posicion, datos, posicion + 1, tamano - posicion);
+            datos[posicion] = (id << BITS_MASCARA) | mascara;
+            tamano++;
+        }
+
+        boolean quitar(long id) {
+            int posicion = buscar(id);
+            if (posicion < 0) {
+                return false;
+            }
+            System.arraycopy(datos, posicion + 1, datos, posicion, tamano - posicion - 1);
+            tamano--;
+            return true;
+        }
+
+        private int buscar(long id) {
+            int bajo = 0;
+            int alto = tamano - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                long actual = datos[medio] >>> BITS_MASCARA;
+                if (actual < id) {
+                    bajo = medio + 1;
+                } else if (actual > id) {
+                    alto = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -(bajo + 1);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.uniquindio.edu.back.busqueda;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.VersionColecciones;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Mantiene el índice de texto libre de resultados médicos sincronizado con la tabla
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IndiceResultadosMedicos {
+
+    private static final int LOTE_RECONSTRUCCION = 1000;
+    private static final int CANDADOS = 64;
+
+    private final IndiceInvertido indice = crearIndice();
+    private final ReentrantLock[] candados = crearCandados();
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final VersionColecciones versionColecciones;
+
+    // Pesos por campo: paciente, tipo de examen, médico, resultados, descripción, observaciones
+    public static IndiceInvertido crearIndice() {
+        return new IndiceInvertido(5, 3, 2, 1, 1, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        indice.limpiar();
+
+        Long cursor = 0L;
+        List<ResultadoMedico> lote;
+        do {
+            lote = resultadoMedicoRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(LOTE_RECONSTRUCCION));
+            for (ResultadoMedico r : lote) {
+                indice.indexar(r.getId(), r.getPaciente(), r.getTipoExamen(), r.getMedicoResponsable(),
+                        r.getResultados(), r.getDescripcion(), r.getObservaciones());
+                cursor = r.getId();
+            }
+        } while (lote.size() == LOTE_RECONSTRUCCION);
+
+        versionColecciones.alIndexarResultados();
+        log.info("Índice de búsqueda reconstruido con {} resultados médicos en {} ms",
+                indice.totalDocumentos(), System.currentTimeMillis() - inicio);
+    }
+
+    // Se indexa fuera del hilo de la petición (en el ejecutor de @Async, con hilos virtuales si están activos).
+    // Como los eventos de un mismo id pueden llegar en otro orden, se relee la fila bajo un candado por id:
+    // el último en ejecutarse siempre ve el estado confirmado más reciente (por eso se lee del primario).
+    // Las filas de un lote se indexan juntas en alCambiarLoteResultados.
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        if (cambio.tipo() == TipoCambio.ESTADO_CAMBIADO || cambio.enLote()) {
+            return;
+        }
+        ReentrantLock candado = candado(cambio.id());
+        candado.lock();
+        try {
+            resultadoMedicoRepository.findById(cambio.id()).ifPresentOrElse(
+                    r -> indice.indexar(r.getId(), r.getPaciente(), r.getTipoExamen(), r.getMedicoResponsable(),
+                            r.getResultados(), r.getDescripcion(), r.getObservaciones()),
+                    () -> indice.eliminar(cambio.id()));
+        } finally {
+            candado.unlock();
+        }
+        // Después de aplicar: la etiqueta de /buscar cambia otra vez y quien recibió resultados viejos los pide de nuevo
+        versionColecciones.alIndexarResultados();
+    }
+
+    // 📦 Una tarea y una consulta por grupo del lote (no una por fila). Se toman los candados de todos los ids
+    // del grupo, en orden para no bloquearse con otro grupo, y se lee dentro de ellos como en el caso por fila.
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void alCambiarLoteResultados(CambioLoteResultadosMedicos cambio) {
+        if (cambio.tipo() == TipoCambio.ESTADO_CAMBIADO || cambio.ids().isEmpty()) {
+            return;
+        }
+        TreeSet<Integer> posiciones = cambio.ids().stream()
+                .map(id -> Math.floorMod(Long.hashCode(id), CANDADOS))
+                .collect(Collectors.toCollection(TreeSet::new));
+        posiciones.forEach(i -> candados[i].lock());
+        try {
+            for (int desde = 0; desde < cambio.ids().size(); desde += LOTE_RECONSTRUCCION) {
+                List<Long> ids = cambio.ids().subList(desde, Math.min(desde + LOTE_RECONSTRUCCION, cambio.ids().size()));
+                Map<Long, ResultadoMedicoDTO> filas = resultadoMedicoRepository.buscarDTOPorIds(ids).stream()
+                        .collect(Collectors.toMap(ResultadoMedicoDTO::getId, Function.identity()));
+                for (Long id : ids) {
+                    ResultadoMedicoDTO r = filas.get(id);
+                    if (r == null) {
+                        indice.eliminar(id);
+                    } else {
+                        indice.indexar(r.getId(), r.getPaciente(), r.getTipoExamen(), r.getMedicoResponsable(),
+                                r.getResultados(), r.getDescripcion(), r.getObservaciones());
+                    }
+                }
+            }
+        } finally {
+            posiciones.descendingSet().forEach(i -> candados[i].unlock());
+        }
+        versionColecciones.alIndexarResultados();
+    }
+
+    public List<Long> buscar(String consulta, int limite) {
+        return indice.buscar(consulta, limite);
+    }
+
+    public int totalDocumentos() {
+        return indice.totalDocumentos();
+    }
+
+    private ReentrantLock candado(Long id) {
+        return candados[Math.floorMod(Long.hashCode(id), CANDADOS)];
+    }
+
+    private static ReentrantLock[] crearCandados() {
+        ReentrantLock[] candados = new ReentrantLock[CANDADOS];
+        for (int i = 0; i < CANDADOS; i++) {
+            candados[i] = new ReentrantLock();
+        }
+        return candados;
+    }
+}
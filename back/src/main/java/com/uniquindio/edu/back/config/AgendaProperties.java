@@ -0,0 +1,40 @@
+package com.uniquindio.edu.back.config;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Horario de atención y duración de las citas por especialidad (saludvital.agenda.*).
+// Las claves de "duraciones" van sin tildes, en minúsculas y con guiones: [medicina-general]=20m
+@ConfigurationProperties(prefix = "saludvital.agenda")
+public record AgendaProperties(
+        @DefaultValue("30m") Duration duracionPorDefecto,
+        Map<String, Duration> duraciones,
+        @DefaultValue("07:00") @DateTimeFormat(pattern = "HH:mm") LocalTime apertura,
+        @DefaultValue("18:00") @DateTimeFormat(pattern = "HH:mm") LocalTime cierre,
+        @DefaultValue({"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY"}) Set<DayOfWeek> diasAtencion) {
+
+    public AgendaProperties {
+        duraciones = duraciones == null ? Map.of() : Map.copyOf(duraciones);
+        if (!apertura.isBefore(cierre)) {
+            throw new IllegalArgumentException("saludvital.agenda.apertura debe ser anterior a saludvital.agenda.cierre");
+        }
+    }
+
+    public Duration duracion(String especialidad) {
+        return duraciones.getOrDefault(clave(especialidad), duracionPorDefecto);
+    }
+
+    // "Medicina General" y "medicina  general" comparten agenda
+    public static String clave(String especialidad) {
+        return String.join("-", TextoNormalizado.palabras(especialidad));
+    }
+}
@@ -0,0 +1,14 @@
+package com.uniquindio.edu.back.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Async usa el applicationTaskExecutor de Spring Boot: con spring.threads.virtual.enabled=true
+// cada tarea corre en un hilo virtual; si no, en el pool de plataforma (spring.task.execution.pool.*).
+// @Scheduled (conciliación de estadísticas) usa el taskScheduler de Spring Boot con la misma regla.
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,16 @@
+package com.uniquindio.edu.back.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Los tamaños y tiempos de expiración se ajustan en application.properties (spring.cache.caffeine.spec).
+// La cache envuelve a la transacción: un acierto no abre transacción y @CacheEvict se aplica después del commit,
+// así una lectura concurrente no vuelve a guardar el valor anterior.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String CITAS = "citas";
+    public static final String RESULTADOS_MEDICOS = "resultadosMedicos";
+}
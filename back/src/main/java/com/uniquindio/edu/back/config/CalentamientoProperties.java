@@ -0,0 +1,21 @@
+package com.uniquindio.edu.back.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Calentamiento del JIT antes de aceptar tráfico (saludvital.calentamiento.*): se detiene al completar
+// "iteraciones" o al agotar "tiempo-maximo", lo que ocurra primero.
+@ConfigurationProperties(prefix = "saludvital.calentamiento")
+public record CalentamientoProperties(
+        @DefaultValue("false") boolean habilitado,
+        @DefaultValue("2000") int iteraciones,
+        @DefaultValue("60s") Duration tiempoMaximo) {
+
+    public CalentamientoProperties {
+        if (iteraciones < 0 || tiempoMaximo.isNegative()) {
+            throw new IllegalArgumentException("Valores no válidos en saludvital.calentamiento.*");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.uniquindio.edu.back.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.uniquindio.edu.back.service.VersionColecciones;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// GET condicional en los listados: si el If-None-Match del cliente coincide con la versión de la
+// colección se responde 304 antes de llegar al controlador. La búsqueda de texto libre tiene su propia
+// etiqueta porque lee el índice, que se actualiza después del commit
+@Configuration
+@RequiredArgsConstructor
+public class ConsultaCondicionalConfig implements WebMvcConfigurer {
+
+    private final VersionColecciones versionColecciones;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EtiquetaColeccion(versionColecciones::etiquetaCitas))
+                .addPathPatterns("/api/citas", "/api/citas/pagina", "/api/citas/filtro");
+        registry.addInterceptor(new EtiquetaColeccion(versionColecciones::etiquetaResultados))
+                .addPathPatterns("/api/resultados-medicos", "/api/resultados-medicos/pagina",
+                        "/api/resultados-medicos/resumen", "/api/resultados-medicos/filtro",
+                        "/api/resultados-medicos/buscar/*",
+                        "/api/resultados-medicos/pendientes", "/api/resultados-medicos/pendientes/pagina",
+                        "/api/resultados-medicos/recientes");
+        registry.addInterceptor(new EtiquetaColeccion(versionColecciones::etiquetaBusquedaResultados))
+                .addPathPatterns("/api/resultados-medicos/buscar");
+    }
+
+    private record EtiquetaColeccion(Supplier<String> etiqueta) implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (!HttpMethod.GET.matches(request.getMethod())) {
+                return true;
+            }
+            // no-cache: el navegador guarda la respuesta pero revalida siempre con If-None-Match
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            return !new ServletWebRequest(request, response).checkNotModified(etiqueta.get());
+        }
+    }
+}
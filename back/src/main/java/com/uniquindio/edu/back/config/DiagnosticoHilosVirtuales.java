@@ -0,0 +1,71 @@
+package com.uniquindio.edu.back.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+// Registra cuándo un hilo virtual queda fijado a su portador (bloqueo dentro de synchronized o código nativo),
+// típico de drivers JDBC que sincronizan la conexión. Solo se activa en modo de hilos virtuales.
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DiagnosticoHilosVirtuales {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int MARCOS_EN_LOG = 6;
+
+    private final Duration umbral;
+    private final LongAdder fijados = new LongAdder();
+    private RecordingStream grabacion;
+
+    public DiagnosticoHilosVirtuales(@Value("${saludvital.hilos-virtuales.umbral-fijado-ms:20}") long umbralMs) {
+        this.umbral = Duration.ofMillis(umbralMs);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        grabacion = new RecordingStream();
+        grabacion.enable(EVENTO).withThreshold(umbral).withStackTrace();
+        grabacion.onEvent(EVENTO, this::registrar);
+        grabacion.startAsync();
+        log.info("Diagnóstico de hilos virtuales fijados activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (grabacion != null) {
+            grabacion.close();
+        }
+    }
+
+    public long totalFijados() {
+        return fijados.sum();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        fijados.increment();
+        StringBuilder pila = new StringBuilder();
+        if (evento.getStackTrace() != null) {
+            evento.getStackTrace().getFrames().stream()
+                    .limit(MARCOS_EN_LOG)
+                    .map(DiagnosticoHilosVirtuales::marco)
+                    .forEach(m -> pila.append("\n    at ").append(m));
+        }
+        log.warn("⚠️ Hilo virtual fijado {} ms{}", evento.getDuration().toMillis(), pila);
+    }
+
+    private static String marco(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
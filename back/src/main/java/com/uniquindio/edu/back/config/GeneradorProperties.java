@@ -0,0 +1,38 @@
+package com.uniquindio.edu.back.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.uniquindio.edu.back.model.EstadoResultado;
+
+// Volumen y forma de los datos del perfil "generador" (saludvital.generador.*).
+// "estados" son pesos relativos por estado: PENDIENTE=25 y COMPLETADO=75 dejan una cuarta parte pendiente.
+@ConfigurationProperties(prefix = "saludvital.generador")
+public record GeneradorProperties(
+        @DefaultValue("100000") long citas,
+        @DefaultValue("100000") long resultados,
+        @DefaultValue("20000") int pacientes,
+        @DefaultValue("730") int diasAtras,
+        @DefaultValue("90") int diasAdelante,
+        @DefaultValue("4") int hilos,
+        @DefaultValue("1000") int lote,
+        @DefaultValue("42") long semilla,
+        Map<EstadoResultado, Integer> estados) {
+
+    public GeneradorProperties {
+        if (citas < 0 || resultados < 0 || pacientes < 1 || diasAtras < 1 || diasAdelante < 0 || hilos < 1 || lote < 1) {
+            throw new IllegalArgumentException("Valores no válidos en saludvital.generador.*");
+        }
+        if (estados == null || estados.isEmpty()) {
+            estados = new EnumMap<>(Map.of(EstadoResultado.PENDIENTE, 25, EstadoResultado.COMPLETADO, 45,
+                    EstadoResultado.REVISADO, 30));
+        }
+        if (estados.values().stream().anyMatch(p -> p < 0) || estados.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("saludvital.generador.estados necesita al menos un peso positivo");
+        }
+        estados = Map.copyOf(estados);
+    }
+}
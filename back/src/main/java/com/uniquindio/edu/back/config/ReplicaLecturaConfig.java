@@ -0,0 +1,58 @@
+package com.uniquindio.edu.back.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Dos pools: "primario" para escrituras y "replica" para lecturas. La conexión se pide al primer uso
+// dentro de la transacción, cuando ya se sabe si es readOnly: las de @Transactional(readOnly = true)
+// (y las consultas de los repositorios fuera de una transacción de escritura) van a la réplica.
+// Se activa con saludvital.datasource.replica.url; en local apunta a la misma H2 con un pool aparte.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "saludvital.datasource.replica", name = "url")
+public class ReplicaLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties propiedades) {
+        HikariDataSource pool = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primario");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("saludvital.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primario, ReplicaProperties replica) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primario.determineDriverClassName())
+                .url(replica.url())
+                .username(replica.username() != null ? replica.username() : primario.determineUsername())
+                .password(replica.password() != null ? replica.password() : primario.determinePassword())
+                .build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primarioDataSource, HikariDataSource replicaDataSource) {
+        log.info("Lecturas enrutadas a la réplica {}", replicaDataSource.getJdbcUrl());
+        LazyConnectionDataSourceProxy enrutador = new LazyConnectionDataSourceProxy(primarioDataSource);
+        enrutador.setReadOnlyDataSource(replicaDataSource);
+        return enrutador;
+    }
+}
@@ -0,0 +1,9 @@
+package com.uniquindio.edu.back.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Conexión de la réplica de lectura (saludvital.datasource.replica.*); usuario y contraseña, si se omiten,
+// son los de spring.datasource. El pool se ajusta con saludvital.datasource.replica.hikari.*
+@ConfigurationProperties(prefix = "saludvital.datasource.replica")
+public record ReplicaProperties(String url, String username, String password) {
+}
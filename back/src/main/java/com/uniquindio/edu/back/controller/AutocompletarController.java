@@ -0,0 +1,34 @@
+package com.uniquindio.edu.back.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uniquindio.edu.back.busqueda.CampoAutocompletado;
+import com.uniquindio.edu.back.busqueda.IndiceAutocompletado;
+import com.uniquindio.edu.back.model.dto.SugerenciaDTO;
+
+import lombok.RequiredArgsConstructor;
+
+// Sugerencias para los formularios, servidas desde memoria:
+// /api/autocompletar/{paciente|medico|tipo-examen|especialidad}?prefijo=jos&limite=10
+@RestController
+@RequestMapping("/api/autocompletar")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AutocompletarController {
+
+    private final IndiceAutocompletado indiceAutocompletado;
+
+    @GetMapping("/{campo}")
+    public List<SugerenciaDTO> sugerir(@PathVariable String campo,
+                                       @RequestParam(defaultValue = "") String prefijo,
+                                       @RequestParam(defaultValue = "10") int limite) {
+        return indiceAutocompletado.sugerir(CampoAutocompletado.desdeRuta(campo), prefijo, limite);
+    }
+}
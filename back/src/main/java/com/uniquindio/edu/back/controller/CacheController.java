@@ -0,0 +1,40 @@
+package com.uniquindio.edu.back.controller;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.uniquindio.edu.back.model.dto.EstadisticasCacheDTO;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping("/estadisticas")
+    public List<EstadisticasCacheDTO> obtenerEstadisticas() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> {
+                    var nativa = ((CaffeineCache) cache).getNativeCache();
+                    CacheStats stats = nativa.stats();
+                    return new EstadisticasCacheDTO(cache.getName(), nativa.estimatedSize(), stats.hitCount(),
+                            stats.missCount(), stats.hitRate(), stats.evictionCount());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.uniquindio.edu.back.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.uniquindio.edu.back.service.FeedCambios;
+
+import lombok.RequiredArgsConstructor;
+
+// Feed de cambios de citas y resultados (Server-Sent Events). EventSource reenvía Last-Event-ID
+// al reconectarse, así el cliente recibe solo lo que ocurrió mientras estuvo desconectado.
+@RestController
+@RequestMapping("/api/cambios")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class CambiosController {
+
+    private final FeedCambios feedCambios;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribir(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return feedCambios.suscribir(ultimoEventoId);
+    }
+}
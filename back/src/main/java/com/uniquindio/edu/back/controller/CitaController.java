@@ -3,31 +3,48 @@ package com.uniquindio.edu.back.controller;
 import java.net.URI;
 
 import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.TurnoDisponibleDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;    
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.service.AgendaService;
 import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.VersionColecciones;
 
 @RestController
 @RequestMapping("/api/citas")
 @CrossOrigin(origins = "*")
 public class CitaController {
     private final CitaService citaService;
+    private final AgendaService agendaService;
+    private final VersionColecciones versionColecciones;
 
-    public CitaController(CitaService citaService) {
+    public CitaController(CitaService citaService, AgendaService agendaService, VersionColecciones versionColecciones) {
         this.citaService = citaService;
+        this.agendaService = agendaService;
+        this.versionColecciones = versionColecciones;
     }
 
     @PostMapping
@@ -41,10 +58,39 @@ public class CitaController {
         return citaService.listarCitas();
     }
 
+    @GetMapping("/pagina")
+    public PaginaDTO<CitaDTO> listarCitasPaginadas(@RequestParam(required = false) Long cursor,
+                                                   @RequestParam(defaultValue = "50") int tamano) {
+        return citaService.listarCitasPaginadas(cursor, tamano);
+    }
+
+    // Filtros combinables: ?paciente=&especialidad=&desde=&hasta=&orden=&direccion=&pagina=&tamano=
+    @GetMapping("/filtro")
+    public PaginaDTO<CitaDTO> filtrarCitas(@ModelAttribute FiltroCitaDTO filtro) {
+        return citaService.filtrarCitas(filtro);
+    }
+
+    // Próximos turnos libres: ?especialidad=Cardiología&desde=2025-10-20T00:00&hasta=...&cantidad=10
+    @GetMapping("/disponibilidad")
+    public List<TurnoDisponibleDTO> turnosDisponibles(@RequestParam String especialidad,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "10") int cantidad) {
+        return agendaService.turnosDisponibles(especialidad, desde, hasta, cantidad);
+    }
+
+    // GET condicional: con If-None-Match / If-Modified-Since vigentes se responde 304 leyendo solo la versión
     @GetMapping("/{id}")
-    public ResponseEntity<CitaDTO> obtenerCita(@PathVariable Long id) {
+    public ResponseEntity<CitaDTO> obtenerCita(@PathVariable Long id, WebRequest request) {
+        Optional<VersionRecursoDTO> version = citaService.obtenerVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(versionColecciones.etiqueta(version.get()), version.get().ultimaModificacionMs())) {
+            return null;
+        }
         return citaService.obtenerCita(id)
-                .map(ResponseEntity::ok)
+                .map(cita -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(cita))
                 .orElse(ResponseEntity.notFound().build());
     }
 
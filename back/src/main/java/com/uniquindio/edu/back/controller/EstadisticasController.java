@@ -0,0 +1,43 @@
+package com.uniquindio.edu.back.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uniquindio.edu.back.model.dto.EstadisticasDTO;
+import com.uniquindio.edu.back.service.EstadisticasService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Agregados del tablero (conteos y tiempos de respuesta), servidos desde memoria
+@RestController
+@RequestMapping("/api/estadisticas")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Slf4j
+public class EstadisticasController {
+
+    private final EstadisticasService estadisticasService;
+
+    @GetMapping
+    public EstadisticasDTO obtenerEstadisticas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return estadisticasService.obtenerEstadisticas(desde, hasta);
+    }
+
+    // Conciliación manual contra la base (la misma que corre periódicamente)
+    @PostMapping("/conciliar")
+    public EstadisticasDTO conciliar() {
+        log.debug("Conciliación manual de estadísticas");
+        estadisticasService.conciliar();
+        return estadisticasService.obtenerEstadisticas(null, null);
+    }
+}
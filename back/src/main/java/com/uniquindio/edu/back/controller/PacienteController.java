@@ -0,0 +1,44 @@
+package com.uniquindio.edu.back.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.uniquindio.edu.back.model.dto.PacienteDTO;
+import com.uniquindio.edu.back.model.dto.PaginaHistorialDTO;
+import com.uniquindio.edu.back.service.PacienteService;
+
+@RestController
+@RequestMapping("/api/pacientes")
+@CrossOrigin(origins = "*")
+public class PacienteController {
+
+    private final PacienteService pacienteService;
+
+    public PacienteController(PacienteService pacienteService) {
+        this.pacienteService = pacienteService;
+    }
+
+    // Paciente por nombre, sin importar mayúsculas, tildes ni espacios: ?nombre=jose perez
+    @GetMapping
+    public ResponseEntity<PacienteDTO> buscarPorNombre(@RequestParam String nombre) {
+        return ResponseEntity.of(pacienteService.buscarPorNombre(nombre));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PacienteDTO> obtenerPaciente(@PathVariable Long id) {
+        return ResponseEntity.of(pacienteService.obtenerPaciente(id));
+    }
+
+    // Citas y resultados del paciente, del más reciente al más antiguo: ?cursor=<siguiente>&tamano=50
+    @GetMapping("/{id}/historial")
+    public ResponseEntity<PaginaHistorialDTO> historial(@PathVariable Long id,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int tamano) {
+        return ResponseEntity.of(pacienteService.historial(id, cursor, tamano));
+    }
+}
@@ -1,13 +1,23 @@
 package com.uniquindio.edu.back.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
-
+import java.util.Optional;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -15,9 +25,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.uniquindio.edu.back.exception.TransicionEstadoInvalidaException;
+import com.uniquindio.edu.back.model.dto.CambioEstadoLoteDTO;
+import com.uniquindio.edu.back.model.dto.FiltroResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoCambioEstadoLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoLoteDTO;
 import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService.Formato;
+import com.uniquindio.edu.back.service.ResultadoMedicoLoteService;
 import com.uniquindio.edu.back.service.ResultadoMedicoService;
+import com.uniquindio.edu.back.service.VersionColecciones;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,35 +55,94 @@ import lombok.extern.slf4j.Slf4j;
 public class ResultadoMedicoController {
 
     private final ResultadoMedicoService resultadoMedicoService;
+    private final ResultadoMedicoLoteService resultadoMedicoLoteService;
+    private final ResultadoMedicoExportacionService resultadoMedicoExportacionService;
+    private final VersionColecciones versionColecciones;
 
     @PostMapping
     public ResponseEntity<ResultadoMedicoDTO> crearResultadoMedico(@Valid @RequestBody ResultadoMedicoDTO resultadoMedico) {
-        log.info("Creando nuevo resultado médico para paciente: {}", resultadoMedico.getPaciente());
+        log.debug("Creando nuevo resultado médico");
         ResultadoMedicoDTO nuevo = resultadoMedicoService.crearResultadoMedico(resultadoMedico);
         return ResponseEntity.created(URI.create("/api/resultados-medicos/" + nuevo.getId())).body(nuevo);
     }
 
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLoteDTO> crearResultadosEnLote(@RequestBody List<ResultadoMedicoDTO> resultados) {
+        log.debug("Recibiendo lote JSON de {} resultados médicos", resultados.size());
+        return ResponseEntity.ok(resultadoMedicoLoteService.crearEnLote(resultados));
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResultadoLoteDTO> crearResultadosEnLoteNdjson(InputStream cuerpo) throws IOException {
+        log.debug("Recibiendo lote NDJSON de resultados médicos");
+        return ResponseEntity.ok(resultadoMedicoLoteService.crearEnLoteNdjson(cuerpo));
+    }
+
     @GetMapping
     public List<ResultadoMedicoDTO> listarResultadosMedicos() {
-        log.info("Listando todos los resultados médicos");
+        log.debug("Listando todos los resultados médicos");
         return resultadoMedicoService.listarResultadosMedicos();
     }
 
+    @GetMapping("/pagina")
+    public PaginaDTO<ResultadoMedicoDTO> listarResultadosPaginados(@RequestParam(required = false) Long cursor,
+                                                                   @RequestParam(defaultValue = "50") int tamano) {
+        log.debug("Listando resultados médicos desde el cursor: {}", cursor);
+        return resultadoMedicoService.listarResultadosPaginados(cursor, tamano);
+    }
+
+    // Exportación completa en NDJSON o CSV; se escribe fila a fila en la respuesta (gzip si el cliente lo acepta)
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarResultados(@RequestParam(defaultValue = "ndjson") String formato) {
+        Formato elegido = Formato.desde(formato);
+        log.debug("Exportando resultados médicos en formato {}", elegido);
+        StreamingResponseBody cuerpo = salida -> resultadoMedicoExportacionService.exportar(elegido, salida);
+        return ResponseEntity.ok()
+                .contentType(elegido.getTipo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("resultados-medicos." + elegido.getExtension())
+                        .build()
+                        .toString())
+                .body(cuerpo);
+    }
+
+    // Vista de lista: solo los campos que se muestran en las tarjetas
+    @GetMapping("/resumen")
+    public PaginaDTO<ResumenResultadoMedicoDTO> listarResumen(@RequestParam(required = false) Long cursor,
+                                                              @RequestParam(defaultValue = "50") int tamano) {
+        log.debug("Listando resumen de resultados médicos desde el cursor: {}", cursor);
+        return resultadoMedicoService.listarResumenPaginado(cursor, tamano);
+    }
+
+    // GET condicional: con If-None-Match / If-Modified-Since vigentes se responde 304 leyendo solo la versión
     @GetMapping("/{id}")
-    public ResponseEntity<ResultadoMedicoDTO> obtenerResultadoMedico(@PathVariable Long id) {
-        log.info("Obteniendo resultado médico con ID: {}", id);
+    public ResponseEntity<ResultadoMedicoDTO> obtenerResultadoMedico(@PathVariable Long id, WebRequest request) {
+        log.debug("Obteniendo resultado médico con ID: {}", id);
+        Optional<VersionRecursoDTO> version = resultadoMedicoService.obtenerVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(versionColecciones.etiqueta(version.get()), version.get().ultimaModificacionMs())) {
+            return null;
+        }
         return resultadoMedicoService.obtenerResultadoMedico(id)
-                .map(ResponseEntity::ok)
+                .map(resultado -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(resultado))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ResultadoMedicoDTO> actualizarResultadoMedico(@PathVariable Long id,
                                                                         @Valid @RequestBody ResultadoMedicoDTO resultadoMedico) {
-        log.info("Actualizando resultado médico con ID: {}", id);
+        log.debug("Actualizando resultado médico con ID: {}", id);
         try {
             ResultadoMedicoDTO actualizado = resultadoMedicoService.actualizarResultadoMedico(id, resultadoMedico);
             return ResponseEntity.ok(actualizado);
+        } catch (IllegalArgumentException e) {
+            log.warn("Estado no válido al actualizar resultado médico: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Resultado médico {} modificado por otra petición durante la actualización", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             log.error("Error al actualizar resultado médico: {}", e.getMessage());
             return ResponseEntity.notFound().build();
@@ -68,64 +151,99 @@ public class ResultadoMedicoController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> eliminarResultadoMedico(@PathVariable Long id) {
-        log.info("Eliminando resultado médico con ID: {}", id);
+        log.debug("Eliminando resultado médico con ID: {}", id);
         boolean eliminado = resultadoMedicoService.eliminarResultadoMedico(id);
         return eliminado ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/buscar")
+    public List<ResultadoMedicoDTO> buscarTextoLibre(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "20") int limite) {
+        log.debug("Búsqueda de texto libre en resultados médicos (límite {})", limite);
+        return resultadoMedicoService.buscarTextoLibre(q, limite);
+    }
+
+    // Filtros combinables (paciente, tipoExamen, medico, estado, rangos de fechas) con orden y página.
+    // Los endpoints /buscar/* de un solo criterio se mantienen por compatibilidad.
+    @GetMapping("/filtro")
+    public PaginaDTO<ResultadoMedicoDTO> filtrarResultados(@ModelAttribute FiltroResultadoMedicoDTO filtro) {
+        log.debug("Filtrando resultados médicos (orden {}, página {})", filtro.getOrden(), filtro.getPagina());
+        return resultadoMedicoService.filtrarResultados(filtro);
+    }
+
     @GetMapping("/buscar/paciente")
     public List<ResultadoMedicoDTO> buscarPorPaciente(@RequestParam String paciente) {
-        log.info("Buscando resultados médicos por paciente: {}", paciente);
+        log.debug("Buscando resultados médicos por paciente");
         return resultadoMedicoService.buscarPorPaciente(paciente);
     }
 
     @GetMapping("/buscar/tipo-examen")
     public List<ResultadoMedicoDTO> buscarPorTipoExamen(@RequestParam String tipoExamen) {
-        log.info("Buscando resultados médicos por tipo de examen: {}", tipoExamen);
+        log.debug("Buscando resultados médicos por tipo de examen");
         return resultadoMedicoService.buscarPorTipoExamen(tipoExamen);
     }
 
     @GetMapping("/buscar/medico")
     public List<ResultadoMedicoDTO> buscarPorMedicoResponsable(@RequestParam String medicoResponsable) {
-        log.info("Buscando resultados médicos por médico responsable: {}", medicoResponsable);
+        log.debug("Buscando resultados médicos por médico responsable");
         return resultadoMedicoService.buscarPorMedicoResponsable(medicoResponsable);
     }
 
     @GetMapping("/buscar/estado")
     public List<ResultadoMedicoDTO> buscarPorEstado(@RequestParam String estado) {
-        log.info("Buscando resultados médicos por estado: {}", estado);
+        log.debug("Buscando resultados médicos por estado: {}", estado);
         return resultadoMedicoService.buscarPorEstado(estado);
     }
 
     @GetMapping("/buscar/fechas")
     public List<ResultadoMedicoDTO> buscarPorRangoFechas(@RequestParam LocalDateTime fechaInicio,
                                                          @RequestParam LocalDateTime fechaFin) {
-        log.info("Buscando resultados médicos entre fechas: {} y {}", fechaInicio, fechaFin);
+        log.debug("Buscando resultados médicos entre fechas: {} y {}", fechaInicio, fechaFin);
         return resultadoMedicoService.buscarPorRangoFechas(fechaInicio, fechaFin);
     }
 
     @GetMapping("/pendientes")
     public List<ResultadoMedicoDTO> buscarResultadosPendientes() {
-        log.info("Buscando resultados médicos pendientes");
+        log.debug("Buscando resultados médicos pendientes");
         return resultadoMedicoService.buscarResultadosPendientes();
     }
 
+    @GetMapping("/pendientes/pagina")
+    public PaginaDTO<ResultadoMedicoDTO> buscarResultadosPendientesPaginados(@RequestParam(required = false) Long cursor,
+                                                                             @RequestParam(defaultValue = "50") int tamano) {
+        log.debug("Buscando resultados médicos pendientes desde el cursor: {}", cursor);
+        return resultadoMedicoService.buscarResultadosPendientesPaginados(cursor, tamano);
+    }
+
     @GetMapping("/recientes")
     public List<ResultadoMedicoDTO> buscarResultadosRecientes(@RequestParam LocalDateTime fechaInicio) {
-        log.info("Buscando resultados médicos recientes desde: {}", fechaInicio);
+        log.debug("Buscando resultados médicos recientes desde: {}", fechaInicio);
         return resultadoMedicoService.buscarResultadosRecientes(fechaInicio);
     }
 
     @PutMapping("/{id}/cambiar-estado")
     public ResponseEntity<ResultadoMedicoDTO> cambiarEstado(@PathVariable Long id,
                                                             @RequestParam String estado) {
-        log.info("Cambiando estado del resultado médico {} a: {}", id, estado);
+        log.debug("Cambiando estado del resultado médico {} a: {}", id, estado);
         try {
             ResultadoMedicoDTO actualizado = resultadoMedicoService.cambiarEstado(id, estado);
             return ResponseEntity.ok(actualizado);
+        } catch (IllegalArgumentException e) {
+            log.warn("Estado no válido al cambiar estado del resultado médico: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TransicionEstadoInvalidaException e) {
+            log.warn("Transición de estado rechazada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             log.error("Error al cambiar estado del resultado médico: {}", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Cambio de estado de muchos resultados en una sola petición (p. ej. firmar los revisados del turno)
+    @PutMapping("/estado")
+    public ResultadoCambioEstadoLoteDTO cambiarEstadoEnLote(@Valid @RequestBody CambioEstadoLoteDTO cambio) {
+        log.debug("Cambiando a {} el estado de {} resultados médicos", cambio.getEstado(), cambio.getIds().size());
+        return resultadoMedicoService.cambiarEstadoEnLote(cambio.getIds(), cambio.getEstado());
+    }
 }
@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.evento;
+
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+
+// Se publica desde CitaService en cada escritura; "actual" es null cuando se elimina
+public record CambioCita(TipoCambio tipo, Long id, CitaDTO actual) {
+}
@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.evento;
+
+import java.util.List;
+
+// Un grupo de resultados escritos juntos (creación o cambio de estado en lote), después de sus eventos por fila
+public record CambioLoteResultadosMedicos(TipoCambio tipo, List<Long> ids) {
+}
@@ -0,0 +1,13 @@
+package com.uniquindio.edu.back.evento;
+
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+
+// Se publica desde ResultadoMedicoService en cada escritura; "actual" es null cuando se elimina.
+// "enLote" marca las filas de una escritura masiva: además de estos eventos se publica un único
+// CambioLoteResultadosMedicos con todos los ids, que es el que llega al feed de cambios
+public record CambioResultadoMedico(TipoCambio tipo, Long id, ResultadoMedicoDTO actual, boolean enLote) {
+
+    public CambioResultadoMedico(TipoCambio tipo, Long id, ResultadoMedicoDTO actual) {
+        this(tipo, id, actual, false);
+    }
+}
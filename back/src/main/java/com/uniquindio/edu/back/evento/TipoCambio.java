@@ -0,0 +1,8 @@
+package com.uniquindio.edu.back.evento;
+
+public enum TipoCambio {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO,
+    ESTADO_CAMBIADO
+}
@@ -0,0 +1,17 @@
+package com.uniquindio.edu.back.exception;
+
+// La cita se cruza con otra ya agendada en la misma especialidad (responde 409)
+public class ConflictoAgendaException extends RuntimeException {
+
+    private final Long citaEnConflicto;
+
+    public ConflictoAgendaException(String especialidad, String fechaHora, Long citaEnConflicto, String fechaHoraEnConflicto) {
+        super("El horario " + fechaHora + " de " + especialidad + " se cruza con la cita " + citaEnConflicto
+                + " de las " + fechaHoraEnConflicto);
+        this.citaEnConflicto = citaEnConflicto;
+    }
+
+    public Long getCitaEnConflicto() {
+        return citaEnConflicto;
+    }
+}
@@ -0,0 +1,41 @@
+package com.uniquindio.edu.back.exception;
+
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Traduce los errores de datos de entrada (estado o fecha con formato inválido) a 400 y los conflictos
+// de versión o de agenda a 409
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler({IllegalArgumentException.class, DateTimeParseException.class})
+    public ResponseEntity<Map<String, String>> manejarDatoInvalido(RuntimeException ex) {
+        log.warn("Solicitud con datos inválidos: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    // Doble reserva: la cita se cruza con otra de la misma especialidad
+    @ExceptionHandler(ConflictoAgendaException.class)
+    public ResponseEntity<Map<String, Object>> manejarConflictoAgenda(ConflictoAgendaException ex) {
+        log.warn("Conflicto de agenda: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage(), "citaEnConflicto", ex.getCitaEnConflicto()));
+    }
+
+    // Otra petición modificó el registro entre la lectura y la escritura (@Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> manejarConflicto(OptimisticLockingFailureException ex) {
+        log.warn("Conflicto de versión: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "El registro fue modificado por otra petición; vuelva a consultarlo"));
+    }
+}
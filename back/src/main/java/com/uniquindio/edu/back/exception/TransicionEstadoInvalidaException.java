@@ -0,0 +1,11 @@
+package com.uniquindio.edu.back.exception;
+
+import com.uniquindio.edu.back.model.EstadoResultado;
+
+// El resultado no está en el estado desde el que se permite el cambio pedido (responde 409)
+public class TransicionEstadoInvalidaException extends RuntimeException {
+
+    public TransicionEstadoInvalidaException(Long id, EstadoResultado actual, EstadoResultado destino) {
+        super("El resultado médico " + id + " está en " + actual + " y no puede pasar a " + destino);
+    }
+}
@@ -0,0 +1,161 @@
+package com.uniquindio.edu.back.loader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.config.CalentamientoProperties;
+import com.uniquindio.edu.back.mapper.CitaMapper;
+import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+import com.uniquindio.edu.back.util.FormatoFechaHora;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Recorre los caminos más usados (consultas de Hibernate, mappers de MapStruct y serialización con Jackson)
+// hasta que el JIT los compile, para que las primeras peticiones después de un despliegue no paguen el
+// código interpretado. Corre en ApplicationReadyEvent, después de los runners que cargan datos; Boot pasa
+// la readiness a ACCEPTING_TRAFFIC cuando terminan estos listeners, así /actuator/health/readiness sigue
+// en OUT_OF_SERVICE mientras dura. Se activa en ejecución (no con @Conditional) para que funcione con AOT.
+@Component
+@Slf4j
+public class CalentamientoJit {
+
+    private static final int TAMANO_LOTE = 50;
+
+    private final CalentamientoProperties propiedades;
+    private final CitaService citaService;
+    private final ResultadoMedicoService resultadoMedicoService;
+    private final CitaMapper citaMapper;
+    private final ResultadoMedicoMapper resultadoMedicoMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+
+    public CalentamientoJit(CalentamientoProperties propiedades, CitaService citaService,
+                            ResultadoMedicoService resultadoMedicoService, CitaMapper citaMapper,
+                            ResultadoMedicoMapper resultadoMedicoMapper, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.propiedades = propiedades;
+        this.citaService = citaService;
+        this.resultadoMedicoService = resultadoMedicoService;
+        this.citaMapper = citaMapper;
+        this.resultadoMedicoMapper = resultadoMedicoMapper;
+        this.objectMapper = objectMapper;
+        // Transacción de solo lectura que se descarta al final: los servicios se unen a ella y nada se confirma
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void calentar() {
+        if (!propiedades.habilitado() || propiedades.iteraciones() == 0) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        long limite = inicio + propiedades.tiempoMaximo().toNanos();
+        List<ResultadoMedicoDTO> resultados = resultadosSinteticos();
+        List<CitaDTO> citas = citasSinteticas();
+
+        int iteraciones = 0;
+        try {
+            while (iteraciones < propiedades.iteraciones() && System.nanoTime() < limite) {
+                iteracion(iteraciones, resultados, citas);
+                iteraciones++;
+            }
+        } catch (RuntimeException ex) {
+            // El calentamiento no debe impedir el arranque
+            log.warn("Calentamiento interrumpido en la iteración {}: {}", iteraciones, ex.getMessage());
+        }
+        log.info("Calentamiento JIT: {} de {} iteraciones en {} ms", iteraciones, propiedades.iteraciones(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void iteracion(int numero, List<ResultadoMedicoDTO> resultados, List<CitaDTO> citas) {
+        transaccion.executeWithoutResult(estado -> {
+            escribir(resultadoMedicoService.listarResultadosPaginados(null, PaginaDTO.TAMANO_POR_DEFECTO));
+            escribir(resultadoMedicoService.listarResumenPaginado(null, PaginaDTO.TAMANO_POR_DEFECTO));
+            escribir(resultadoMedicoService.filtrarResultados(filtroResultados(numero)));
+            escribir(citaService.listarCitasPaginadas(null, PaginaDTO.TAMANO_POR_DEFECTO));
+            escribir(citaService.filtrarCitas(filtroCitas(numero)));
+            estado.setRollbackOnly();
+        });
+        // Ida y vuelta entidad-DTO y serialización de listas del tamaño de una página
+        escribir(resultados.stream().map(resultadoMedicoMapper::toEntity).map(resultadoMedicoMapper::toDTO).toList());
+        escribir(citas.stream().map(citaMapper::toEntity).map(citaMapper::toDTO).toList());
+    }
+
+    // Alterna criterios para pasar por las distintas ramas de las especificaciones y del orden
+    private static FiltroResultadoMedicoDTO filtroResultados(int numero) {
+        FiltroResultadoMedicoDTO filtro = new FiltroResultadoMedicoDTO();
+        EstadoResultado[] estados = EstadoResultado.values();
+        filtro.setEstado(List.of(estados[numero % estados.length].name()));
+        if (numero % 2 == 0) {
+            filtro.setPaciente("a");
+            filtro.setOrden("fechaExamen");
+            filtro.setDireccion("desc");
+        }
+        return filtro;
+    }
+
+    private static FiltroCitaDTO filtroCitas(int numero) {
+        FiltroCitaDTO filtro = new FiltroCitaDTO();
+        if (numero % 2 == 0) {
+            filtro.setEspecialidad("Medicina General");
+            filtro.setOrden("fechaHora");
+        } else {
+            filtro.setDesde(LocalDateTime.now().minusMonths(1));
+        }
+        return filtro;
+    }
+
+    private void escribir(Object valor) {
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), valor);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static List<ResultadoMedicoDTO> resultadosSinteticos() {
+        LocalDateTime base = LocalDateTime.now().minusDays(TAMANO_LOTE);
+        EstadoResultado[] estados = EstadoResultado.values();
+        List<ResultadoMedicoDTO> lista = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lista.add(new ResultadoMedicoDTO((long) i, "Paciente " + i, "Hemograma Completo",
+                    "Hemoglobina: 14.2 g/dL (Normal), Hematocrito: 42% (Normal)", "Dr. Calentamiento",
+                    base.plusDays(i), base.plusDays(i + 1), "Descripción " + i, "Sin observaciones",
+                    estados[i % estados.length].name()));
+        }
+        return lista;
+    }
+
+    private static List<CitaDTO> citasSinteticas() {
+        LocalDateTime base = LocalDateTime.now().withHour(8).withMinute(0);
+        List<CitaDTO> lista = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lista.add(new CitaDTO((long) i, "Paciente " + i, "Medicina General",
+                    FormatoFechaHora.formatear(base.plusDays(i)), "Control"));
+        }
+        return lista;
+    }
+}
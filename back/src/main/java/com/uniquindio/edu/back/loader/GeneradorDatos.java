@@ -0,0 +1,235 @@
+package com.uniquindio.edu.back.loader;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uniquindio.edu.back.config.AgendaProperties;
+import com.uniquindio.edu.back.config.GeneradorProperties;
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Perfil "generador": reemplaza el DataLoader con citas y resultados sintéticos en volumen (saludvital.generador.*).
+// Los valores frecuentes salen más a menudo (pocos pacientes concentran muchas filas, como en producción)
+// y el estado sigue la mezcla configurada. Las filas se insertan por lotes JDBC en varios hilos, una
+// transacción por lote; cada lote usa su propio generador derivado de la semilla, así el resultado
+// es el mismo sin importar el orden en que terminen los hilos.
+@Component
+@Profile("generador")
+@Slf4j
+@RequiredArgsConstructor
+public class GeneradorDatos implements CommandLineRunner {
+
+    // Los ids de resultado salen de la misma secuencia que usa Hibernate (uno por fila): quedan espaciados
+    // por el incremento de 50 pero nunca chocan con los bloques que Hibernate reserva después
+    static final String INSERTAR_CITA = "INSERT INTO cita (paciente, especialidad, fecha_hora, motivo, version, "
+            + "fecha_modificacion, paciente_normalizado, especialidad_normalizada) VALUES (?, ?, ?, ?, 0, ?, ?, ?)";
+    static final String INSERTAR_RESULTADO = "INSERT INTO resultado_medico (id, paciente, tipo_examen, resultados, "
+            + "medico_responsable, fecha_examen, fecha_emision, descripcion, observaciones, estado, version, "
+            + "fecha_modificacion, paciente_normalizado, medico_normalizado) "
+            + "VALUES (NEXT VALUE FOR resultado_medico_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    // Sufijos por palabra de los nombres insertados (igual que la migración V6): cada espacio del nombre
+    // normalizado inicia una palabra. Se calculan en la base al final, para no devolver los ids de cada lote
+    static final String COMPLETAR_SUFIJOS = "INSERT INTO %1$s (%2$s, sufijo) WITH RECURSIVE s (id, resto) AS ("
+            + "SELECT t.id, t.%4$s FROM %3$s t WHERE t.%4$s <> '' "
+            + "AND NOT EXISTS (SELECT 1 FROM %1$s x WHERE x.%2$s = t.id) "
+            + "UNION ALL SELECT id, SUBSTRING(resto, LOCATE(' ', resto) + 1) FROM s WHERE LOCATE(' ', resto) > 0) "
+            + "SELECT DISTINCT id, resto FROM s";
+
+    static final String[] NOMBRES = {"Juan", "María", "Carlos", "Ana", "Luis", "Laura", "José", "Sofía", "Andrés",
+            "Valentina", "Pedro", "Camila", "Jorge", "Daniela", "Miguel", "Paula", "Diego", "Luisa", "Felipe", "Natalia"};
+    static final String[] APELLIDOS = {"Rodríguez", "Gómez", "González", "Martínez", "García", "López", "Hernández",
+            "Sánchez", "Ramírez", "Pérez", "Díaz", "Torres", "Rojas", "Vargas", "Moreno", "Gutiérrez", "Jiménez",
+            "Muñoz", "Castro", "Ortiz"};
+    static final String[] ESPECIALIDADES = {"Medicina General", "Odontología", "Pediatría", "Cardiología",
+            "Ginecología", "Dermatología", "Oftalmología", "Neurología"};
+    static final String[] MOTIVOS = {"Control", "Consulta general", "Chequeo anual", "Dolor persistente",
+            "Revisión de exámenes", "Seguimiento de tratamiento", "Primera vez", "Urgencia no vital"};
+    static final String[] EXAMENES = {"Hemograma Completo", "Glicemia", "Perfil Lipídico", "Uroanálisis",
+            "Electrocardiograma", "Radiografía de Tórax", "Ultrasonido Abdominal", "Resonancia Magnética Cerebral"};
+    static final String[] HALLAZGOS = {"Valores dentro de parámetros normales", "Leve elevación de colesterol LDL",
+            "Ritmo sinusal regular sin alteraciones", "Campos pulmonares claros", "Hemoglobina baja, control en 3 meses",
+            "Glucosa en ayunas elevada", "Sin evidencia de lesiones focales"};
+    static final String[] OBSERVACIONES = {"Sin observaciones", "Repetir en 6 meses", "Remitir a especialista",
+            "Correlacionar con clínica", "Paciente en ayunas"};
+    static final String[] MEDICOS = {"Dr. María González", "Dr. Carlos Mendoza", "Dr. Ana Rodríguez",
+            "Dr. Luis Fernández", "Dr. Patricia Silva", "Dr. Roberto Jiménez", "Dr. Julián Restrepo",
+            "Dr. Marcela Ospina", "Dr. Andrés Cárdenas", "Dr. Liliana Quintero"};
+
+    private static final int TABLA_CITAS = 0;
+    private static final int TABLA_RESULTADOS = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GeneradorProperties propiedades;
+    private final AgendaProperties agenda;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("Generando {} citas y {} resultados médicos con {} hilos", propiedades.citas(),
+                propiedades.resultados(), propiedades.hilos());
+        LocalDate hoy = LocalDate.now();
+        long inicio = System.nanoTime();
+
+        ExecutorService hilos = Executors.newFixedThreadPool(propiedades.hilos());
+        try {
+            List<Future<Integer>> lotes = new ArrayList<>();
+            programar(hilos, lotes, propiedades.citas(), TABLA_CITAS, (azar, cantidad) -> insertarCitas(azar, cantidad, hoy));
+            programar(hilos, lotes, propiedades.resultados(), TABLA_RESULTADOS,
+                    (azar, cantidad) -> insertarResultados(azar, cantidad, hoy));
+            long filas = 0;
+            for (Future<Integer> lote : lotes) {
+                filas += lote.get();
+            }
+            transactionTemplate.executeWithoutResult(estado -> {
+                jdbcTemplate.update(COMPLETAR_SUFIJOS.formatted("cita_sufijo_paciente", "cita_id", "cita", "paciente_normalizado"));
+                jdbcTemplate.update(COMPLETAR_SUFIJOS.formatted("resultado_sufijo_paciente", "resultado_medico_id",
+                        "resultado_medico", "paciente_normalizado"));
+                jdbcTemplate.update(COMPLETAR_SUFIJOS.formatted("resultado_sufijo_medico", "resultado_medico_id",
+                        "resultado_medico", "medico_normalizado"));
+            });
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            log.info("Datos sintéticos generados: {} filas en {} s ({} filas/s)", filas,
+                    String.format("%.1f", segundos), Math.round(filas / Math.max(segundos, 1e-3)));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falló la generación de datos sintéticos", ex.getCause());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private void programar(ExecutorService hilos, List<Future<Integer>> lotes, long total, int tabla,
+                           BiFunction<SplittableRandom, Integer, Integer> insertar) {
+        long numeroLote = 0;
+        for (long desde = 0; desde < total; desde += propiedades.lote(), numeroLote++) {
+            int cantidad = (int) Math.min(propiedades.lote(), total - desde);
+            SplittableRandom azar = new SplittableRandom(propiedades.semilla() + 0x9E3779B97F4A7C15L * (2 * numeroLote + tabla));
+            lotes.add(hilos.submit(() -> insertar.apply(azar, cantidad)));
+        }
+    }
+
+    private int insertarCitas(SplittableRandom azar, int cantidad, LocalDate hoy) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<FilaCita> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            String especialidad = sesgado(azar, ESPECIALIDADES);
+            filas.add(new FilaCita(paciente(azar), especialidad, Timestamp.valueOf(turno(azar, especialidad, hoy)),
+                    sesgado(azar, MOTIVOS)));
+        }
+        return insertar(INSERTAR_CITA, filas, (ps, f) -> {
+            ps.setString(1, f.paciente());
+            ps.setString(2, f.especialidad());
+            ps.setTimestamp(3, f.fechaHora());
+            ps.setString(4, f.motivo());
+            ps.setTimestamp(5, ahora);
+            ps.setString(6, TextoNormalizado.normalizar(f.paciente()));
+            ps.setString(7, TextoNormalizado.normalizar(f.especialidad()));
+        });
+    }
+
+    private int insertarResultados(SplittableRandom azar, int cantidad, LocalDate hoy) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Timestamp modificacion = Timestamp.valueOf(ahora);
+        List<FilaResultado> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            LocalDateTime examen = hoy.minusDays(1 + azar.nextInt(propiedades.diasAtras()))
+                    .atTime(agenda.apertura()).plusMinutes(azar.nextInt(10 * 60));
+            // La mayoría se emite el mismo día o al siguiente; unos pocos tardan hasta dos semanas
+            LocalDateTime emision = examen.plusMinutes((long) (14 * 24 * 60 * Math.pow(azar.nextDouble(), 4)) + 30);
+            if (emision.isAfter(ahora)) {
+                emision = ahora;
+            }
+            filas.add(new FilaResultado(paciente(azar), sesgado(azar, EXAMENES), sesgado(azar, HALLAZGOS),
+                    sesgado(azar, MEDICOS), Timestamp.valueOf(examen), Timestamp.valueOf(emision),
+                    sesgado(azar, OBSERVACIONES), estado(azar).name()));
+        }
+        return insertar(INSERTAR_RESULTADO, filas, (ps, f) -> {
+            ps.setString(1, f.paciente());
+            ps.setString(2, f.tipoExamen());
+            ps.setString(3, f.resultados());
+            ps.setString(4, f.medicoResponsable());
+            ps.setTimestamp(5, f.fechaExamen());
+            ps.setTimestamp(6, f.fechaEmision());
+            ps.setNull(7, Types.VARCHAR);
+            ps.setString(8, f.observaciones());
+            ps.setString(9, f.estado());
+            ps.setTimestamp(10, modificacion);
+            ps.setString(11, TextoNormalizado.normalizar(f.paciente()));
+            ps.setString(12, TextoNormalizado.normalizar(f.medicoResponsable()));
+        });
+    }
+
+    // Parámetros con tipo explícito: JdbcTemplate no tiene que deducirlos fila a fila
+    private <T> int insertar(String sql, List<T> filas, ParameterizedPreparedStatementSetter<T> parametros) {
+        transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, filas, filas.size(), parametros));
+        return filas.size();
+    }
+
+    // Pocos pacientes concentran muchas filas; más allá de nombre + dos apellidos se agrega un número
+    private String paciente(SplittableRandom azar) {
+        double u = azar.nextDouble();
+        int k = (int) (propiedades.pacientes() * u * u);
+        int combinaciones = NOMBRES.length * APELLIDOS.length * APELLIDOS.length;
+        String nombre = NOMBRES[k % NOMBRES.length] + " " + APELLIDOS[(k / NOMBRES.length) % APELLIDOS.length]
+                + " " + APELLIDOS[(k / (NOMBRES.length * APELLIDOS.length)) % APELLIDOS.length];
+        return k < combinaciones ? nombre : nombre + " " + (k / combinaciones);
+    }
+
+    // Un día de atención dentro del rango y un turno del horario según la duración de la especialidad
+    private LocalDateTime turno(SplittableRandom azar, String especialidad, LocalDate hoy) {
+        LocalDate dia = hoy.plusDays(azar.nextInt(-propiedades.diasAtras(), propiedades.diasAdelante() + 1));
+        for (int i = 0; i < 7 && !agenda.diasAtencion().contains(dia.getDayOfWeek()); i++) {
+            dia = dia.plusDays(1);
+        }
+        Duration duracion = agenda.duracion(especialidad);
+        long turnos = Math.max(1, ChronoUnit.MINUTES.between(agenda.apertura(), agenda.cierre()) / duracion.toMinutes());
+        return dia.atTime(agenda.apertura()).plus(duracion.multipliedBy(azar.nextLong(turnos)));
+    }
+
+    private EstadoResultado estado(SplittableRandom azar) {
+        int total = propiedades.estados().values().stream().mapToInt(Integer::intValue).sum();
+        int r = azar.nextInt(total);
+        for (EstadoResultado estado : EstadoResultado.values()) {
+            r -= propiedades.estados().getOrDefault(estado, 0);
+            if (r < 0) {
+                return estado;
+            }
+        }
+        return EstadoResultado.PENDIENTE;
+    }
+
+    // Los primeros valores salen con más frecuencia, como pasa con los datos reales
+    static String sesgado(SplittableRandom azar, String[] valores) {
+        double u = azar.nextDouble();
+        return valores[(int) (valores.length * u * u)];
+    }
+
+    private record FilaCita(String paciente, String especialidad, Timestamp fechaHora, String motivo) {
+    }
+
+    private record FilaResultado(String paciente, String tipoExamen, String resultados, String medicoResponsable,
+                                 Timestamp fechaExamen, Timestamp fechaEmision, String observaciones, String estado) {
+    }
+}
@@ -2,13 +2,34 @@ package com.uniquindio.edu.back.mapper;
 
 import com.uniquindio.edu.back.model.Cita;
 import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.util.FormatoFechaHora;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.LocalDateTime;
 
 @Mapper(componentModel = "spring")
 public interface CitaMapper {
 
 
     CitaDTO toDTO(Cita cita);
+
+    // La versión, la fecha de modificación, los valores normalizados y los sufijos del nombre los llena la entidad;
+    // el paciente lo vincula CitaService
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "pacienteId", ignore = true)
+    @Mapping(target = "pacienteNormalizado", ignore = true)
+    @Mapping(target = "sufijosPaciente", ignore = true)
+    @Mapping(target = "especialidadNormalizada", ignore = true)
+    @Mapping(target = "fechaModificacion", ignore = true)
     Cita toEntity(CitaDTO dto);
+
+    default LocalDateTime aFechaHora(String fechaHora) {
+        return FormatoFechaHora.parsear(fechaHora);
+    }
+
+    default String deFechaHora(LocalDateTime fechaHora) {
+        return FormatoFechaHora.formatear(fechaHora);
+    }
 }
 
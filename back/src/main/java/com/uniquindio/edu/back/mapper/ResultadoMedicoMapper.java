@@ -3,6 +3,7 @@ package com.uniquindio.edu.back.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
 
+import com.uniquindio.edu.back.model.EstadoResultado;
 import com.uniquindio.edu.back.model.ResultadoMedico;
 import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
 
@@ -11,4 +12,12 @@ public interface ResultadoMedicoMapper {
 
     ResultadoMedicoDTO toDTO(ResultadoMedico resultadoMedico);
     ResultadoMedico toEntity(ResultadoMedicoDTO dto);
+
+    default EstadoResultado aEstado(String estado) {
+        return EstadoResultado.desde(estado);
+    }
+
+    default String deEstado(EstadoResultado estado) {
+        return estado == null ? null : estado.name();
+    }
 }
@@ -0,0 +1,78 @@
+package com.uniquindio.edu.back.metricas;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+// Filas devueltas por cada consulta de repositorio (el tiempo lo mide spring.data.repository.invocations).
+// Sirve para encontrar consultas que traen demasiadas filas aunque cada fila sea barata.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class FilasRepositorioAspect {
+
+    public static final String METRICA = "repositorio.filas";
+
+    private final MeterRegistry registro;
+
+    // Un medidor por repositorio y método, creado la primera vez: los métodos heredados (findById...) son el
+    // mismo Method en todos los repositorios, por eso la llave incluye la clase del proxy
+    private final Map<Llave, DistributionSummary> medidores = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object contarFilas(ProceedingJoinPoint punto) throws Throwable {
+        Object resultado = punto.proceed();
+        long filas = contar(resultado);
+        if (filas >= 0) {
+            Llave llave = new Llave(punto.getThis().getClass(), ((MethodSignature) punto.getSignature()).getMethod());
+            medidores.computeIfAbsent(llave, l -> DistributionSummary.builder(METRICA)
+                            .description("Filas devueltas por consulta de repositorio")
+                            .baseUnit("filas")
+                            .tag("repositorio", repositorio(punto))
+                            .tag("metodo", l.metodo().getName())
+                            .register(registro))
+                    .record(filas);
+        }
+        return resultado;
+    }
+
+    // -1 para lo que no es una lectura de filas (save, count, exists, delete...)
+    static long contar(Object resultado) {
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Slice<?> pagina) {
+            return pagina.getNumberOfElements();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static String repositorio(ProceedingJoinPoint punto) {
+        for (Class<?> interfaz : AopProxyUtils.proxiedUserInterfaces(punto.getThis())) {
+            if (interfaz.getPackageName().startsWith("com.uniquindio")) {
+                return interfaz.getSimpleName();
+            }
+        }
+        return punto.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private record Llave(Class<?> proxy, Method metodo) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.uniquindio.edu.back.metricas;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+import com.uniquindio.edu.back.service.ColaResultadosPendientes;
+import com.uniquindio.edu.back.service.FeedCambios;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Tamaño de las estructuras en memoria; el pool Hikari y las caches Caffeine los registra Spring Boot
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder metricasEstructurasEnMemoria(ColaResultadosPendientes cola, IndiceResultadosMedicos indice,
+                                                    FeedCambios feed) {
+        return registro -> {
+            Gauge.builder("resultados.pendientes.cola", cola, ColaResultadosPendientes::tamano)
+                    .description("Resultados médicos en la cola de pendientes")
+                    .register(registro);
+            Gauge.builder("busqueda.indice.documentos", indice, IndiceResultadosMedicos::totalDocumentos)
+                    .description("Resultados médicos en el índice de texto libre")
+                    .register(registro);
+            Gauge.builder("feed.cambios.suscriptores", feed, FeedCambios::totalSuscriptores)
+                    .description("Conexiones abiertas al feed de cambios")
+                    .register(registro);
+            FunctionCounter.builder("feed.cambios.desconectados", feed, FeedCambios::totalDesconectadosPorLentitud)
+                    .description("Suscriptores desconectados por no leer los eventos a tiempo")
+                    .register(registro);
+        };
+    }
+}
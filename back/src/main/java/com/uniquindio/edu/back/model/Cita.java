@@ -1,12 +1,23 @@
 
 package com.uniquindio.edu.back.model;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import com.uniquindio.edu.back.util.TextoNormalizado;
 import jakarta.validation.constraints.NotNull;
 
 
@@ -14,12 +25,20 @@ import jakarta.validation.constraints.NotBlank;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 
 
 @Data
 @Entity
-@Table(name = "cita")
+@Table(name = "cita", indexes = {
+        @Index(name = "idx_cita_fecha_hora", columnList = "fecha_hora"),
+        @Index(name = "idx_cita_paciente_fecha", columnList = "paciente_id, fecha_hora DESC, id DESC"),
+        @Index(name = "idx_cita_paciente_normalizado", columnList = "paciente_normalizado"),
+        @Index(name = "idx_cita_especialidad_fecha", columnList = "especialidad_normalizada, fecha_hora")
+})
 public class Cita implements Serializable {
 
     @Serial
@@ -32,21 +51,45 @@ public class Cita implements Serializable {
     @NotBlank(message = "El nombre del paciente es obligatorio")
     private String paciente;
 
+    // Llave foránea a paciente; el nombre se mantiene para mostrar y filtrar sin join
+    private Long pacienteId;
+
+    // Nombre sin tildes ni mayúsculas para las búsquedas por prefijo; se calcula al guardar
+    private String pacienteNormalizado;
+
+    // El nombre normalizado desde cada palabra (TextoNormalizado.sufijos): buscar por el inicio de cualquier
+    // palabra es un LIKE por prefijo sobre su índice. Se reemplaza solo cuando cambia el nombre
+    @ElementCollection
+    @CollectionTable(name = "cita_sufijo_paciente", joinColumns = @JoinColumn(name = "cita_id"))
+    @Column(name = "sufijo")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> sufijosPaciente = new HashSet<>();
+
     @NotBlank(message = "La especialidad es obligatoria")
     private String especialidad;
 
+    // Especialidad sin tildes ni mayúsculas para el filtro (índice con la fecha); se calcula al asignarla
+    private String especialidadNormalizada;
+
     @NotNull(message = "La fecha y hora son obligatorias")
-    private String fechaHora;
+    private LocalDateTime fechaHora;
 
     @NotBlank(message = "El motivo de la cita es obligatorio")
     private String motivo;
 
+    // Versión y fecha de modificación: bloqueo optimista y ETag / Last-Modified de la API
+    @Version
+    private Long version;
+
+    private LocalDateTime fechaModificacion;
+
     public Cita() {}
 
-    public Cita(Long id, String paciente, String especialidad, String fechaHora, String motivo) {
+    public Cita(Long id, String paciente, String especialidad, LocalDateTime fechaHora, String motivo) {
         this.id = id;
-        this.paciente = paciente;
-        this.especialidad = especialidad;
+        setPaciente(paciente);
+        setEspecialidad(especialidad);
         this.fechaHora = fechaHora;
         this.motivo = motivo;
     }
@@ -55,16 +98,34 @@ public class Cita implements Serializable {
     public void setId(Long id) { this.id = id; }
 
     public String getPaciente() { return paciente; }
-    public void setPaciente(String paciente) { this.paciente = paciente; }
+    public void setPaciente(String paciente) {
+        this.paciente = paciente;
+        String normalizado = TextoNormalizado.normalizar(paciente);
+        if (!normalizado.equals(pacienteNormalizado)) {
+            this.pacienteNormalizado = normalizado;
+            this.sufijosPaciente = new HashSet<>(TextoNormalizado.sufijos(paciente));
+        }
+    }
 
     public String getEspecialidad() { return especialidad; }
-    public void setEspecialidad(String especialidad) { this.especialidad = especialidad; }
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+        this.especialidadNormalizada = TextoNormalizado.normalizar(especialidad);
+    }
 
-    public String getFechaHora() { return fechaHora; }
-    public void setFechaHora(String fechaHora) { this.fechaHora = fechaHora; }
+    public LocalDateTime getFechaHora() { return fechaHora; }
+    public void setFechaHora(LocalDateTime fechaHora) { this.fechaHora = fechaHora; }
 
     public String getMotivo() { return motivo; }
     public void setMotivo(String motivo) { this.motivo = motivo; }
 
+    @PrePersist
+    @PreUpdate
+    void antesDeGuardar() {
+        this.fechaModificacion = LocalDateTime.now();
+        this.pacienteNormalizado = TextoNormalizado.normalizar(paciente);
+        this.especialidadNormalizada = TextoNormalizado.normalizar(especialidad);
+    }
+
 
 }
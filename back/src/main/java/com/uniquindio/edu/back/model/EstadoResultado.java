@@ -0,0 +1,36 @@
+package com.uniquindio.edu.back.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum EstadoResultado {
+    PENDIENTE,
+    COMPLETADO,
+    REVISADO;
+
+    // Convierte el texto recibido por la API ("pendiente", " REVISADO ") al enum; vacío equivale a null
+    public static EstadoResultado desde(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Estado no válido: " + valor
+                    + ". Valores permitidos: " + Arrays.toString(values()));
+        }
+    }
+
+    // Flujo de revisión PENDIENTE -> COMPLETADO -> REVISADO: único estado desde el que se llega a este
+    public EstadoResultado anterior() {
+        return switch (this) {
+            case PENDIENTE -> null;
+            case COMPLETADO -> PENDIENTE;
+            case REVISADO -> COMPLETADO;
+        };
+    }
+
+    public boolean puedePasarA(EstadoResultado destino) {
+        return destino != null && destino.anterior() == this;
+    }
+}
@@ -0,0 +1,43 @@
+package com.uniquindio.edu.back.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+// Un paciente por nombre normalizado: "José Pérez" y "jose  perez" son el mismo. "nombre" conserva la
+// forma con la que se registró por primera vez.
+@Data
+@Entity
+@Table(name = "paciente", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_paciente_nombre_normalizado", columnNames = "nombre_normalizado")
+})
+public class Paciente implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Column(nullable = false)
+    private String nombreNormalizado;
+
+    public Paciente() {}
+
+    public Paciente(String nombre, String nombreNormalizado) {
+        this.nombre = nombre;
+        this.nombreNormalizado = nombreNormalizado;
+    }
+}
@@ -3,31 +3,61 @@ package com.uniquindio.edu.back.model;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import com.uniquindio.edu.back.util.TextoNormalizado;
 
 @Data
 @Entity
-@Table(name = "resultado_medico")
+@Table(name = "resultado_medico", indexes = {
+        @Index(name = "idx_resultado_estado_emision", columnList = "estado, fecha_emision"),
+        @Index(name = "idx_resultado_fecha_examen", columnList = "fecha_examen"),
+        @Index(name = "idx_resultado_fecha_emision", columnList = "fecha_emision"),
+        @Index(name = "idx_resultado_paciente", columnList = "paciente"),
+        @Index(name = "idx_resultado_paciente_fecha", columnList = "paciente_id, fecha_examen DESC, id DESC"),
+        @Index(name = "idx_resultado_paciente_normalizado", columnList = "paciente_normalizado"),
+        @Index(name = "idx_resultado_medico_normalizado", columnList = "medico_normalizado")
+})
 public class ResultadoMedico implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    // Secuencia con optimizador pooled: IDENTITY impide que Hibernate agrupe los INSERT en lotes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resultado_medico_seq")
+    @SequenceGenerator(name = "resultado_medico_seq", sequenceName = "resultado_medico_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El nombre del paciente es obligatorio")
     private String paciente;
 
+    // Llave foránea a paciente; el nombre se mantiene para mostrar y filtrar sin join
+    private Long pacienteId;
+
     @NotBlank(message = "El tipo de examen es obligatorio")
     private String tipoExamen;
 
@@ -45,21 +75,75 @@ public class ResultadoMedico implements Serializable {
 
     private String descripcion;
     private String observaciones;
-    private String estado; // PENDIENTE, COMPLETADO, REVISADO
+
+    // Nombres sin tildes ni mayúsculas para las búsquedas por prefijo; se calculan al guardar
+    private String pacienteNormalizado;
+    private String medicoNormalizado;
+
+    // Los nombres normalizados desde cada palabra, para buscar por el inicio de cualquier palabra (ver Cita)
+    @ElementCollection
+    @CollectionTable(name = "resultado_sufijo_paciente", joinColumns = @JoinColumn(name = "resultado_medico_id"))
+    @Column(name = "sufijo")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> sufijosPaciente = new HashSet<>();
+
+    @ElementCollection
+    @CollectionTable(name = "resultado_sufijo_medico", joinColumns = @JoinColumn(name = "resultado_medico_id"))
+    @Column(name = "sufijo")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> sufijosMedico = new HashSet<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EstadoResultado estado;
+
+    // Versión y fecha de modificación: bloqueo optimista y ETag / Last-Modified de la API
+    @Version
+    private Long version;
+
+    private LocalDateTime fechaModificacion;
 
     public ResultadoMedico() {}
 
     public ResultadoMedico(Long id, String paciente, String tipoExamen, String resultados,
                            String medicoResponsable, LocalDateTime fechaExamen,
-                           LocalDateTime fechaEmision, String observaciones, String estado) {
+                           LocalDateTime fechaEmision, String observaciones, EstadoResultado estado) {
         this.id = id;
-        this.paciente = paciente;
+        setPaciente(paciente);
         this.tipoExamen = tipoExamen;
         this.resultados = resultados;
-        this.medicoResponsable = medicoResponsable;
+        setMedicoResponsable(medicoResponsable);
         this.fechaExamen = fechaExamen;
         this.fechaEmision = fechaEmision;
         this.observaciones = observaciones;
         this.estado = estado;
     }
+
+    public void setPaciente(String paciente) {
+        this.paciente = paciente;
+        String normalizado = TextoNormalizado.normalizar(paciente);
+        if (!normalizado.equals(pacienteNormalizado)) {
+            this.pacienteNormalizado = normalizado;
+            this.sufijosPaciente = new HashSet<>(TextoNormalizado.sufijos(paciente));
+        }
+    }
+
+    public void setMedicoResponsable(String medicoResponsable) {
+        this.medicoResponsable = medicoResponsable;
+        String normalizado = TextoNormalizado.normalizar(medicoResponsable);
+        if (!normalizado.equals(medicoNormalizado)) {
+            this.medicoNormalizado = normalizado;
+            this.sufijosMedico = new HashSet<>(TextoNormalizado.sufijos(medicoResponsable));
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    void antesDeGuardar() {
+        this.fechaModificacion = LocalDateTime.now();
+        this.pacienteNormalizado = TextoNormalizado.normalizar(paciente);
+        this.medicoNormalizado = TextoNormalizado.normalizar(medicoResponsable);
+    }
 }
@@ -0,0 +1,17 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class CambioEstadoLoteDTO {
+
+    @NotEmpty(message = "Debe indicar al menos un id")
+    private List<Long> ids;
+
+    @NotBlank(message = "El estado es obligatorio")
+    private String estado;
+}
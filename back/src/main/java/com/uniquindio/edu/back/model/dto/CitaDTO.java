@@ -1,10 +1,20 @@
 package com.uniquindio.edu.back.model.dto;
 
+import java.time.LocalDateTime;
+
+import com.uniquindio.edu.back.util.FormatoFechaHora;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
 public class CitaDTO {
 
     private Long id;
     private String paciente;
     private String especialidad;
+    @NotBlank(message = "La fecha y hora son obligatorias")
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}[ T]\\d{2}:\\d{2}(:\\d{2})?",
+            message = "La fecha y hora deben tener el formato yyyy-MM-dd HH:mm")
     private String fechaHora;
     private String motivo;
 
@@ -18,6 +28,11 @@ public class CitaDTO {
         this.motivo = motivo;
     }
 
+    // Usado por las proyecciones JPQL de CitaRepository: la fecha llega tipada y se formatea aquí
+    public CitaDTO(Long id, String paciente, String especialidad, LocalDateTime fechaHora, String motivo) {
+        this(id, paciente, especialidad, FormatoFechaHora.formatear(fechaHora), motivo);
+    }
+
     // Getters y setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,5 @@
+package com.uniquindio.edu.back.model.dto;
+
+// Fila de un GROUP BY: valor agrupado y número de registros
+public record ConteoDTO<K>(K clave, Long total) {
+}
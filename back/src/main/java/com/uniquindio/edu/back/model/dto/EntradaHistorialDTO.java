@@ -0,0 +1,11 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+
+// Elemento del historial de un paciente: una cita (título = especialidad, detalle = motivo) o un resultado
+// médico (título = tipo de examen, detalle = médico responsable, con su estado)
+public record EntradaHistorialDTO(String tipo, Long id, LocalDateTime fecha, String titulo, String detalle, String estado) {
+
+    public static final String CITA = "CITA";
+    public static final String RESULTADO = "RESULTADO";
+}
@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+
+// Lo mínimo que necesita la cola de pendientes para ordenar un resultado
+public record EntradaPendienteDTO(Long id, LocalDateTime fechaEmision) {
+}
@@ -0,0 +1,26 @@
+package com.uniquindio.edu.back.model.dto;
+
+import lombok.Data;
+
+@Data
+public class EstadisticasCacheDTO {
+
+    private String nombre;
+    private long tamano;
+    private long aciertos;
+    private long fallos;
+    private double tasaAciertos;
+    private long expulsiones;
+
+    public EstadisticasCacheDTO() {}
+
+    public EstadisticasCacheDTO(String nombre, long tamano, long aciertos, long fallos,
+                                double tasaAciertos, long expulsiones) {
+        this.nombre = nombre;
+        this.tamano = tamano;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.tasaAciertos = tasaAciertos;
+        this.expulsiones = expulsiones;
+    }
+}
@@ -0,0 +1,20 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SortedMap;
+
+// Agregados del tablero; los conteos por día van ordenados por fecha
+public record EstadisticasDTO(
+        long totalResultados,
+        Map<String, Long> resultadosPorEstado,
+        Map<String, Long> resultadosPorTipoExamen,
+        Map<String, Long> resultadosPorMedico,
+        SortedMap<LocalDate, Long> resultadosPorDia,
+        Double horasPromedioRespuesta,
+        long totalCitas,
+        Map<String, Long> citasPorEspecialidad,
+        SortedMap<LocalDate, Long> citasPorDia,
+        LocalDateTime ultimaReconciliacion) {
+}
@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.model.dto;
+
+import com.uniquindio.edu.back.model.EstadoResultado;
+
+// Id y estado de un resultado, para validar transiciones sin cargar la fila
+public record EstadoActualDTO(Long id, EstadoResultado estado) {
+}
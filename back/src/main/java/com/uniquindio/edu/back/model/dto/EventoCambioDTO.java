@@ -0,0 +1,5 @@
+package com.uniquindio.edu.back.model.dto;
+
+// Datos de un evento del feed de cambios; "dato" es la cita o el resultado tal como quedó (null al eliminar)
+public record EventoCambioDTO(String tipo, Long id, Object dato) {
+}
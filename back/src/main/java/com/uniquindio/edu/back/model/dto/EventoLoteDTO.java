@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+// Evento del feed para una escritura en lote: solo los ids; el cliente vuelve a cargar el listado
+public record EventoLoteDTO(String tipo, List<Long> ids) {
+}
@@ -0,0 +1,26 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+// Criterios opcionales de GET /api/citas/filtro; los que vienen vacíos no se aplican
+@Data
+public class FiltroCitaDTO {
+
+    private String paciente;
+    private String especialidad;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime desde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime hasta;
+
+    private String orden;
+    private String direccion;
+    private int pagina;
+    private int tamano = PaginaDTO.TAMANO_POR_DEFECTO;
+}
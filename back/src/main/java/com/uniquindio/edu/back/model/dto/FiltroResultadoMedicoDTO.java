@@ -0,0 +1,37 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+// Criterios opcionales de GET /api/resultados-medicos/filtro; los que vienen vacíos no se aplican
+@Data
+public class FiltroResultadoMedicoDTO {
+
+    private String paciente;
+    private String tipoExamen;
+    private String medico;
+
+    // Uno o varios estados (?estado=PENDIENTE&estado=REVISADO)
+    private List<String> estado;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime examenDesde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime examenHasta;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime emisionDesde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime emisionHasta;
+
+    private String orden;
+    private String direccion;
+    private int pagina;
+    private int tamano = PaginaDTO.TAMANO_POR_DEFECTO;
+}
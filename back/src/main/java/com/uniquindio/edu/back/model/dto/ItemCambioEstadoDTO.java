@@ -0,0 +1,22 @@
+package com.uniquindio.edu.back.model.dto;
+
+import lombok.Data;
+
+@Data
+public class ItemCambioEstadoDTO {
+
+    private Long id;
+    private boolean exito;
+    // Estado que tenía el resultado antes de la operación (null si no existe)
+    private String estadoAnterior;
+    private String error;
+
+    public ItemCambioEstadoDTO() {}
+
+    public ItemCambioEstadoDTO(Long id, boolean exito, String estadoAnterior, String error) {
+        this.id = id;
+        this.exito = exito;
+        this.estadoAnterior = estadoAnterior;
+        this.error = error;
+    }
+}
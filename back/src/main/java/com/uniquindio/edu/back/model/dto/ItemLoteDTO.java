@@ -0,0 +1,32 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ItemLoteDTO {
+
+    // Posición del registro dentro del lote recibido (desde 0)
+    private int posicion;
+    private Long id;
+    private boolean exito;
+    private List<String> errores;
+
+    public ItemLoteDTO() {}
+
+    public ItemLoteDTO(int posicion, Long id, boolean exito, List<String> errores) {
+        this.posicion = posicion;
+        this.id = id;
+        this.exito = exito;
+        this.errores = errores;
+    }
+
+    public static ItemLoteDTO creado(int posicion, Long id) {
+        return new ItemLoteDTO(posicion, id, true, List.of());
+    }
+
+    public static ItemLoteDTO fallido(int posicion, List<String> errores) {
+        return new ItemLoteDTO(posicion, null, false, errores);
+    }
+}
@@ -0,0 +1,4 @@
+package com.uniquindio.edu.back.model.dto;
+
+public record PacienteDTO(Long id, String nombre) {
+}
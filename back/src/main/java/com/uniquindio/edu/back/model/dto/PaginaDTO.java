@@ -0,0 +1,54 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.Data;
+
+@Data
+public class PaginaDTO<T> {
+
+    public static final int TAMANO_POR_DEFECTO = 50;
+    public static final int TAMANO_MAXIMO = 500;
+
+    private List<T> contenido;
+
+    // Cursor para pedir la siguiente página (null si no hay más): último id en los listados por keyset,
+    // número de página en los endpoints de filtro
+    private Long siguiente;
+
+    private int tamano;
+
+    public PaginaDTO() {}
+
+    public PaginaDTO(List<T> contenido, Long siguiente, int tamano) {
+        this.contenido = contenido;
+        this.siguiente = siguiente;
+        this.tamano = tamano;
+    }
+
+    // Limita el tamaño pedido al rango permitido
+    public static int ajustarTamano(int tamano) {
+        if (tamano <= 0) {
+            return TAMANO_POR_DEFECTO;
+        }
+        return Math.min(tamano, TAMANO_MAXIMO);
+    }
+
+    // Arma la página a partir de tamano + 1 filas: la fila extra solo indica que hay más
+    public static <T> PaginaDTO<T> desdeFilas(List<T> filas, int tamano, Function<T, Long> cursor) {
+        boolean hayMas = filas.size() > tamano;
+        List<T> contenido = hayMas ? new ArrayList<>(filas.subList(0, tamano)) : filas;
+        Long siguiente = hayMas ? cursor.apply(contenido.get(contenido.size() - 1)) : null;
+        return new PaginaDTO<>(contenido, siguiente, tamano);
+    }
+
+    // Página de un Slice (consulta con tamano + 1 filas, sin COUNT); el cursor es el número de la siguiente página
+    public static <T> PaginaDTO<T> desdeSlice(Slice<T> slice) {
+        Long siguiente = slice.hasNext() ? (long) slice.getNumber() + 1 : null;
+        return new PaginaDTO<>(slice.getContent(), siguiente, slice.getSize());
+    }
+}
@@ -0,0 +1,7 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+// Página del historial; "siguiente" es el cursor (fecha|tipo|id de la última entrada) o null si no hay más
+public record PaginaHistorialDTO(List<EntradaHistorialDTO> contenido, String siguiente, int tamano) {
+}
@@ -0,0 +1,25 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ResultadoCambioEstadoLoteDTO {
+
+    private String estado;
+    private int recibidos;
+    private int cambiados;
+    private int fallidos;
+    private List<ItemCambioEstadoDTO> items;
+
+    public ResultadoCambioEstadoLoteDTO() {}
+
+    public ResultadoCambioEstadoLoteDTO(String estado, List<ItemCambioEstadoDTO> items) {
+        this.estado = estado;
+        this.items = items;
+        this.recibidos = items.size();
+        this.cambiados = (int) items.stream().filter(ItemCambioEstadoDTO::isExito).count();
+        this.fallidos = recibidos - cambiados;
+    }
+}
@@ -0,0 +1,25 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ResultadoLoteDTO {
+
+    private int recibidos;
+    private int creados;
+    private int fallidos;
+    private long duracionMs;
+    private List<ItemLoteDTO> items;
+
+    public ResultadoLoteDTO() {}
+
+    public ResultadoLoteDTO(List<ItemLoteDTO> items, long duracionMs) {
+        this.items = items;
+        this.duracionMs = duracionMs;
+        this.recibidos = items.size();
+        this.creados = (int) items.stream().filter(ItemLoteDTO::isExito).count();
+        this.fallidos = recibidos - creados;
+    }
+}
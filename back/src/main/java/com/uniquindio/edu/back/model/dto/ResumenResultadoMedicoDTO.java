@@ -0,0 +1,11 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.uniquindio.edu.back.model.EstadoResultado;
+
+// Fila de los listados: sin los textos largos (resultados, descripción, observaciones)
+public record ResumenResultadoMedicoDTO(Long id, String paciente, String tipoExamen, String medicoResponsable,
+                                        LocalDateTime fechaExamen, LocalDateTime fechaEmision,
+                                        EstadoResultado estado) {
+}
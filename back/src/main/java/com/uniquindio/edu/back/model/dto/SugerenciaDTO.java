@@ -0,0 +1,5 @@
+package com.uniquindio.edu.back.model.dto;
+
+// Valor sugerido al escribir en un formulario y cuántos registros lo usan
+public record SugerenciaDTO(String texto, long frecuencia) {
+}
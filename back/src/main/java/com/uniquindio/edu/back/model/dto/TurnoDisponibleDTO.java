@@ -0,0 +1,5 @@
+package com.uniquindio.edu.back.model.dto;
+
+// Turno libre de una especialidad; las fechas con el mismo formato que CitaDTO ("yyyy-MM-dd HH:mm")
+public record TurnoDisponibleDTO(String especialidad, String inicio, String fin) {
+}
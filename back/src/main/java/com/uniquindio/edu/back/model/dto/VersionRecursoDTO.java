@@ -0,0 +1,13 @@
+package com.uniquindio.edu.back.model.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Metadatos de versión de una fila: bastan para responder 304 sin leer el registro completo
+public record VersionRecursoDTO(Long version, LocalDateTime fechaModificacion) {
+
+    // Milisegundos para Last-Modified; -1 si la fila no tiene fecha de modificación
+    public long ultimaModificacionMs() {
+        return fechaModificacion == null ? -1 : fechaModificacion.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
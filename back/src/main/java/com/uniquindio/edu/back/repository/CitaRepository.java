@@ -1,10 +1,77 @@
 package com.uniquindio.edu.back.repository;
 
 import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.ConteoDTO;
+import com.uniquindio.edu.back.model.dto.EntradaHistorialDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface CitaRepository extends JpaRepository<Cita, Long> {
-    
+public interface CitaRepository extends JpaRepository<Cita, Long>, JpaSpecificationExecutor<Cita> {
+
+    // Proyecciones de solo lectura directo a CitaDTO (sin entidades administradas ni mapper)
+    String SELECT_DTO = "SELECT new com.uniquindio.edu.back.model.dto.CitaDTO(c.id, c.paciente, c.especialidad, "
+            + "c.fechaHora, c.motivo) FROM Cita c ";
+
+    // CitaService y la agenda las usan antes de escribir, fuera de una transacción: se leen del primario
+    // (sin readOnly) para no decidir con datos atrasados de la réplica
+    @Override
+    @Transactional
+    Optional<Cita> findById(Long id);
+
+    @Override
+    @Transactional
+    boolean existsById(Long id);
+
+    @Query(SELECT_DTO + "ORDER BY c.id")
+    List<CitaDTO> listarDTO();
+
+    // Página de citas posteriores al cursor (keyset sobre la llave primaria)
+    @Query(SELECT_DTO + "WHERE c.id > :cursor ORDER BY c.id")
+    List<CitaDTO> listarDTODesde(@Param("cursor") Long cursor, Limit limit);
+
+    @Query(SELECT_DTO + "WHERE c.id = :id")
+    Optional<CitaDTO> buscarDTOPorId(@Param("id") Long id);
+
+    // Citas del paciente posteriores al cursor en orden (fecha_hora DESC, id DESC), leídas en ese orden desde
+    // idx_cita_paciente_fecha; con id = Long.MAX_VALUE entran todas las de la misma fecha, con MIN_VALUE ninguna
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.EntradaHistorialDTO('" + EntradaHistorialDTO.CITA + "', c.id, "
+            + "c.fechaHora, c.especialidad, c.motivo, CAST(NULL AS String)) FROM Cita c "
+            + "WHERE c.pacienteId = :paciente AND (c.fechaHora < :fecha OR (c.fechaHora = :fecha AND c.id < :id)) "
+            + "ORDER BY c.fechaHora DESC, c.id DESC")
+    Stream<EntradaHistorialDTO> historialPaciente(@Param("paciente") Long paciente, @Param("fecha") LocalDateTime fecha,
+                                                  @Param("id") Long id, Limit limit);
+
+    // Solo versión y fecha de modificación, para responder 304 sin cargar la fila
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.VersionRecursoDTO(c.version, c.fechaModificacion) FROM Cita c WHERE c.id = :id")
+    Optional<VersionRecursoDTO> buscarVersion(@Param("id") Long id);
+
+    // Agregados para conciliar las estadísticas en memoria (EstadisticasService)
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(c.especialidad, COUNT(c)) FROM Cita c GROUP BY c.especialidad")
+    List<ConteoDTO<String>> contarPorEspecialidad();
+
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(CAST(c.fechaHora AS LocalDate), COUNT(c)) FROM Cita c "
+            + "WHERE c.fechaHora IS NOT NULL GROUP BY CAST(c.fechaHora AS LocalDate)")
+    List<ConteoDTO<LocalDate>> contarPorDia();
 }
@@ -0,0 +1,70 @@
+package com.uniquindio.edu.back.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Criterios de filtro de citas; se combinan con AND en una sola consulta
+public final class EspecificacionesCita {
+
+    private EspecificacionesCita() {}
+
+    public static Specification<Cita> desdeFiltro(FiltroCitaDTO filtro) {
+        List<Specification<Cita>> criterios = new ArrayList<>();
+        if (tieneTexto(filtro.getPaciente())) {
+            criterios.add(pacienteConPalabra(filtro.getPaciente()));
+        }
+        if (tieneTexto(filtro.getEspecialidad())) {
+            criterios.add(especialidad(filtro.getEspecialidad()));
+        }
+        if (filtro.getDesde() != null) {
+            criterios.add(fechaDesde(filtro.getDesde()));
+        }
+        if (filtro.getHasta() != null) {
+            criterios.add(fechaAntesDe(filtro.getHasta()));
+        }
+        return Specification.allOf(criterios);
+    }
+
+    // Inicio de cualquier palabra del nombre, sin tildes ni mayúsculas: id IN (citas con un sufijo que empieza
+    // por el texto), resuelto sobre el índice de cita_sufijo_paciente
+    public static Specification<Cita> pacienteConPalabra(String paciente) {
+        String patron = TextoNormalizado.patronPrefijo(paciente);
+        return (raiz, consulta, cb) -> {
+            Subquery<Long> conSufijo = consulta.subquery(Long.class);
+            Root<Cita> cita = conSufijo.from(Cita.class);
+            Join<Cita, String> sufijo = cita.join("sufijosPaciente");
+            conSufijo.select(cita.get("id")).where(cb.like(sufijo, patron, '\\'));
+            return raiz.get("id").in(conSufijo);
+        };
+    }
+
+    // Sin tildes ni mayúsculas, sobre la columna normalizada (índice especialidad_normalizada, fecha_hora)
+    public static Specification<Cita> especialidad(String especialidad) {
+        String valor = TextoNormalizado.normalizar(especialidad);
+        return (raiz, consulta, cb) -> cb.equal(raiz.<String>get("especialidadNormalizada"), valor);
+    }
+
+    public static Specification<Cita> fechaDesde(LocalDateTime desde) {
+        return (raiz, consulta, cb) -> cb.greaterThanOrEqualTo(raiz.<LocalDateTime>get("fechaHora"), desde);
+    }
+
+    // Límite exclusivo, para pedir un día completo con desde=día y hasta=día siguiente
+    public static Specification<Cita> fechaAntesDe(LocalDateTime hasta) {
+        return (raiz, consulta, cb) -> cb.lessThan(raiz.<LocalDateTime>get("fechaHora"), hasta);
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
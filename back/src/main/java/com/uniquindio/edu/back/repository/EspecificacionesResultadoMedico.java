@@ -0,0 +1,93 @@
+package com.uniquindio.edu.back.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.FiltroResultadoMedicoDTO;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+// Criterios de filtro de resultados médicos; se combinan con AND en una sola consulta.
+// Estado y fechas usan los índices (estado, fecha_emision), fecha_examen y fecha_emision; paciente y médico,
+// los de sus tablas de sufijos. El tipo de examen ("contiene") recorre la tabla.
+public final class EspecificacionesResultadoMedico {
+
+    private EspecificacionesResultadoMedico() {}
+
+    public static Specification<ResultadoMedico> desdeFiltro(FiltroResultadoMedicoDTO filtro) {
+        List<Specification<ResultadoMedico>> criterios = new ArrayList<>();
+        if (tieneTexto(filtro.getPaciente())) {
+            criterios.add(conPalabra("sufijosPaciente", filtro.getPaciente()));
+        }
+        if (tieneTexto(filtro.getTipoExamen())) {
+            criterios.add(contiene("tipoExamen", filtro.getTipoExamen()));
+        }
+        if (tieneTexto(filtro.getMedico())) {
+            criterios.add(conPalabra("sufijosMedico", filtro.getMedico()));
+        }
+        if (filtro.getEstado() != null && !filtro.getEstado().isEmpty()) {
+            criterios.add(estadoEn(filtro.getEstado().stream()
+                    .filter(EspecificacionesResultadoMedico::tieneTexto)
+                    .map(EstadoResultado::desde)
+                    .toList()));
+        }
+        if (filtro.getExamenDesde() != null) {
+            criterios.add(desde("fechaExamen", filtro.getExamenDesde()));
+        }
+        if (filtro.getExamenHasta() != null) {
+            criterios.add(antesDe("fechaExamen", filtro.getExamenHasta()));
+        }
+        if (filtro.getEmisionDesde() != null) {
+            criterios.add(desde("fechaEmision", filtro.getEmisionDesde()));
+        }
+        if (filtro.getEmisionHasta() != null) {
+            criterios.add(antesDe("fechaEmision", filtro.getEmisionHasta()));
+        }
+        return Specification.allOf(criterios);
+    }
+
+    // Un "%" o "_" escrito por el usuario se busca literal
+    public static Specification<ResultadoMedico> contiene(String campo, String texto) {
+        String patron = TextoNormalizado.patronContiene(texto);
+        return (raiz, consulta, cb) -> cb.like(cb.lower(raiz.<String>get(campo)), patron, '\\');
+    }
+
+    // Inicio de cualquier palabra, sin tildes ni mayúsculas, sobre la colección de sufijos del campo (ver Cita)
+    public static Specification<ResultadoMedico> conPalabra(String campoSufijos, String texto) {
+        String patron = TextoNormalizado.patronPrefijo(texto);
+        return (raiz, consulta, cb) -> {
+            Subquery<Long> conSufijo = consulta.subquery(Long.class);
+            Root<ResultadoMedico> resultado = conSufijo.from(ResultadoMedico.class);
+            Join<ResultadoMedico, String> sufijo = resultado.join(campoSufijos);
+            conSufijo.select(resultado.get("id")).where(cb.like(sufijo, patron, '\\'));
+            return raiz.get("id").in(conSufijo);
+        };
+    }
+
+    public static Specification<ResultadoMedico> estadoEn(List<EstadoResultado> estados) {
+        return (raiz, consulta, cb) -> estados.size() == 1
+                ? cb.equal(raiz.get("estado"), estados.get(0))
+                : raiz.get("estado").in(estados);
+    }
+
+    public static Specification<ResultadoMedico> desde(String campo, LocalDateTime fecha) {
+        return (raiz, consulta, cb) -> cb.greaterThanOrEqualTo(raiz.<LocalDateTime>get(campo), fecha);
+    }
+
+    // Límite exclusivo, igual que en las citas
+    public static Specification<ResultadoMedico> antesDe(String campo, LocalDateTime fecha) {
+        return (raiz, consulta, cb) -> cb.lessThan(raiz.<LocalDateTime>get(campo), fecha);
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
@@ -0,0 +1,31 @@
+package com.uniquindio.edu.back.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.uniquindio.edu.back.model.Paciente;
+import com.uniquindio.edu.back.model.dto.PacienteDTO;
+
+@Repository
+public interface PacienteRepository extends JpaRepository<Paciente, Long> {
+
+    String SELECT_DTO = "SELECT new com.uniquindio.edu.back.model.dto.PacienteDTO(p.id, p.nombre) FROM Paciente p ";
+
+    // Búsqueda por el índice único de nombre_normalizado
+    @Query("SELECT p.id FROM Paciente p WHERE p.nombreNormalizado = :nombreNormalizado")
+    Optional<Long> buscarIdPorNombreNormalizado(@Param("nombreNormalizado") String nombreNormalizado);
+
+    List<Paciente> findByNombreNormalizadoIn(Collection<String> nombresNormalizados);
+
+    @Query(SELECT_DTO + "WHERE p.nombreNormalizado = :nombreNormalizado")
+    Optional<PacienteDTO> buscarDTOPorNombreNormalizado(@Param("nombreNormalizado") String nombreNormalizado);
+
+    @Query(SELECT_DTO + "WHERE p.id = :id")
+    Optional<PacienteDTO> buscarDTOPorId(@Param("id") Long id);
+}
@@ -2,40 +2,163 @@ package com.uniquindio.edu.back.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.uniquindio.edu.back.model.EstadoResultado;
 import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.ConteoDTO;
+import com.uniquindio.edu.back.model.dto.EntradaHistorialDTO;
+import com.uniquindio.edu.back.model.dto.EntradaPendienteDTO;
+import com.uniquindio.edu.back.model.dto.EstadoActualDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ResultadoMedicoRepository extends JpaRepository<ResultadoMedico, Long> {
-    
-    // Buscar resultados por paciente
-    List<ResultadoMedico> findByPacienteContainingIgnoreCase(String paciente);
+public interface ResultadoMedicoRepository extends JpaRepository<ResultadoMedico, Long>, JpaSpecificationExecutor<ResultadoMedico> {
+
+    // Proyecciones de solo lectura: las filas van directo al DTO, sin entidades administradas ni mapper
+    String SELECT_DTO = "SELECT new com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO(r.id, r.paciente, r.tipoExamen, "
+            + "r.resultados, r.medicoResponsable, r.fechaExamen, r.fechaEmision, r.descripcion, r.observaciones, "
+            + "CAST(r.estado AS String)) FROM ResultadoMedico r ";
+
+    String SELECT_RESUMEN = "SELECT new com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO(r.id, r.paciente, "
+            + "r.tipoExamen, r.medicoResponsable, r.fechaExamen, r.fechaEmision, r.estado) FROM ResultadoMedico r ";
+
+    @Query(SELECT_DTO + "ORDER BY r.id")
+    List<ResultadoMedicoDTO> listarDTO();
+
+    @Query(SELECT_DTO + "WHERE r.id > :cursor ORDER BY r.id")
+    List<ResultadoMedicoDTO> listarDTODesde(@Param("cursor") Long cursor, Limit limit);
+
+    @Query(SELECT_RESUMEN + "WHERE r.id > :cursor ORDER BY r.id")
+    List<ResumenResultadoMedicoDTO> listarResumenDesde(@Param("cursor") Long cursor, Limit limit);
+
+    // Exportación completa: cursor de solo avance que trae las filas de a bloques; debe consumirse
+    // dentro de una transacción y cerrarse al terminar
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO + "ORDER BY r.id")
+    Stream<ResultadoMedicoDTO> exportarTodos();
+
+    // Resultados del paciente posteriores al cursor en orden (fecha_examen DESC, id DESC), desde
+    // idx_resultado_paciente_fecha; mismo criterio de cursor que CitaRepository.historialPaciente
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.EntradaHistorialDTO('" + EntradaHistorialDTO.RESULTADO + "', "
+            + "r.id, r.fechaExamen, r.tipoExamen, r.medicoResponsable, CAST(r.estado AS String)) FROM ResultadoMedico r "
+            + "WHERE r.pacienteId = :paciente AND (r.fechaExamen < :fecha OR (r.fechaExamen = :fecha AND r.id < :id)) "
+            + "ORDER BY r.fechaExamen DESC, r.id DESC")
+    Stream<EntradaHistorialDTO> historialPaciente(@Param("paciente") Long paciente, @Param("fecha") LocalDateTime fecha,
+                                                  @Param("id") Long id, Limit limit);
+
+    @Query(SELECT_DTO + "WHERE r.id = :id")
+    Optional<ResultadoMedicoDTO> buscarDTOPorId(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE r.id IN :ids")
+    List<ResultadoMedicoDTO> buscarDTOPorIds(@Param("ids") Collection<Long> ids);
+
+    // Por el inicio de cualquier palabra del nombre (TextoNormalizado.patronPrefijo sobre los sufijos):
+    // recorre solo el rango del índice idx_resultado_sufijo_paciente
+    @Query(SELECT_DTO + "WHERE r.id IN (SELECT r2.id FROM ResultadoMedico r2 JOIN r2.sufijosPaciente s "
+            + "WHERE s LIKE :patron ESCAPE '\\') ORDER BY r.pacienteNormalizado, r.id")
+    List<ResultadoMedicoDTO> buscarDTOPorPalabraPaciente(@Param("patron") String patron);
+
+    // Tipo de examen que contiene el texto sin distinguir mayúsculas; patron = TextoNormalizado.patronContiene(texto)
+    @Query(SELECT_DTO + "WHERE LOWER(r.tipoExamen) LIKE :patron ESCAPE '\\'")
+    List<ResultadoMedicoDTO> buscarDTOPorTipoExamen(@Param("patron") String patron);
+
+    @Query(SELECT_DTO + "WHERE r.id IN (SELECT r2.id FROM ResultadoMedico r2 JOIN r2.sufijosMedico s "
+            + "WHERE s LIKE :patron ESCAPE '\\') ORDER BY r.medicoNormalizado, r.id")
+    List<ResultadoMedicoDTO> buscarDTOPorPalabraMedico(@Param("patron") String patron);
+
+    @Query(SELECT_DTO + "WHERE r.estado = :estado")
+    List<ResultadoMedicoDTO> buscarDTOPorEstado(@Param("estado") EstadoResultado estado);
+
+    @Query(SELECT_DTO + "WHERE r.fechaExamen BETWEEN :fechaInicio AND :fechaFin")
+    List<ResultadoMedicoDTO> buscarDTOPorRangoFechas(@Param("fechaInicio") LocalDateTime fechaInicio,
+                                                    @Param("fechaFin") LocalDateTime fechaFin);
+
+    @Query(SELECT_DTO + "WHERE r.fechaEmision >= :fechaInicio ORDER BY r.fechaEmision DESC")
+    List<ResultadoMedicoDTO> buscarDTORecientes(@Param("fechaInicio") LocalDateTime fechaInicio);
+
+    // Solo versión y fecha de modificación, para responder 304 sin cargar la fila
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.VersionRecursoDTO(r.version, r.fechaModificacion) FROM ResultadoMedico r WHERE r.id = :id")
+    Optional<VersionRecursoDTO> buscarVersion(@Param("id") Long id);
+
+    // Cambio de estado como compare-and-set: solo se aplica si la fila sigue en el estado esperado.
+    // Incrementa la versión a mano porque un UPDATE masivo no pasa por el bloqueo optimista de JPA.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ResultadoMedico r SET r.estado = :nuevo, r.version = r.version + 1, r.fechaModificacion = :ahora "
+            + "WHERE r.id IN :ids AND r.estado = :esperado")
+    int cambiarEstadoSi(@Param("ids") Collection<Long> ids, @Param("esperado") EstadoResultado esperado,
+                        @Param("nuevo") EstadoResultado nuevo, @Param("ahora") LocalDateTime ahora);
+
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.EstadoActualDTO(r.id, r.estado) FROM ResultadoMedico r WHERE r.id IN :ids")
+    List<EstadoActualDTO> buscarEstados(@Param("ids") Collection<Long> ids);
+
+    // Igual que buscarEstados pero bloqueando las filas hasta el fin de la transacción (cambio en lote).
+    // Hibernate aplica el bloqueo a la raíz aunque se proyecte un DTO: genera "... where rm1_0.id in (...) for update"
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.EstadoActualDTO(r.id, r.estado) FROM ResultadoMedico r WHERE r.id IN :ids")
+    List<EstadoActualDTO> bloquearEstados(@Param("ids") Collection<Long> ids);
+
+    // Página de resultados posteriores al cursor (keyset sobre la llave primaria)
+    List<ResultadoMedico> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     // Buscar resultados por tipo de examen
     List<ResultadoMedico> findByTipoExamenContainingIgnoreCase(String tipoExamen);
     
-    // Buscar resultados por médico responsable
-    List<ResultadoMedico> findByMedicoResponsableContainingIgnoreCase(String medicoResponsable);
-    
     // Buscar resultados por estado
-    List<ResultadoMedico> findByEstado(String estado);
+    List<ResultadoMedico> findByEstado(EstadoResultado estado);
     
     // Buscar resultados por rango de fechas
     List<ResultadoMedico> findByFechaExamenBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
     
-    // Buscar resultados por paciente y tipo de examen
-    List<ResultadoMedico> findByPacienteContainingIgnoreCaseAndTipoExamenContainingIgnoreCase(
-            String paciente, String tipoExamen);
-    
     // Buscar resultados pendientes de revisión
-    @Query("SELECT r FROM ResultadoMedico r WHERE r.estado = 'PENDIENTE' ORDER BY r.fechaEmision ASC")
+    @Query("SELECT r FROM ResultadoMedico r WHERE r.estado = com.uniquindio.edu.back.model.EstadoResultado.PENDIENTE ORDER BY r.fechaEmision ASC")
     List<ResultadoMedico> findResultadosPendientes();
+
+    // Agregados para conciliar las estadísticas en memoria (EstadisticasService)
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(CAST(r.estado AS String), COUNT(r)) FROM ResultadoMedico r GROUP BY r.estado")
+    List<ConteoDTO<String>> contarPorEstado();
+
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(r.tipoExamen, COUNT(r)) FROM ResultadoMedico r GROUP BY r.tipoExamen")
+    List<ConteoDTO<String>> contarPorTipoExamen();
+
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(r.medicoResponsable, COUNT(r)) FROM ResultadoMedico r GROUP BY r.medicoResponsable")
+    List<ConteoDTO<String>> contarPorMedicoResponsable();
+
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.ConteoDTO(CAST(r.fechaExamen AS LocalDate), COUNT(r)) FROM ResultadoMedico r "
+            + "WHERE r.fechaExamen IS NOT NULL GROUP BY CAST(r.fechaExamen AS LocalDate)")
+    List<ConteoDTO<LocalDate>> contarPorDiaExamen();
+
+    // Solo id y fecha de los pendientes, para reconstruir la cola en memoria al arrancar
+    @Query("SELECT new com.uniquindio.edu.back.model.dto.EntradaPendienteDTO(r.id, r.fechaEmision) FROM ResultadoMedico r WHERE r.estado = com.uniquindio.edu.back.model.EstadoResultado.PENDIENTE")
+    List<EntradaPendienteDTO> findEntradasPendientes();
     
     // Buscar resultados recientes (últimos 30 días)
     @Query("SELECT r FROM ResultadoMedico r WHERE r.fechaEmision >= :fechaInicio ORDER BY r.fechaEmision DESC")
@@ -0,0 +1,275 @@
+package com.uniquindio.edu.back.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.uniquindio.edu.back.config.AgendaProperties;
+import com.uniquindio.edu.back.exception.ConflictoAgendaException;
+import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.TurnoDisponibleDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.util.FormatoFechaHora;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Agenda en memoria por especialidad: las reservas se ordenan por hora de inicio, así saber si un horario
+// se cruza con otro o recorrer los turnos libres cuesta O(log n) por turno. La comprobación y el guardado
+// de una cita ocurren bajo el candado de escritura de su especialidad, de modo que dos peticiones
+// simultáneas por el mismo horario no pueden pasar las dos. Se carga desde la tabla cita antes de la primera
+// reserva o consulta y de nuevo al terminar el arranque, para incluir lo insertado por los runners.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AgendaService {
+
+    static final int MAXIMO_TURNOS = 100;
+    static final int MAXIMO_DIAS_BUSQUEDA = 90;
+    private static final int TAMANO_PAGINA_CARGA = 5000;
+
+    private final CitaRepository citaRepository;
+    private final AgendaProperties propiedades;
+
+    private final Map<String, Agenda> agendas = new ConcurrentHashMap<>();
+    private final Map<Long, Agenda> agendaPorCita = new ConcurrentHashMap<>();
+    private final ReentrantLock candadoCarga = new ReentrantLock();
+    private volatile boolean cargada;
+
+    // Tomcat atiende peticiones antes de ApplicationReadyEvent, así que la carga no puede esperar al evento;
+    // la del evento solo agrega lo que falte (agregar es idempotente por id) y no borra reservas ya hechas
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        candadoCarga.lock();
+        try {
+            cargarDesdeBase();
+            cargada = true;
+        } finally {
+            candadoCarga.unlock();
+        }
+    }
+
+    private void asegurarCargada() {
+        if (cargada) {
+            return;
+        }
+        candadoCarga.lock();
+        try {
+            if (!cargada) {
+                cargarDesdeBase();
+                cargada = true;
+            }
+        } finally {
+            candadoCarga.unlock();
+        }
+    }
+
+    private void cargarDesdeBase() {
+        long inicio = System.currentTimeMillis();
+        long cursor = 0L;
+        int total = 0;
+        List<CitaDTO> pagina;
+        do {
+            pagina = citaRepository.listarDTODesde(cursor, Limit.of(TAMANO_PAGINA_CARGA));
+            for (CitaDTO c : pagina) {
+                LocalDateTime fechaHora = FormatoFechaHora.parsear(c.getFechaHora());
+                if (fechaHora != null) {
+                    Agenda agenda = agenda(c.getEspecialidad());
+                    agenda.candado.writeLock().lock();
+                    try {
+                        agenda.agregar(c.getId(), fechaHora);
+                    } finally {
+                        agenda.candado.writeLock().unlock();
+                    }
+                    agendaPorCita.put(c.getId(), agenda);
+                    total++;
+                }
+                cursor = c.getId();
+            }
+        } while (pagina.size() == TAMANO_PAGINA_CARGA);
+        log.info("Agenda cargada: {} citas en {} especialidades en {} ms", total, agendas.size(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    // 📅 Verifica que el horario esté libre y guarda la cita sin soltar el candado de la especialidad.
+    // "id" es el de la cita que se modifica (null al crear): su propia reserva no cuenta como cruce.
+    public Cita reservar(Long id, String especialidad, LocalDateTime fechaHora, Supplier<Cita> guardar) {
+        asegurarCargada();
+        Agenda destino = agenda(especialidad);
+        Agenda origen = id == null ? null : agendaPorCita.get(id);
+        // Si la cita cambia de especialidad se bloquean las dos agendas, siempre en el mismo orden
+        List<Agenda> bloqueadas = Stream.of(destino, origen)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparing(Agenda::clave))
+                .toList();
+        bloqueadas.forEach(a -> a.candado.writeLock().lock());
+        try {
+            if (fechaHora != null) {
+                verificarLibre(destino, id, especialidad, fechaHora);
+            }
+            Cita guardada = guardar.get();
+            if (origen != null) {
+                origen.quitar(guardada.getId());
+                agendaPorCita.remove(guardada.getId());
+            }
+            if (fechaHora != null) {
+                destino.agregar(guardada.getId(), fechaHora);
+                agendaPorCita.put(guardada.getId(), destino);
+            }
+            return guardada;
+        } finally {
+            bloqueadas.reversed().forEach(a -> a.candado.writeLock().unlock());
+        }
+    }
+
+    public void liberar(Long id) {
+        Agenda agenda = agendaPorCita.remove(id);
+        if (agenda == null) {
+            return;
+        }
+        agenda.candado.writeLock().lock();
+        try {
+            agenda.quitar(id);
+        } finally {
+            agenda.candado.writeLock().unlock();
+        }
+    }
+
+    // 🔍 Próximos turnos libres de la especialidad entre "desde" (por defecto ahora) y "hasta" (por defecto una semana después)
+    public List<TurnoDisponibleDTO> turnosDisponibles(String especialidad, LocalDateTime desde, LocalDateTime hasta, int cantidad) {
+        if (especialidad == null || especialidad.isBlank()) {
+            throw new IllegalArgumentException("La especialidad es obligatoria");
+        }
+        LocalDateTime inicio = desde == null ? LocalDateTime.now() : desde;
+        LocalDateTime fin = hasta == null ? inicio.plusDays(7) : hasta;
+        if (!fin.isAfter(inicio)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la inicial");
+        }
+        if (fin.isAfter(inicio.plusDays(MAXIMO_DIAS_BUSQUEDA))) {
+            fin = inicio.plusDays(MAXIMO_DIAS_BUSQUEDA);
+        }
+        int limite = Math.min(Math.max(cantidad, 1), MAXIMO_TURNOS);
+        asegurarCargada();
+
+        // Una especialidad sin citas no se registra: las consultas no deben crear agendas
+        Agenda agenda = agendas.get(AgendaProperties.clave(especialidad));
+        if (agenda == null) {
+            agenda = new Agenda(AgendaProperties.clave(especialidad), propiedades.duracion(especialidad));
+        }
+        Duration duracion = agenda.duracion;
+
+        List<TurnoDisponibleDTO> turnos = new ArrayList<>();
+        agenda.candado.readLock().lock();
+        try {
+            for (LocalDate dia = inicio.toLocalDate(); !dia.isAfter(fin.toLocalDate()) && turnos.size() < limite; dia = dia.plusDays(1)) {
+                if (!propiedades.diasAtencion().contains(dia.getDayOfWeek())) {
+                    continue;
+                }
+                LocalDateTime cierre = dia.atTime(propiedades.cierre());
+                for (LocalDateTime turno = dia.atTime(propiedades.apertura());
+                     !turno.plus(duracion).isAfter(cierre) && turnos.size() < limite;
+                     turno = turno.plus(duracion)) {
+                    LocalDateTime finTurno = turno.plus(duracion);
+                    if (!turno.isBefore(inicio) && !finTurno.isAfter(fin) && agenda.cruce(turno, null).isEmpty()) {
+                        turnos.add(new TurnoDisponibleDTO(especialidad, FormatoFechaHora.formatear(turno),
+                                FormatoFechaHora.formatear(finTurno)));
+                    }
+                }
+            }
+        } finally {
+            agenda.candado.readLock().unlock();
+        }
+        return turnos;
+    }
+
+    private void verificarLibre(Agenda agenda, Long id, String especialidad, LocalDateTime fechaHora) {
+        Optional<Reserva> cruce;
+        while ((cruce = agenda.cruce(fechaHora, id)).isPresent()) {
+            Reserva otra = cruce.get();
+            if (citaRepository.existsById(otra.id())) {
+                throw new ConflictoAgendaException(especialidad, FormatoFechaHora.formatear(fechaHora), otra.id(),
+                        FormatoFechaHora.formatear(otra.inicio()));
+            }
+            // La cita se eliminó por fuera de este servicio (otra instancia): se descarta la reserva huérfana
+            agenda.quitar(otra.id());
+            agendaPorCita.remove(otra.id());
+        }
+    }
+
+    private Agenda agenda(String especialidad) {
+        return agendas.computeIfAbsent(AgendaProperties.clave(especialidad),
+                clave -> new Agenda(clave, propiedades.duracion(especialidad)));
+    }
+
+    private record Reserva(Long id, LocalDateTime inicio) {
+    }
+
+    // Reservas de una especialidad; todas duran lo mismo, así una reserva se cruza con [t, t + duración)
+    // si y solo si empieza en el intervalo abierto (t - duración, t + duración)
+    private static final class Agenda {
+
+        private static final Comparator<Reserva> ORDEN = Comparator
+                .comparing(Reserva::inicio)
+                .thenComparing(Reserva::id);
+
+        private final String clave;
+        private final Duration duracion;
+        private final TreeSet<Reserva> reservas = new TreeSet<>(ORDEN);
+        private final Map<Long, Reserva> porId = new HashMap<>();
+        private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+        Agenda(String clave, Duration duracion) {
+            this.clave = clave;
+            this.duracion = duracion;
+        }
+
+        String clave() {
+            return clave;
+        }
+
+        Optional<Reserva> cruce(LocalDateTime inicio, Long excluida) {
+            Reserva desde = new Reserva(Long.MAX_VALUE, inicio.minus(duracion));
+            Reserva hasta = new Reserva(Long.MIN_VALUE, inicio.plus(duracion));
+            for (Reserva reserva : reservas.subSet(desde, false, hasta, false)) {
+                if (!reserva.id().equals(excluida)) {
+                    return Optional.of(reserva);
+                }
+            }
+            return Optional.empty();
+        }
+
+        void agregar(Long id, LocalDateTime inicio) {
+            quitar(id);
+            Reserva reserva = new Reserva(id, inicio);
+            reservas.add(reserva);
+            porId.put(id, reserva);
+        }
+
+        void quitar(Long id) {
+            Reserva anterior = porId.remove(id);
+            if (anterior != null) {
+                reservas.remove(anterior);
+            }
+        }
+    }
+}
@@ -1,66 +1,130 @@
 package com.uniquindio.edu.back.service;
 
+import com.uniquindio.edu.back.config.CacheConfig;
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.TipoCambio;
 import com.uniquindio.edu.back.mapper.CitaMapper;
 import com.uniquindio.edu.back.model.Cita;
 import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
 import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.repository.EspecificacionesCita;
+import com.uniquindio.edu.back.util.FormatoFechaHora;
+import com.uniquindio.edu.back.util.OrdenConsulta;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CitaService {
 
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "paciente", "especialidad", "fechaHora");
+
     private final CitaRepository citaRepository;
     private final CitaMapper citaMapper;
+    private final AgendaService agendaService;
+    private final PacienteService pacienteService;
+    private final ApplicationEventPublisher publicadorEventos;
+
+    // Las escrituras no abren transacción propia: el save confirma dentro del candado de la agenda, antes de
+    // que otra reserva de la misma especialidad pueda verificar el horario. Las lecturas son readOnly (réplica).
+
+    // El paciente se resuelve dentro de la reserva, después de verificar el horario: un cruce no deja un
+    // paciente nuevo sin cita.
 
-    // Crear una nueva cita
+    // Crear una nueva cita; la agenda rechaza el horario si se cruza con otra de la misma especialidad
     public CitaDTO crearCita(CitaDTO dto) {
         Cita cita = citaMapper.toEntity(dto);
-        Cita guardada = citaRepository.save(cita);
-        return citaMapper.toDTO(guardada);
+        Cita guardada = agendaService.reservar(null, cita.getEspecialidad(), cita.getFechaHora(),
+                () -> guardarConPaciente(cita));
+        CitaDTO creada = citaMapper.toDTO(guardada);
+        publicadorEventos.publishEvent(new CambioCita(TipoCambio.CREADO, creada.getId(), creada));
+        return creada;
     }
 
     // Listar todas las citas
+    @Transactional(readOnly = true)
     public List<CitaDTO> listarCitas() {
-        return citaRepository.findAll()
-                .stream()
-                .map(citaMapper::toDTO)
-                .collect(Collectors.toList());
+        return citaRepository.listarDTO();
     }
 
-    // Buscar cita por id
+    // Listar citas por páginas a partir del último id recibido
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaDTO> listarCitasPaginadas(Long cursor, int tamano) {
+        int limite = PaginaDTO.ajustarTamano(tamano);
+        List<CitaDTO> filas = citaRepository.listarDTODesde(cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.desdeFilas(filas, limite, CitaDTO::getId);
+    }
+
+    // Filtrar citas por cualquier combinación de criterios, con orden y tamaño de página (una sola consulta)
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaDTO> filtrarCitas(FiltroCitaDTO filtro) {
+        PageRequest pagina = PageRequest.of(Math.max(filtro.getPagina(), 0), PaginaDTO.ajustarTamano(filtro.getTamano()),
+                OrdenConsulta.construir(filtro.getOrden(), filtro.getDireccion(), CAMPOS_ORDEN));
+        return PaginaDTO.desdeSlice(citaRepository
+                .findBy(EspecificacionesCita.desdeFiltro(filtro), consulta -> consulta.slice(pagina))
+                .map(citaMapper::toDTO));
+    }
+
+    // Versión de una cita sin leer el registro completo (GET condicional)
+    @Transactional(readOnly = true)
+    public Optional<VersionRecursoDTO> obtenerVersion(Long id) {
+        return citaRepository.buscarVersion(id);
+    }
+
+    // Buscar cita por id (las ausentes no se guardan en cache)
+    @Cacheable(cacheNames = CacheConfig.CITAS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<CitaDTO> obtenerCita(Long id) {
-        return citaRepository.findById(id)
-                .map(citaMapper::toDTO);
+        return citaRepository.buscarDTOPorId(id);
     }
 
     // Actualizar una cita existente
+    @CacheEvict(cacheNames = CacheConfig.CITAS, key = "#id")
     public CitaDTO actualizarCita(Long id, CitaDTO dto) {
         Cita cita = citaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cita no encontrada con id: " + id));
 
         cita.setPaciente(dto.getPaciente());
         cita.setEspecialidad(dto.getEspecialidad());
-        cita.setFechaHora(dto.getFechaHora());
+        cita.setFechaHora(FormatoFechaHora.parsear(dto.getFechaHora()));
         cita.setMotivo(dto.getMotivo());
 
-        Cita actualizada = citaRepository.save(cita);
-        return citaMapper.toDTO(actualizada);
+        Cita actualizada = agendaService.reservar(id, cita.getEspecialidad(), cita.getFechaHora(),
+                () -> guardarConPaciente(cita));
+        CitaDTO actualizadaDTO = citaMapper.toDTO(actualizada);
+        publicadorEventos.publishEvent(new CambioCita(TipoCambio.ACTUALIZADO, id, actualizadaDTO));
+        return actualizadaDTO;
     }
 
     // Eliminar una cita
+    @CacheEvict(cacheNames = CacheConfig.CITAS, key = "#id")
     public boolean eliminarCita(Long id) {
         if (!citaRepository.existsById(id)) {
             return false;
         }
         citaRepository.deleteById(id);
+        agendaService.liberar(id);
+        publicadorEventos.publishEvent(new CambioCita(TipoCambio.ELIMINADO, id, null));
         return true;
     }
+
+    private Cita guardarConPaciente(Cita cita) {
+        cita.setPacienteId(pacienteService.resolver(cita.getPaciente()));
+        return citaRepository.save(cita);
+    }
 }
@@ -0,0 +1,125 @@
+package com.uniquindio.edu.back.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.EntradaPendienteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Cola en memoria de resultados PENDIENTE ordenados por fecha de emisión (O(log n) por cambio).
+// Se carga al arrancar y la mantienen los eventos (AgregadoEnMemoria): los cambios que llegan durante una
+// reconstrucción se repiten sobre la cola nueva antes de publicarla.
+// Usa ReentrantLock en lugar de synchronized para no fijar hilos virtuales a su portador.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ColaResultadosPendientes {
+
+    private static final Comparator<EntradaPendienteDTO> ORDEN = Comparator
+            .comparing(EntradaPendienteDTO::fechaEmision)
+            .thenComparing(EntradaPendienteDTO::id);
+
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+
+    private final AgregadoEnMemoria<Contenido> contenido = new AgregadoEnMemoria<>(new Contenido());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        Contenido nuevo = contenido.reconstruir(Contenido::new,
+                destino -> resultadoMedicoRepository.findEntradasPendientes()
+                        .forEach(e -> destino.agregar(e.id(), e.fechaEmision())));
+        log.info("Cola de resultados pendientes reconstruida con {} elementos", nuevo.porId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        ResultadoMedicoDTO actual = cambio.actual();
+        if (cambio.tipo() != TipoCambio.ELIMINADO && "PENDIENTE".equals(actual.getEstado())) {
+            agregar(cambio.id(), actual.getFechaEmision());
+        } else {
+            quitar(cambio.id());
+        }
+    }
+
+    public void agregar(Long id, LocalDateTime fechaEmision) {
+        contenido.aplicar(c -> c.agregar(id, fechaEmision));
+    }
+
+    public void quitar(Long id) {
+        contenido.aplicar(c -> c.quitar(id));
+    }
+
+    public Optional<EntradaPendienteDTO> entrada(Long id) {
+        return Optional.ofNullable(contenido.actual().porId.get(id));
+    }
+
+    public int tamano() {
+        return contenido.actual().porId.size();
+    }
+
+    // Ids a partir de la posición indicada (exclusiva); sin posición empieza por el más antiguo
+    public List<Long> siguientes(EntradaPendienteDTO desde, int cantidad) {
+        NavigableSet<EntradaPendienteDTO> cola = contenido.actual().cola;
+        NavigableSet<EntradaPendienteDTO> resto = desde == null ? cola : cola.tailSet(desde, false);
+        List<Long> ids = new ArrayList<>(cantidad);
+        for (EntradaPendienteDTO entrada : resto) {
+            if (ids.size() == cantidad) {
+                break;
+            }
+            ids.add(entrada.id());
+        }
+        return ids;
+    }
+
+    // Cola y entrada por id de una carga completa; agregar y quitar mantienen las dos en acuerdo
+    private static final class Contenido {
+
+        private final ConcurrentSkipListSet<EntradaPendienteDTO> cola = new ConcurrentSkipListSet<>(ORDEN);
+        private final Map<Long, EntradaPendienteDTO> porId = new ConcurrentHashMap<>();
+        private final ReentrantLock candado = new ReentrantLock();
+
+        void agregar(Long id, LocalDateTime fechaEmision) {
+            candado.lock();
+            try {
+                quitar(id);
+                EntradaPendienteDTO entrada = new EntradaPendienteDTO(id, fechaEmision == null ? LocalDateTime.MIN : fechaEmision);
+                porId.put(id, entrada);
+                cola.add(entrada);
+            } finally {
+                candado.unlock();
+            }
+        }
+
+        void quitar(Long id) {
+            candado.lock();
+            try {
+                EntradaPendienteDTO anterior = porId.remove(id);
+                if (anterior != null) {
+                    cola.remove(anterior);
+                }
+            } finally {
+                candado.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.uniquindio.edu.back.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.ConteoDTO;
+import com.uniquindio.edu.back.model.dto.EstadisticasDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria.Huellas;
+import com.uniquindio.edu.back.util.FormatoFechaHora;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Estadísticas del tablero mantenidas en memoria: cada escritura de resultados y de citas (eventos)
+// ajusta los contadores, así leerlas no recorre las tablas.
+// Por cada id se guarda una huella con los contadores a los que aporta (AgregadoEnMemoria.Huellas).
+// Periódicamente se comparan los contadores con GROUP BY en la base y, si no coinciden, se reconstruyen.
+@Service
+@Slf4j
+public class EstadisticasService {
+
+    static final String SIN_DATO = "(sin dato)";
+
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final CitaRepository citaRepository;
+    private final Duration esperaConciliacion;
+
+    private final AgregadoEnMemoria<Acumulado> acumulado = new AgregadoEnMemoria<>(new Acumulado());
+    private volatile LocalDateTime ultimaReconciliacion;
+
+    public EstadisticasService(ResultadoMedicoRepository resultadoMedicoRepository, CitaRepository citaRepository,
+                               @Value("${saludvital.estadisticas.espera-conciliacion:PT1S}") Duration esperaConciliacion) {
+        this.resultadoMedicoRepository = resultadoMedicoRepository;
+        this.citaRepository = citaRepository;
+        this.esperaConciliacion = esperaConciliacion;
+    }
+
+    // 📊 Lectura de los agregados; los conteos por día se pueden acotar a un rango de fechas
+    public EstadisticasDTO obtenerEstadisticas(LocalDate desde, LocalDate hasta) {
+        Acumulado actual = acumulado.actual();
+        long conRespuesta = actual.conRespuesta.sum();
+        Double horasPromedio = conRespuesta == 0 ? null
+                : Math.round(actual.minutosRespuesta.sum() * 100.0 / conRespuesta / 60) / 100.0;
+        return new EstadisticasDTO(
+                actual.totalResultados.sum(),
+                conteos(actual.porEstado),
+                conteos(actual.porTipoExamen),
+                conteos(actual.porMedico),
+                conteos(rango(actual.resultadosPorDia, desde, hasta)),
+                horasPromedio,
+                actual.totalCitas.sum(),
+                conteos(actual.porEspecialidad),
+                conteos(rango(actual.citasPorDia, desde, hasta)),
+                ultimaReconciliacion);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        ResultadoMedicoDTO dto = cambio.tipo() == TipoCambio.ELIMINADO ? null : cambio.actual();
+        acumulado.aplicar(a -> a.resultado(cambio.id(), dto == null ? null : new DatosResultado(dto.getEstado(),
+                dto.getTipoExamen(), dto.getMedicoResponsable(), dto.getFechaExamen(), dto.getFechaEmision())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCita(CambioCita cambio) {
+        CitaDTO dto = cambio.tipo() == TipoCambio.ELIMINADO ? null : cambio.actual();
+        acumulado.aplicar(a -> a.cita(cambio.id(), dto == null ? null
+                : new DatosCita(dto.getEspecialidad(), FormatoFechaHora.parsear(dto.getFechaHora()))));
+    }
+
+    // 🔄 Carga completa por páginas de la llave primaria; al arrancar y cuando la conciliación encuentra diferencias
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        Acumulado nuevo = acumulado.reconstruir(Acumulado::new, this::cargar);
+        ultimaReconciliacion = LocalDateTime.now();
+        log.info("Estadísticas reconstruidas: {} resultados y {} citas en {} ms", nuevo.totalResultados.sum(),
+                nuevo.totalCitas.sum(), System.currentTimeMillis() - inicio);
+    }
+
+    // ⏱️ Compara los contadores con la base; devuelve true si coincidían
+    @Scheduled(initialDelayString = "${saludvital.estadisticas.conciliacion:PT10M}",
+            fixedDelayString = "${saludvital.estadisticas.conciliacion:PT10M}")
+    public boolean conciliar() {
+        List<String> diferencias = diferencias();
+        if (!diferencias.isEmpty()) {
+            // Una escritura confirmada cuyo evento todavía no llegó también se ve como diferencia: se da tiempo
+            // a que lleguen y solo se reconstruye si la diferencia persiste
+            try {
+                Thread.sleep(esperaConciliacion);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            diferencias = diferencias();
+        }
+        if (diferencias.isEmpty()) {
+            ultimaReconciliacion = LocalDateTime.now();
+            return true;
+        }
+        log.warn("⚠️ Estadísticas en memoria distintas de la base en: {}; se reconstruyen", String.join(", ", diferencias));
+        reconstruir();
+        return false;
+    }
+
+    private List<String> diferencias() {
+        Acumulado actual = acumulado.actual();
+        List<String> diferencias = new ArrayList<>();
+        comparar("resultados por estado", actual.porEstado, resultadoMedicoRepository.contarPorEstado(), diferencias);
+        comparar("resultados por tipo de examen", actual.porTipoExamen, resultadoMedicoRepository.contarPorTipoExamen(), diferencias);
+        comparar("resultados por médico", actual.porMedico, resultadoMedicoRepository.contarPorMedicoResponsable(), diferencias);
+        comparar("resultados por día", actual.resultadosPorDia, resultadoMedicoRepository.contarPorDiaExamen(), diferencias);
+        comparar("citas por especialidad", actual.porEspecialidad, citaRepository.contarPorEspecialidad(), diferencias);
+        comparar("citas por día", actual.citasPorDia, citaRepository.contarPorDia(), diferencias);
+        return diferencias;
+    }
+
+    private void cargar(Acumulado destino) {
+        AgregadoEnMemoria.recorrer(resultadoMedicoRepository::listarResumenDesde, ResumenResultadoMedicoDTO::id,
+                r -> destino.resultado(r.id(), new DatosResultado(r.estado() == null ? null : r.estado().name(),
+                        r.tipoExamen(), r.medicoResponsable(), r.fechaExamen(), r.fechaEmision())));
+        AgregadoEnMemoria.recorrer(citaRepository::listarDTODesde, CitaDTO::getId,
+                c -> destino.cita(c.getId(), new DatosCita(c.getEspecialidad(), FormatoFechaHora.parsear(c.getFechaHora()))));
+    }
+
+    private static <K> void comparar(String nombre, Map<K, LongAdder> memoria, List<ConteoDTO<K>> base, List<String> diferencias) {
+        Map<K, Long> esperado = new TreeMap<>();
+        for (ConteoDTO<K> fila : base) {
+            @SuppressWarnings("unchecked")
+            K clave = fila.clave() == null ? (K) SIN_DATO : fila.clave();
+            esperado.merge(clave, fila.total(), Long::sum);
+        }
+        if (!esperado.equals(conteos(memoria))) {
+            diferencias.add(nombre);
+        }
+    }
+
+    private static <K> SortedMap<K, Long> conteos(Map<K, LongAdder> contadores) {
+        SortedMap<K, Long> copia = new TreeMap<>();
+        contadores.forEach((clave, contador) -> {
+            long total = contador.sum();
+            if (total != 0) {
+                copia.put(clave, total);
+            }
+        });
+        return copia;
+    }
+
+    private static NavigableMap<LocalDate, LongAdder> rango(NavigableMap<LocalDate, LongAdder> porDia, LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null) {
+            return porDia.subMap(desde, true, hasta, true);
+        }
+        if (desde != null) {
+            return porDia.tailMap(desde, true);
+        }
+        return hasta != null ? porDia.headMap(hasta, true) : porDia;
+    }
+
+    private record DatosResultado(String estado, String tipoExamen, String medico, LocalDateTime fechaExamen,
+                                  LocalDateTime fechaEmision) {
+    }
+
+    private record DatosCita(String especialidad, LocalDateTime fechaHora) {
+    }
+
+    // Contadores a los que aporta un resultado; minutos es -1 si falta alguna de las dos fechas
+    private record HuellaResultado(LongAdder estado, LongAdder tipoExamen, LongAdder medico, LongAdder dia, long minutos) {
+    }
+
+    private record HuellaCita(LongAdder especialidad, LongAdder dia) {
+    }
+
+    // Estado de una carga completa
+    private static final class Acumulado {
+
+        private final Huellas<HuellaResultado> resultados = new Huellas<>(this::sumar);
+        private final Huellas<HuellaCita> citas = new Huellas<>(this::sumar);
+        private final Map<String, LongAdder> porEstado = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porTipoExamen = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porMedico = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porEspecialidad = new ConcurrentHashMap<>();
+        private final NavigableMap<LocalDate, LongAdder> resultadosPorDia = new ConcurrentSkipListMap<>();
+        private final NavigableMap<LocalDate, LongAdder> citasPorDia = new ConcurrentSkipListMap<>();
+        private final LongAdder totalResultados = new LongAdder();
+        private final LongAdder totalCitas = new LongAdder();
+        private final LongAdder minutosRespuesta = new LongAdder();
+        private final LongAdder conRespuesta = new LongAdder();
+
+        void resultado(Long id, DatosResultado datos) {
+            HuellaResultado nueva = datos == null ? null : new HuellaResultado(
+                    contador(porEstado, datos.estado()),
+                    contador(porTipoExamen, datos.tipoExamen()),
+                    contador(porMedico, datos.medico()),
+                    datos.fechaExamen() == null ? null : contador(resultadosPorDia, datos.fechaExamen().toLocalDate()),
+                    datos.fechaExamen() == null || datos.fechaEmision() == null ? -1
+                            : Duration.between(datos.fechaExamen(), datos.fechaEmision()).toMinutes());
+            resultados.reemplazar(id, nueva);
+        }
+
+        void cita(Long id, DatosCita datos) {
+            HuellaCita nueva = datos == null ? null : new HuellaCita(
+                    contador(porEspecialidad, datos.especialidad()),
+                    datos.fechaHora() == null ? null : contador(citasPorDia, datos.fechaHora().toLocalDate()));
+            citas.reemplazar(id, nueva);
+        }
+
+        private void sumar(HuellaResultado huella, int signo) {
+            totalResultados.add(signo);
+            huella.estado().add(signo);
+            huella.tipoExamen().add(signo);
+            huella.medico().add(signo);
+            sumarSiExiste(huella.dia(), signo);
+            if (huella.minutos() >= 0) {
+                minutosRespuesta.add(signo * huella.minutos());
+                conRespuesta.add(signo);
+            }
+        }
+
+        private void sumar(HuellaCita huella, int signo) {
+            totalCitas.add(signo);
+            huella.especialidad().add(signo);
+            sumarSiExiste(huella.dia(), signo);
+        }
+
+        private static void sumarSiExiste(LongAdder contador, int signo) {
+            if (contador != null) {
+                contador.add(signo);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K> LongAdder contador(Map<K, LongAdder> contadores, K clave) {
+            return contadores.computeIfAbsent(Objects.requireNonNullElse(clave, (K) SIN_DATO), k -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.uniquindio.edu.back.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.model.dto.EventoCambioDTO;
+import com.uniquindio.edu.back.model.dto.EventoLoteDTO;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Feed de cambios (Server-Sent Events) de citas y resultados: cada escritura se publica después del commit
+// una sola vez, ya serializada, y se reparte a los suscriptores. Los últimos eventos quedan en un historial
+// circular para que un cliente que se reconecta con Last-Event-ID reciba solo lo que le faltó; si ya no están
+// (o el servidor se reinició) recibe "reinicio" y vuelve a cargar los listados.
+// Cada suscriptor tiene una cola acotada que un hilo virtual del ejecutor del feed vacía hacia la conexión:
+// quien escribe nunca espera a un cliente lento, y el que llena su cola se desconecta. El latido también
+// desconecta al que lleva más de "envio-timeout" en un mismo envío (conexión que no lee y no se cierra).
+// Las escrituras en lote llegan como un solo evento "resultados" con los ids (CambioLoteResultadosMedicos):
+// un lote de cientos de filas no llena las colas ni empuja el historial, y el cliente recarga el listado.
+@Component
+@Slf4j
+public class FeedCambios {
+
+    static final String EVENTO_CONECTADO = "conectado";
+    static final String EVENTO_REINICIO = "reinicio";
+    static final String EVENTO_LOTE_RESULTADOS = "resultados";
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int capacidadBuffer;
+    private final long timeoutMs;
+    private final long envioTimeoutNanos;
+
+    // Historial circular: el evento con secuencia s está en historial[s % longitud]
+    private final Evento[] historial;
+    private long ultimaSecuencia;
+    private final ReentrantLock candado = new ReentrantLock();
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private final LongAdder desconectadosPorLentitud = new LongAdder();
+
+    // Ejecutor propio de hilos virtuales (uno por envío): un cliente lento no ocupa los hilos de @Async
+    @Autowired
+    public FeedCambios(ObjectMapper objectMapper,
+                       @Value("${saludvital.feed.historial:1000}") int historial,
+                       @Value("${saludvital.feed.buffer:256}") int capacidadBuffer,
+                       @Value("${saludvital.feed.timeout:PT30M}") Duration timeout,
+                       @Value("${saludvital.feed.envio-timeout:PT10S}") Duration envioTimeout) {
+        this(objectMapper, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-", 0).factory()),
+                historial, capacidadBuffer, timeout, envioTimeout);
+    }
+
+    public FeedCambios(ObjectMapper objectMapper, Executor executor, int historial, int capacidadBuffer,
+                       Duration timeout, Duration envioTimeout) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.historial = new Evento[historial];
+        this.capacidadBuffer = capacidadBuffer;
+        this.timeoutMs = timeout.toMillis();
+        this.envioTimeoutNanos = envioTimeout.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCita(CambioCita cambio) {
+        publicar("cita", cambio.id(), new EventoCambioDTO(cambio.tipo().name(), cambio.id(), cambio.actual()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        if (cambio.enLote()) {
+            return;
+        }
+        publicar("resultado", cambio.id(), new EventoCambioDTO(cambio.tipo().name(), cambio.id(), cambio.actual()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarLoteResultados(CambioLoteResultadosMedicos cambio) {
+        if (!cambio.ids().isEmpty()) {
+            publicar(EVENTO_LOTE_RESULTADOS, null, new EventoLoteDTO(cambio.tipo().name(), cambio.ids()));
+        }
+    }
+
+    // shutdownNow: al apagar no se espera a envíos que pueden estar bloqueados en una conexión
+    @PreDestroy
+    public void detener() {
+        if (executor instanceof ExecutorService propio) {
+            propio.shutdownNow();
+        }
+    }
+
+    public SseEmitter suscribir(String ultimoEventoId) {
+        return suscribir(new SseEmitter(timeoutMs), ultimoEventoId);
+    }
+
+    // 📡 Registra el emisor y le envía lo pendiente desde "ultimoEventoId" (null en una conexión nueva).
+    // El reenvío y el registro ocurren bajo el mismo candado que la publicación: ningún evento se pierde ni se repite.
+    public SseEmitter suscribir(SseEmitter emisor, String ultimoEventoId) {
+        Suscriptor suscriptor = new Suscriptor(emisor);
+        emisor.onCompletion(suscriptor::descartar);
+        emisor.onTimeout(emisor::complete);
+        emisor.onError(e -> suscriptor.descartar());
+
+        candado.lock();
+        try {
+            List<Evento> pendientes = ultimoEventoId == null || ultimoEventoId.isBlank()
+                    ? List.of()
+                    : pendientesDesde(ultimoEventoId);
+            if (pendientes == null) {
+                suscriptor.encolar(new Evento(ultimaSecuencia, EVENTO_REINICIO, "{}"));
+            } else {
+                suscriptor.encolar(new Evento(ultimaSecuencia, EVENTO_CONECTADO, "{}"));
+                pendientes.forEach(suscriptor::encolar);
+            }
+            suscriptores.add(suscriptor);
+        } finally {
+            candado.unlock();
+        }
+        return emisor;
+    }
+
+    public int totalSuscriptores() {
+        return suscriptores.size();
+    }
+
+    public long totalDesconectadosPorLentitud() {
+        return desconectadosPorLentitud.sum();
+    }
+
+    // 💓 Comentario periódico: evita que proxies cierren la conexión inactiva y detecta clientes que ya se fueron
+    @Scheduled(fixedDelayString = "${saludvital.feed.latido:PT20S}")
+    public void latido() {
+        long ahora = System.nanoTime();
+        suscriptores.forEach(s -> {
+            if (s.enviandoHace(ahora) > envioTimeoutNanos) {
+                desconectadosPorLentitud.increment();
+                log.warn("Suscriptor del feed desconectado: un envío lleva más de {} ms", envioTimeoutNanos / 1_000_000);
+                s.cerrar();
+            } else {
+                s.encolar(Evento.LATIDO);
+            }
+        });
+    }
+
+    private void publicar(String coleccion, Long id, Object contenido) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(contenido);
+        } catch (JsonProcessingException ex) {
+            log.error("No se pudo serializar el cambio de {} {}", coleccion, id, ex);
+            return;
+        }
+        candado.lock();
+        try {
+            Evento evento = new Evento(++ultimaSecuencia, coleccion, json);
+            historial[(int) (evento.secuencia() % historial.length)] = evento;
+            suscriptores.forEach(s -> s.encolar(evento));
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // Eventos posteriores al id recibido, o null si no se puede continuar desde él
+    private List<Evento> pendientesDesde(String ultimoEventoId) {
+        int separador = ultimoEventoId.lastIndexOf('-');
+        if (separador < 0 || !ultimoEventoId.substring(0, separador).equals(arranque)) {
+            return null;
+        }
+        long visto;
+        try {
+            visto = Long.parseLong(ultimoEventoId.substring(separador + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        long faltantes = ultimaSecuencia - visto;
+        if (visto < 0 || faltantes < 0 || faltantes > historial.length || faltantes >= capacidadBuffer) {
+            return null;
+        }
+        List<Evento> pendientes = new ArrayList<>((int) faltantes);
+        for (long s = visto + 1; s <= ultimaSecuencia; s++) {
+            pendientes.add(historial[(int) (s % historial.length)]);
+        }
+        return pendientes;
+    }
+
+    private String idEvento(long secuencia) {
+        return arranque + "-" + secuencia;
+    }
+
+    // nombre null = latido (comentario SSE, sin id)
+    private record Evento(long secuencia, String nombre, String json) {
+        static final Evento LATIDO = new Evento(0, null, null);
+    }
+
+    private final class Suscriptor {
+
+        private final SseEmitter emisor;
+        private final BlockingQueue<Evento> cola = new ArrayBlockingQueue<>(capacidadBuffer);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso; 0 si no hay ninguno
+        private volatile long envioDesde;
+        private volatile boolean cerrado;
+
+        Suscriptor(SseEmitter emisor) {
+            this.emisor = emisor;
+        }
+
+        void encolar(Evento evento) {
+            if (cerrado) {
+                return;
+            }
+            if (!cola.offer(evento)) {
+                desconectadosPorLentitud.increment();
+                log.warn("Suscriptor del feed desconectado: {} eventos sin leer", cola.size());
+                cerrar();
+                return;
+            }
+            programarEnvio();
+        }
+
+        // Un solo hilo a la vez vacía la cola, así los eventos salen en orden
+        private void programarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                executor.execute(this::vaciar);
+            }
+        }
+
+        private void vaciar() {
+            try {
+                Evento evento;
+                while (!cerrado && (evento = cola.poll()) != null) {
+                    envioDesde = System.nanoTime();
+                    emisor.send(construir(evento));
+                    envioDesde = 0;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // El cliente cerró la conexión
+                cerrar();
+            } finally {
+                envioDesde = 0;
+                enviando.set(false);
+            }
+            if (!cerrado && !cola.isEmpty()) {
+                programarEnvio();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder construir(Evento evento) {
+            if (evento.nombre() == null) {
+                return SseEmitter.event().comment("latido");
+            }
+            return SseEmitter.event()
+                    .id(idEvento(evento.secuencia()))
+                    .name(evento.nombre())
+                    .data(evento.json(), MediaType.APPLICATION_JSON);
+        }
+
+        long enviandoHace(long ahora) {
+            long desde = envioDesde;
+            return desde == 0 ? 0 : ahora - desde;
+        }
+
+        // Completar el emisor puede esperar a un envío en curso: se hace fuera del hilo que publica.
+        // Un envío bloqueado termina cuando el servidor agota la escritura; mientras tanto solo ocupa un hilo virtual
+        void cerrar() {
+            if (!cerrado) {
+                descartar();
+                executor.execute(emisor::complete);
+            }
+        }
+
+        void descartar() {
+            cerrado = true;
+            suscriptores.remove(this);
+            cola.clear();
+        }
+    }
+}
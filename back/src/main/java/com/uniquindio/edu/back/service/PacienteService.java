@@ -0,0 +1,243 @@
+package com.uniquindio.edu.back.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uniquindio.edu.back.model.Paciente;
+import com.uniquindio.edu.back.model.dto.EntradaHistorialDTO;
+import com.uniquindio.edu.back.model.dto.PacienteDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.PaginaHistorialDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.repository.PacienteRepository;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.MezclaOrdenada;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class PacienteService {
+
+    private static final int TAMANO_LOTE_VINCULACION = 5000;
+    private static final LocalDateTime SIN_CURSOR = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // Orden del historial: más reciente primero; a igual fecha las citas antes que los resultados y luego
+    // por id descendente. Es el mismo orden en que cada consulta lee su índice.
+    private static final Comparator<EntradaHistorialDTO> ORDEN_HISTORIAL = Comparator
+            .comparing(EntradaHistorialDTO::fecha, Comparator.reverseOrder())
+            .thenComparingInt(e -> ordenTipo(e.tipo()))
+            .thenComparing(EntradaHistorialDTO::id, Comparator.reverseOrder());
+
+    private final PacienteRepository pacienteRepository;
+    private final CitaRepository citaRepository;
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaccionNueva;
+
+    public PacienteService(PacienteRepository pacienteRepository, CitaRepository citaRepository,
+                           ResultadoMedicoRepository resultadoMedicoRepository, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.pacienteRepository = pacienteRepository;
+        this.citaRepository = citaRepository;
+        this.resultadoMedicoRepository = resultadoMedicoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // El alta confirma por su cuenta: si otra petición creó el mismo paciente, el choque con la llave
+        // única no deja marcada para rollback la transacción de quien llamó
+        this.transaccionNueva = new TransactionTemplate(transactionManager);
+        this.transaccionNueva.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 🧑 Id del paciente con ese nombre (sin importar mayúsculas, tildes ni espacios); lo crea si no existe
+    public Long resolver(String nombre) {
+        String normalizado = TextoNormalizado.normalizar(nombre);
+        if (normalizado.isEmpty()) {
+            return null;
+        }
+        Optional<Long> existente = pacienteRepository.buscarIdPorNombreNormalizado(normalizado);
+        if (existente.isPresent()) {
+            return existente.get();
+        }
+        try {
+            return transaccionNueva.execute(estado ->
+                    pacienteRepository.saveAndFlush(new Paciente(nombre.trim(), normalizado)).getId());
+        } catch (DataIntegrityViolationException ex) {
+            // Lo creó otra petición entre la búsqueda y el INSERT
+            return pacienteRepository.buscarIdPorNombreNormalizado(normalizado).orElseThrow(() -> ex);
+        }
+    }
+
+    // 🧑 Ids de varios pacientes (nombre normalizado → id) en la transacción de quien llama: una consulta IN y
+    // un INSERT por lotes para los que faltan. Si otra transacción registra el mismo nombre a la vez, el INSERT
+    // falla con DuplicateKeyException y quien llama decide si reintenta.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, Long> resolverTodos(Map<String, String> nombresPorNormalizado) {
+        Map<String, Long> ids = new HashMap<>(nombresPorNormalizado.size() * 2);
+        pacienteRepository.findByNombreNormalizadoIn(nombresPorNormalizado.keySet())
+                .forEach(p -> ids.put(p.getNombreNormalizado(), p.getId()));
+
+        List<Object[]> nuevos = new ArrayList<>();
+        nombresPorNormalizado.forEach((normalizado, nombre) -> {
+            if (!ids.containsKey(normalizado)) {
+                nuevos.add(new Object[] {nombre.trim(), normalizado});
+            }
+        });
+        if (!nuevos.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO paciente (nombre, nombre_normalizado) VALUES (?, ?)", nuevos);
+            pacienteRepository.findByNombreNormalizadoIn(nuevos.stream().map(n -> (String) n[1]).toList())
+                    .forEach(p -> ids.put(p.getNombreNormalizado(), p.getId()));
+        }
+        return ids;
+    }
+
+    // 🔍 Búsqueda por nombre sobre el índice único del nombre normalizado
+    @Transactional(readOnly = true)
+    public Optional<PacienteDTO> buscarPorNombre(String nombre) {
+        return pacienteRepository.buscarDTOPorNombreNormalizado(TextoNormalizado.normalizar(nombre));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PacienteDTO> obtenerPaciente(Long id) {
+        return pacienteRepository.buscarDTOPorId(id);
+    }
+
+    // 📜 Historial del paciente (citas y resultados) del más reciente al más antiguo, por páginas. Cada tabla
+    // se lee con un cursor ya ordenado desde su índice (paciente_id, fecha DESC, id DESC) y los dos se mezclan
+    // tomando siempre la entrada más reciente; solo se leen las filas de la página más una.
+    @Transactional(readOnly = true)
+    public Optional<PaginaHistorialDTO> historial(Long pacienteId, String cursor, int tamano) {
+        if (!pacienteRepository.existsById(pacienteId)) {
+            return Optional.empty();
+        }
+        int limite = PaginaDTO.ajustarTamano(tamano);
+        CursorHistorial desde = cursor == null || cursor.isBlank()
+                ? new CursorHistorial(SIN_CURSOR, EntradaHistorialDTO.CITA, Long.MAX_VALUE)
+                : CursorHistorial.leer(cursor);
+
+        List<EntradaHistorialDTO> filas = new ArrayList<>(limite + 1);
+        try (Stream<EntradaHistorialDTO> citas = citaRepository.historialPaciente(pacienteId, desde.fecha(),
+                     desde.idPara(EntradaHistorialDTO.CITA), Limit.of(limite + 1));
+             Stream<EntradaHistorialDTO> resultados = resultadoMedicoRepository.historialPaciente(pacienteId,
+                     desde.fecha(), desde.idPara(EntradaHistorialDTO.RESULTADO), Limit.of(limite + 1))) {
+            Iterator<EntradaHistorialDTO> mezcla = MezclaOrdenada.mezclar(
+                    List.of(citas.iterator(), resultados.iterator()), ORDEN_HISTORIAL);
+            while (filas.size() <= limite && mezcla.hasNext()) {
+                filas.add(mezcla.next());
+            }
+        }
+
+        boolean hayMas = filas.size() > limite;
+        List<EntradaHistorialDTO> contenido = hayMas ? new ArrayList<>(filas.subList(0, limite)) : filas;
+        String siguiente = hayMas ? CursorHistorial.de(contenido.get(contenido.size() - 1)).escribir() : null;
+        return Optional.of(new PaginaHistorialDTO(contenido, siguiente, limite));
+    }
+
+    // Vincula con su paciente las filas que aún no lo tienen (las anteriores a la migración V4 y las que
+    // insertan los cargadores de datos por fuera de los servicios). Corre antes del calentamiento, así que
+    // la readiness espera a que termine.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void vincularExistentes() {
+        long inicio = System.currentTimeMillis();
+        Map<String, Long> porNombre = new HashMap<>();
+        int citas = vincular("cita", porNombre);
+        int resultados = vincular("resultado_medico", porNombre);
+        if (citas + resultados > 0) {
+            log.info("Pacientes vinculados: {} citas y {} resultados de {} pacientes en {} ms", citas, resultados,
+                    porNombre.size(), System.currentTimeMillis() - inicio);
+        }
+    }
+
+    // Recorre la tabla por id (keyset) en lotes; cada lote se actualiza con un solo batch por llave primaria
+    private int vincular(String tabla, Map<String, Long> porNombre) {
+        String seleccion = "SELECT id, paciente FROM " + tabla
+                + " WHERE paciente_id IS NULL AND id > ? ORDER BY id LIMIT " + TAMANO_LOTE_VINCULACION;
+        String actualizacion = "UPDATE " + tabla + " SET paciente_id = ? WHERE id = ? AND paciente_id IS NULL";
+        long cursor = Long.MIN_VALUE;
+        int vinculadas = 0;
+        List<FilaSinPaciente> lote;
+        do {
+            lote = jdbcTemplate.query(seleccion,
+                    (rs, n) -> new FilaSinPaciente(rs.getLong("id"), rs.getString("paciente")), cursor);
+            List<Object[]> cambios = new ArrayList<>(lote.size());
+            for (FilaSinPaciente fila : lote) {
+                String normalizado = TextoNormalizado.normalizar(fila.paciente());
+                if (!normalizado.isEmpty()) {
+                    Long pacienteId = porNombre.computeIfAbsent(normalizado, n -> resolver(fila.paciente()));
+                    cambios.add(new Object[] {pacienteId, fila.id()});
+                }
+                cursor = fila.id();
+            }
+            if (!cambios.isEmpty()) {
+                jdbcTemplate.batchUpdate(actualizacion, cambios);
+                vinculadas += cambios.size();
+            }
+        } while (lote.size() == TAMANO_LOTE_VINCULACION);
+        return vinculadas;
+    }
+
+    private static int ordenTipo(String tipo) {
+        return EntradaHistorialDTO.CITA.equals(tipo) ? 0 : 1;
+    }
+
+    private record FilaSinPaciente(long id, String paciente) {
+    }
+
+    // Posición en el historial: la última entrada entregada, como "fecha|tipo|id"
+    private record CursorHistorial(LocalDateTime fecha, String tipo, long id) {
+
+        static CursorHistorial de(EntradaHistorialDTO entrada) {
+            return new CursorHistorial(entrada.fecha(), entrada.tipo(), entrada.id());
+        }
+
+        static CursorHistorial leer(String texto) {
+            String[] partes = texto.split("\\|");
+            if (partes.length != 3 || !(EntradaHistorialDTO.CITA.equals(partes[1])
+                    || EntradaHistorialDTO.RESULTADO.equals(partes[1]))) {
+                throw new IllegalArgumentException("Cursor de historial no válido: " + texto);
+            }
+            try {
+                return new CursorHistorial(LocalDateTime.parse(partes[0]), partes[1], Long.parseLong(partes[2]));
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new IllegalArgumentException("Cursor de historial no válido: " + texto);
+            }
+        }
+
+        String escribir() {
+            return fecha + "|" + tipo + "|" + id;
+        }
+
+        // Límite de id para la consulta de una fuente: a la misma fecha del cursor entran las filas de su mismo
+        // tipo con id menor, todas las de un tipo que va después y ninguna de uno que va antes
+        long idPara(String fuente) {
+            int comparacion = Integer.compare(ordenTipo(fuente), ordenTipo(tipo));
+            if (comparacion == 0) {
+                return id;
+            }
+            return comparacion > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.uniquindio.edu.back.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Exportación completa de resultados para analítica: se recorre un cursor de solo avance sobre la proyección
+// al DTO (sin entidades administradas) y cada fila se escribe apenas llega, así la memoria no crece con las filas
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ResultadoMedicoExportacionService {
+
+    private static final String[] COLUMNAS_CSV = {"id", "paciente", "tipoExamen", "resultados", "medicoResponsable",
+            "fechaExamen", "fechaEmision", "descripcion", "observaciones", "estado"};
+
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Formato {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType tipo;
+        private final String extension;
+
+        Formato(MediaType tipo, String extension) {
+            this.tipo = tipo;
+            this.extension = extension;
+        }
+
+        public MediaType getTipo() {
+            return tipo;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Formato desde(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Formato de exportación no válido: " + valor
+                        + ". Valores permitidos: " + Arrays.toString(values()));
+            }
+        }
+    }
+
+    // 📤 Escribe todos los resultados en la salida; la transacción de solo lectura dura lo que dure la exportación
+    public long exportar(Formato formato, OutputStream salida) {
+        long inicio = System.currentTimeMillis();
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        Long filas = lectura.execute(estado -> {
+            try (Stream<ResultadoMedicoDTO> resultados = resultadoMedicoRepository.exportarTodos()) {
+                return formato == Formato.CSV ? escribirCsv(resultados, escritor) : escribirNdjson(resultados, escritor);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        log.info("Exportación {} de resultados médicos: {} filas en {} ms", formato, filas, System.currentTimeMillis() - inicio);
+        return filas == null ? 0 : filas;
+    }
+
+    private long escribirNdjson(Stream<ResultadoMedicoDTO> resultados, Writer escritor) throws IOException {
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(escritor);
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long filas = 0;
+        for (ResultadoMedicoDTO resultado : (Iterable<ResultadoMedicoDTO>) resultados::iterator) {
+            objectMapper.writeValue(generador, resultado);
+            generador.writeRaw('\n');
+            filas++;
+        }
+        generador.flush();
+        return filas;
+    }
+
+    private long escribirCsv(Stream<ResultadoMedicoDTO> resultados, Writer escritor) throws IOException {
+        escritor.write(String.join(",", COLUMNAS_CSV));
+        escritor.write('\n');
+        long filas = 0;
+        for (ResultadoMedicoDTO resultado : (Iterable<ResultadoMedicoDTO>) resultados::iterator) {
+            Object[] valores = {resultado.getId(), resultado.getPaciente(), resultado.getTipoExamen(), resultado.getResultados(),
+                    resultado.getMedicoResponsable(), resultado.getFechaExamen(), resultado.getFechaEmision(),
+                    resultado.getDescripcion(), resultado.getObservaciones(), resultado.getEstado()};
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                escribirCampoCsv(escritor, valores[i]);
+            }
+            escritor.write('\n');
+            filas++;
+        }
+        escritor.flush();
+        return filas;
+    }
+
+    // RFC 4180: entre comillas si el campo tiene coma, comillas o saltos de línea; las comillas se duplican
+    static void escribirCampoCsv(Writer escritor, Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        boolean citar = texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0;
+        if (!citar) {
+            escritor.write(texto);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(texto.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+}
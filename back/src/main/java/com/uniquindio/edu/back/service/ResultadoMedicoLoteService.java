@@ -0,0 +1,200 @@
+package com.uniquindio.edu.back.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.ItemLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.TextoNormalizado;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Carga masiva de resultados enviados por los laboratorios
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ResultadoMedicoLoteService {
+
+    // Registros por transacción; coincide con hibernate.jdbc.batch_size
+    static final int TAMANO_TRANSACCION = 500;
+
+    private final ResultadoMedicoRepository resultadoMedicoRepository;
+    private final ResultadoMedicoMapper resultadoMedicoMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publicadorEventos;
+    private final PacienteService pacienteService;
+
+    // 📦 Lote recibido como arreglo JSON
+    public ResultadoLoteDTO crearEnLote(List<ResultadoMedicoDTO> resultados) {
+        return procesar(resultados.iterator());
+    }
+
+    // 📦 Lote recibido como NDJSON (un resultado por línea); se lee a medida que se procesa
+    public ResultadoLoteDTO crearEnLoteNdjson(InputStream cuerpo) throws IOException {
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8))) {
+            Iterator<ResultadoMedicoDTO> lineas = lector.lines()
+                    .filter(linea -> !linea.isBlank())
+                    .map(this::leerLinea)
+                    .iterator();
+            return procesar(lineas);
+        }
+    }
+
+    // Una línea que no es JSON válido se representa con null y se reporta como error de su posición
+    private ResultadoMedicoDTO leerLinea(String linea) {
+        try {
+            return objectMapper.readValue(linea, ResultadoMedicoDTO.class);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private ResultadoLoteDTO procesar(Iterator<ResultadoMedicoDTO> registros) {
+        long inicio = System.currentTimeMillis();
+        List<ItemLoteDTO> items = new ArrayList<>();
+        List<ResultadoMedico> pendientes = new ArrayList<>(TAMANO_TRANSACCION);
+        List<Integer> posiciones = new ArrayList<>(TAMANO_TRANSACCION);
+        // Pacientes ya resueltos en grupos anteriores (nombre normalizado → id)
+        Map<String, Long> pacientes = new HashMap<>();
+
+        int posicion = 0;
+        while (registros.hasNext()) {
+            ResultadoMedicoDTO dto = registros.next();
+            List<String> errores = validar(dto);
+            if (errores.isEmpty()) {
+                ResultadoMedicoService.prepararParaCreacion(dto);
+                pendientes.add(resultadoMedicoMapper.toEntity(dto));
+                posiciones.add(posicion);
+                items.add(null);
+            } else {
+                items.add(ItemLoteDTO.fallido(posicion, errores));
+            }
+            posicion++;
+
+            if (pendientes.size() == TAMANO_TRANSACCION) {
+                guardar(pendientes, posiciones, items, pacientes);
+            }
+        }
+        guardar(pendientes, posiciones, items, pacientes);
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(items, System.currentTimeMillis() - inicio);
+        log.info("Lote de resultados médicos procesado: {} recibidos, {} creados, {} con error en {} ms",
+                resultado.getRecibidos(), resultado.getCreados(), resultado.getFallidos(), resultado.getDuracionMs());
+        return resultado;
+    }
+
+    private List<String> validar(ResultadoMedicoDTO dto) {
+        if (dto == null) {
+            return List.of("El registro no es un JSON válido");
+        }
+        Set<ConstraintViolation<ResultadoMedicoDTO>> violaciones = validator.validate(dto);
+        List<String> errores = new ArrayList<>(violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .toList());
+        try {
+            EstadoResultado.desde(dto.getEstado());
+        } catch (IllegalArgumentException ex) {
+            errores.add("estado: " + ex.getMessage());
+        }
+        return errores;
+    }
+
+    // Cada grupo va en su propia transacción; si falla, solo se marcan como error sus registros
+    private void guardar(List<ResultadoMedico> pendientes, List<Integer> posiciones, List<ItemLoteDTO> items,
+                         Map<String, Long> pacientes) {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        try {
+            GrupoGuardado grupo;
+            try {
+                grupo = transactionTemplate.execute(estado -> escribir(pendientes, pacientes));
+            } catch (DuplicateKeyException ex) {
+                // Otra transacción registró a la vez uno de los pacientes nuevos: el reintento ya lo encuentra
+                log.debug("Paciente registrado en paralelo, se reintenta el grupo: {}", ex.getMessage());
+                grupo = transactionTemplate.execute(estado -> escribir(pendientes, pacientes));
+            }
+            // Los ids nuevos se recuerdan solo cuando el grupo confirmó
+            pacientes.putAll(grupo.pacientes());
+            List<ResultadoMedicoDTO> creados = grupo.creados();
+            for (int i = 0; i < creados.size(); i++) {
+                ResultadoMedicoDTO creado = creados.get(i);
+                items.set(posiciones.get(i), ItemLoteDTO.creado(posiciones.get(i), creado.getId()));
+                publicadorEventos.publishEvent(new CambioResultadoMedico(TipoCambio.CREADO, creado.getId(), creado, true));
+            }
+            publicadorEventos.publishEvent(new CambioLoteResultadosMedicos(TipoCambio.CREADO,
+                    creados.stream().map(ResultadoMedicoDTO::getId).toList()));
+        } catch (RuntimeException ex) {
+            log.error("❌ Error al guardar un grupo de {} resultados médicos: {}", pendientes.size(), ex.getMessage());
+            for (Integer p : posiciones) {
+                items.set(p, ItemLoteDTO.fallido(p, List.of("Error al guardar: " + ex.getMessage())));
+            }
+        } finally {
+            pendientes.clear();
+            posiciones.clear();
+        }
+    }
+
+    // Resuelve los pacientes del grupo de una vez (PacienteService.resolverTodos) y escribe las filas,
+    // todo en la transacción del grupo
+    private GrupoGuardado escribir(List<ResultadoMedico> pendientes, Map<String, Long> conocidos) {
+        List<String> normalizados = pendientes.stream().map(r -> TextoNormalizado.normalizar(r.getPaciente())).toList();
+        Map<String, String> porResolver = new HashMap<>();
+        for (int i = 0; i < pendientes.size(); i++) {
+            String normalizado = normalizados.get(i);
+            if (!normalizado.isEmpty() && !conocidos.containsKey(normalizado)) {
+                porResolver.putIfAbsent(normalizado, pendientes.get(i).getPaciente());
+            }
+        }
+        Map<String, Long> nuevos = porResolver.isEmpty() ? Map.of() : pacienteService.resolverTodos(porResolver);
+        for (int i = 0; i < pendientes.size(); i++) {
+            String normalizado = normalizados.get(i);
+            pendientes.get(i).setPacienteId(normalizado.isEmpty() ? null
+                    : conocidos.getOrDefault(normalizado, nuevos.get(normalizado)));
+        }
+
+        List<ResultadoMedicoDTO> creados = resultadoMedicoRepository.saveAll(pendientes)
+                .stream()
+                .map(resultadoMedicoMapper::toDTO)
+                .toList();
+        // Libera las entidades ya escritas para que el contexto no crezca con el lote
+        entityManager.flush();
+        entityManager.clear();
+        return new GrupoGuardado(creados, nuevos);
+    }
+
+    private record GrupoGuardado(List<ResultadoMedicoDTO> creados, Map<String, Long> pacientes) {
+    }
+}
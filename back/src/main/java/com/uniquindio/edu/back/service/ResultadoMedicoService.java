@@ -1,16 +1,46 @@
 package com.uniquindio.edu.back.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+import com.uniquindio.edu.back.config.CacheConfig;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.exception.TransicionEstadoInvalidaException;
 import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.EstadoResultado;
 import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.EntradaPendienteDTO;
+import com.uniquindio.edu.back.model.dto.EstadoActualDTO;
+import com.uniquindio.edu.back.model.dto.FiltroResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ItemCambioEstadoDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoCambioEstadoLoteDTO;
 import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+import com.uniquindio.edu.back.repository.EspecificacionesResultadoMedico;
 import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.util.OrdenConsulta;
+import com.uniquindio.edu.back.util.TextoNormalizado;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,35 +50,34 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ResultadoMedicoService {
 
+    private static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+    static final int TAMANO_MAXIMO_LOTE_ESTADO = 1000;
+    private static final Set<String> CAMPOS_ORDEN =
+            Set.of("id", "paciente", "tipoExamen", "fechaExamen", "fechaEmision", "estado");
+
     private final ResultadoMedicoRepository resultadoMedicoRepository;
     private final ResultadoMedicoMapper resultadoMedicoMapper;
+    private final IndiceResultadosMedicos indiceResultadosMedicos;
+    private final ColaResultadosPendientes colaResultadosPendientes;
+    private final ApplicationEventPublisher publicadorEventos;
+    private final PacienteService pacienteService;
 
     // 🟢 Crear un nuevo resultado médico
+    @Transactional
     public ResultadoMedicoDTO crearResultadoMedico(ResultadoMedicoDTO dto) {
-        log.info("Creando nuevo resultado médico para paciente: {}", dto.getPaciente());
+        log.debug("Creando nuevo resultado médico");
 
         try {
-            // 🔹 Si la fecha de emisión viene futura, ajustarla a la fecha actual
-            if (dto.getFechaEmision() != null && dto.getFechaEmision().isAfter(LocalDateTime.now())) {
-                log.warn("⚠️ Fecha de emisión futura detectada al crear, ajustando a la fecha actual");
-                dto.setFechaEmision(LocalDateTime.now());
-            }
-
-            // 🔹 Si no viene definida, usar la fecha actual
-            if (dto.getFechaEmision() == null) {
-                dto.setFechaEmision(LocalDateTime.now());
-            }
-
-            // 🔹 Establecer estado por defecto
-            if (dto.getEstado() == null || dto.getEstado().isEmpty()) {
-                dto.setEstado("PENDIENTE");
-            }
+            prepararParaCreacion(dto);
 
             ResultadoMedico resultado = resultadoMedicoMapper.toEntity(dto);
+            resultado.setPacienteId(pacienteService.resolver(dto.getPaciente()));
             ResultadoMedico guardado = resultadoMedicoRepository.save(resultado);
 
-            log.info("Resultado médico creado exitosamente con ID: {}", guardado.getId());
-            return resultadoMedicoMapper.toDTO(guardado);
+            log.debug("Resultado médico creado con ID: {}", guardado.getId());
+            ResultadoMedicoDTO creado = resultadoMedicoMapper.toDTO(guardado);
+            publicadorEventos.publishEvent(new CambioResultadoMedico(TipoCambio.CREADO, guardado.getId(), creado));
+            return creado;
 
         } catch (Exception ex) {
             log.error("❌ Error al crear resultado médico: {}", ex.getMessage(), ex);
@@ -56,30 +85,72 @@ public class ResultadoMedicoService {
         }
     }
 
+    // 🔹 Ajustes comunes al crear (individual o en lote): fecha de emisión y estado por defecto
+    static void prepararParaCreacion(ResultadoMedicoDTO dto) {
+        // 🔹 Si la fecha de emisión viene futura, ajustarla a la fecha actual
+        if (dto.getFechaEmision() != null && dto.getFechaEmision().isAfter(LocalDateTime.now())) {
+            log.warn("⚠️ Fecha de emisión futura detectada al crear, ajustando a la fecha actual");
+            dto.setFechaEmision(LocalDateTime.now());
+        }
+
+        // 🔹 Si no viene definida, usar la fecha actual
+        if (dto.getFechaEmision() == null) {
+            dto.setFechaEmision(LocalDateTime.now());
+        }
+
+        // 🔹 Establecer estado por defecto
+        if (dto.getEstado() == null || dto.getEstado().isEmpty()) {
+            dto.setEstado("PENDIENTE");
+        }
+    }
+
     // 🔵 Listar todos los resultados médicos
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> listarResultadosMedicos() {
-        return resultadoMedicoRepository.findAll()
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.listarDTO();
+    }
+
+    // 🔵 Listar resultados médicos por páginas a partir del último id recibido
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResultadoMedicoDTO> listarResultadosPaginados(Long cursor, int tamano) {
+        int limite = PaginaDTO.ajustarTamano(tamano);
+        List<ResultadoMedicoDTO> filas = resultadoMedicoRepository
+                .listarDTODesde(cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.desdeFilas(filas, limite, ResultadoMedicoDTO::getId);
+    }
+
+    // 🔵 Resumen para vistas de lista: sin resultados ni observaciones, que son los campos pesados
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResumenResultadoMedicoDTO> listarResumenPaginado(Long cursor, int tamano) {
+        int limite = PaginaDTO.ajustarTamano(tamano);
+        List<ResumenResultadoMedicoDTO> filas = resultadoMedicoRepository
+                .listarResumenDesde(cursor == null ? 0L : cursor, Limit.of(limite + 1));
+        return PaginaDTO.desdeFilas(filas, limite, ResumenResultadoMedicoDTO::id);
+    }
+
+    // 🟡 Versión de un resultado sin leer el registro completo (GET condicional)
+    @Transactional(readOnly = true)
+    public Optional<VersionRecursoDTO> obtenerVersion(Long id) {
+        return resultadoMedicoRepository.buscarVersion(id);
     }
 
     // 🟡 Buscar resultado médico por ID
+    @Cacheable(cacheNames = CacheConfig.RESULTADOS_MEDICOS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<ResultadoMedicoDTO> obtenerResultadoMedico(Long id) {
-        return resultadoMedicoRepository.findById(id)
-                .map(resultadoMedicoMapper::toDTO);
+        return resultadoMedicoRepository.buscarDTOPorId(id);
     }
 
     // 🟠 Actualizar un resultado médico existente
+    @CacheEvict(cacheNames = CacheConfig.RESULTADOS_MEDICOS, key = "#id")
+    @Transactional
     public ResultadoMedicoDTO actualizarResultadoMedico(Long id, ResultadoMedicoDTO dto) {
         ResultadoMedico resultado = resultadoMedicoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Resultado médico no encontrado con id: " + id));
 
         try {
-            log.info("Intentando actualizar resultado médico con ID: {}", id);
-            log.info("Datos recibidos -> Paciente: {}, TipoExamen: {}, Resultados: {}, Médico: {}, FechaExamen: {}, FechaEmision: {}, Observaciones: {}, Estado: {}",
-                    dto.getPaciente(), dto.getTipoExamen(), dto.getResultados(), dto.getMedicoResponsable(),
-                    dto.getFechaExamen(), dto.getFechaEmision(), dto.getObservaciones(), dto.getEstado());
+            // Solo el id: el contenido clínico del resultado no se escribe en los logs
+            log.debug("Actualizando resultado médico con ID: {}", id);
 
             // 🔹 Validar y corregir fechas antes del commit
             if (dto.getFechaExamen() != null && dto.getFechaExamen().isAfter(LocalDateTime.now())) {
@@ -94,19 +165,25 @@ public class ResultadoMedicoService {
 
             // Aplicar cambios
             resultado.setPaciente(dto.getPaciente());
+            resultado.setPacienteId(pacienteService.resolver(dto.getPaciente()));
             resultado.setTipoExamen(dto.getTipoExamen());
             resultado.setResultados(dto.getResultados());
             resultado.setMedicoResponsable(dto.getMedicoResponsable());
             resultado.setFechaExamen(dto.getFechaExamen());
             resultado.setFechaEmision(dto.getFechaEmision());
             resultado.setObservaciones(dto.getObservaciones());
-            resultado.setEstado(dto.getEstado());
+            resultado.setEstado(EstadoResultado.desde(dto.getEstado()));
 
             ResultadoMedico actualizado = resultadoMedicoRepository.save(resultado);
-            log.info("Resultado médico actualizado exitosamente con ID: {}", actualizado.getId());
+            log.debug("Resultado médico actualizado con ID: {}", actualizado.getId());
 
-            return resultadoMedicoMapper.toDTO(actualizado);
+            ResultadoMedicoDTO actualizadoDTO = resultadoMedicoMapper.toDTO(actualizado);
+            publicadorEventos.publishEvent(new CambioResultadoMedico(TipoCambio.ACTUALIZADO, id, actualizadoDTO));
+            return actualizadoDTO;
 
+        } catch (IllegalArgumentException | OptimisticLockingFailureException ex) {
+            // Estado no válido (400) o modificación concurrente (409): se propagan tal cual
+            throw ex;
         } catch (Exception ex) {
             log.error("❌ Error al actualizar resultado médico: {}", ex.getMessage(), ex);
             throw new RuntimeException("Error interno al intentar actualizar el resultado médico: " + ex.getMessage(), ex);
@@ -114,80 +191,203 @@ public class ResultadoMedicoService {
     }
 
     // 🔴 Eliminar un resultado médico
+    @CacheEvict(cacheNames = CacheConfig.RESULTADOS_MEDICOS, key = "#id")
+    @Transactional
     public boolean eliminarResultadoMedico(Long id) {
         if (!resultadoMedicoRepository.existsById(id)) {
             return false;
         }
         resultadoMedicoRepository.deleteById(id);
+        publicadorEventos.publishEvent(new CambioResultadoMedico(TipoCambio.ELIMINADO, id, null));
         return true;
     }
 
-    // 🔍 Buscar resultados por paciente
+    // 🔎 Búsqueda de texto libre sobre el índice invertido, ordenada por relevancia
+    @Transactional(readOnly = true)
+    public List<ResultadoMedicoDTO> buscarTextoLibre(String consulta, int limite) {
+        List<Long> ids = indiceResultadosMedicos.buscar(consulta, Math.min(Math.max(limite, 1), LIMITE_BUSQUEDA_MAXIMO));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return enOrden(ids, resultadoMedicoRepository.buscarDTOPorIds(ids));
+    }
+
+    // 🔍 Filtro combinado: cualquier criterio, orden y tamaño de página en una sola consulta
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResultadoMedicoDTO> filtrarResultados(FiltroResultadoMedicoDTO filtro) {
+        PageRequest pagina = PageRequest.of(Math.max(filtro.getPagina(), 0), PaginaDTO.ajustarTamano(filtro.getTamano()),
+                OrdenConsulta.construir(filtro.getOrden(), filtro.getDireccion(), CAMPOS_ORDEN));
+        return PaginaDTO.desdeSlice(resultadoMedicoRepository
+                .findBy(EspecificacionesResultadoMedico.desdeFiltro(filtro), consulta -> consulta.slice(pagina))
+                .map(resultadoMedicoMapper::toDTO));
+    }
+
+    // 🔍 Buscar resultados por el inicio de cualquier palabra del nombre del paciente, sin importar mayúsculas
+    // ni tildes ("perez" → "Juan Pérez", "juan p" → "Juan Pérez")
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarPorPaciente(String paciente) {
-        return resultadoMedicoRepository.findByPacienteContainingIgnoreCase(paciente)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.buscarDTOPorPalabraPaciente(TextoNormalizado.patronPrefijo(paciente));
     }
 
     // 🔍 Buscar resultados por tipo de examen
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarPorTipoExamen(String tipoExamen) {
-        return resultadoMedicoRepository.findByTipoExamenContainingIgnoreCase(tipoExamen)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.buscarDTOPorTipoExamen(TextoNormalizado.patronContiene(tipoExamen));
     }
 
-    // 🔍 Buscar resultados por médico responsable
+    // 🔍 Buscar resultados por el inicio de cualquier palabra del nombre del médico, sin importar mayúsculas ni tildes
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarPorMedicoResponsable(String medicoResponsable) {
-        return resultadoMedicoRepository.findByMedicoResponsableContainingIgnoreCase(medicoResponsable)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.buscarDTOPorPalabraMedico(TextoNormalizado.patronPrefijo(medicoResponsable));
     }
 
     // 🔍 Buscar resultados por estado
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarPorEstado(String estado) {
-        return resultadoMedicoRepository.findByEstado(estado)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.buscarDTOPorEstado(EstadoResultado.desde(estado));
     }
 
     // 🔍 Buscar resultados por rango de fechas
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarPorRangoFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        return resultadoMedicoRepository.findByFechaExamenBetween(fechaInicio, fechaFin)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        return resultadoMedicoRepository.buscarDTOPorRangoFechas(fechaInicio, fechaFin);
     }
 
-    // 🕓 Buscar resultados pendientes
+    // 🕓 Buscar resultados pendientes (servidos desde la cola en memoria, del más antiguo al más reciente)
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarResultadosPendientes() {
-        return resultadoMedicoRepository.findResultadosPendientes()
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
-                .collect(Collectors.toList());
+        List<Long> ids = colaResultadosPendientes.siguientes(null, colaResultadosPendientes.tamano());
+        List<ResultadoMedicoDTO> pendientes = new ArrayList<>(ids.size());
+        for (int desde = 0; desde < ids.size(); desde += PaginaDTO.TAMANO_MAXIMO) {
+            List<Long> tramo = ids.subList(desde, Math.min(desde + PaginaDTO.TAMANO_MAXIMO, ids.size()));
+            pendientes.addAll(enOrden(tramo, resultadoMedicoRepository.buscarDTOPorIds(tramo)));
+        }
+        return pendientes;
+    }
+
+    // 🕓 Lo mismo por páginas: el cursor es el último id recibido
+    @Transactional(readOnly = true)
+    public PaginaDTO<ResultadoMedicoDTO> buscarResultadosPendientesPaginados(Long cursor, int tamano) {
+        int limite = PaginaDTO.ajustarTamano(tamano);
+        EntradaPendienteDTO desde = null;
+        if (cursor != null) {
+            // Si el cursor ya no está pendiente se ubica por su fecha de emisión
+            desde = colaResultadosPendientes.entrada(cursor)
+                    .or(() -> resultadoMedicoRepository.buscarDTOPorId(cursor)
+                            .map(r -> new EntradaPendienteDTO(r.getId(),
+                                    r.getFechaEmision() == null ? LocalDateTime.MIN : r.getFechaEmision())))
+                    .orElse(null);
+        }
+
+        List<Long> ids = colaResultadosPendientes.siguientes(desde, limite + 1);
+        List<ResultadoMedicoDTO> filas = ids.isEmpty() ? List.of() : enOrden(ids, resultadoMedicoRepository.buscarDTOPorIds(ids));
+        return PaginaDTO.desdeFilas(filas, limite, ResultadoMedicoDTO::getId);
     }
 
     // 🕓 Buscar resultados recientes
+    @Transactional(readOnly = true)
     public List<ResultadoMedicoDTO> buscarResultadosRecientes(LocalDateTime fechaInicio) {
-        return resultadoMedicoRepository.findResultadosRecientes(fechaInicio)
-                .stream()
-                .map(resultadoMedicoMapper::toDTO)
+        return resultadoMedicoRepository.buscarDTORecientes(fechaInicio);
+    }
+
+    // Reordena las filas según la lista de ids (IN no garantiza orden); los ids ya borrados se omiten
+    private static List<ResultadoMedicoDTO> enOrden(List<Long> ids, List<ResultadoMedicoDTO> filas) {
+        Map<Long, ResultadoMedicoDTO> porId = filas.stream()
+                .collect(Collectors.toMap(ResultadoMedicoDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    // 🟣 Cambiar estado de un resultado médico
+    // 🟣 Cambiar estado de un resultado médico: un solo UPDATE condicionado al estado anterior del flujo
+    @CacheEvict(cacheNames = CacheConfig.RESULTADOS_MEDICOS, key = "#id")
+    @Transactional
     public ResultadoMedicoDTO cambiarEstado(Long id, String nuevoEstado) {
-        ResultadoMedico resultado = resultadoMedicoRepository.findById(id)
+        EstadoResultado destino = destinoValido(nuevoEstado);
+
+        int filas = resultadoMedicoRepository.cambiarEstadoSi(List.of(id), destino.anterior(), destino, LocalDateTime.now());
+        if (filas == 0) {
+            // No se aplicó: o no existe o está en otro estado (otro revisor se adelantó)
+            EstadoActualDTO actual = resultadoMedicoRepository.buscarEstados(List.of(id)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Resultado médico no encontrado con id: " + id));
+            throw new TransicionEstadoInvalidaException(id, actual.estado(), destino);
+        }
+
+        log.debug("Estado del resultado médico {} cambiado a: {}", id, destino);
+        ResultadoMedicoDTO actualizadoDTO = resultadoMedicoRepository.buscarDTOPorId(id)
                 .orElseThrow(() -> new RuntimeException("Resultado médico no encontrado con id: " + id));
+        publicadorEventos.publishEvent(new CambioResultadoMedico(TipoCambio.ESTADO_CAMBIADO, id, actualizadoDTO));
+        return actualizadoDTO;
+    }
+
+    // 🟣 Cambio de estado en lote: bloquea las filas, aplica un único UPDATE a las que cumplen la
+    // transición y reporta el resultado de cada id. El número de sentencias no depende del tamaño del lote.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.RESULTADOS_MEDICOS, allEntries = true)
+    public ResultadoCambioEstadoLoteDTO cambiarEstadoEnLote(List<Long> ids, String nuevoEstado) {
+        EstadoResultado destino = destinoValido(nuevoEstado);
+        List<Long> unicos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (unicos.size() > TAMANO_MAXIMO_LOTE_ESTADO) {
+            throw new IllegalArgumentException("El lote admite como máximo " + TAMANO_MAXIMO_LOTE_ESTADO + " ids");
+        }
+
+        Map<Long, EstadoResultado> actuales = resultadoMedicoRepository.bloquearEstados(unicos).stream()
+                .collect(Collectors.toMap(EstadoActualDTO::id, EstadoActualDTO::estado));
+        List<Long> aplicables = unicos.stream()
+                .filter(id -> actuales.get(id) == destino.anterior())
+                .toList();
+        if (!aplicables.isEmpty()) {
+            int filas = resultadoMedicoRepository.cambiarEstadoSi(aplicables, destino.anterior(), destino, LocalDateTime.now());
+            if (filas != aplicables.size()) {
+                // Con las filas bloqueadas no debería pasar; si pasa, se releen para no reportar ni publicar
+                // como cambiadas las que el UPDATE no tocó
+                log.warn("Cambio de estado en lote a {}: se esperaban {} filas y se actualizaron {}",
+                        destino, aplicables.size(), filas);
+                Map<Long, EstadoResultado> despues = resultadoMedicoRepository.buscarEstados(aplicables).stream()
+                        .collect(Collectors.toMap(EstadoActualDTO::id, EstadoActualDTO::estado));
+                for (Long id : aplicables) {
+                    if (despues.get(id) != destino) {
+                        actuales.compute(id, (clave, anterior) -> despues.get(id));
+                    }
+                }
+                aplicables = aplicables.stream().filter(id -> despues.get(id) == destino).toList();
+            }
+            // Los eventos se entregan a la cola y al índice después del commit
+            resultadoMedicoRepository.buscarDTOPorIds(aplicables).forEach(dto -> publicadorEventos.publishEvent(
+                    new CambioResultadoMedico(TipoCambio.ESTADO_CAMBIADO, dto.getId(), dto, true)));
+            publicadorEventos.publishEvent(new CambioLoteResultadosMedicos(TipoCambio.ESTADO_CAMBIADO, aplicables));
+        }
 
-        resultado.setEstado(nuevoEstado);
-        ResultadoMedico actualizado = resultadoMedicoRepository.save(resultado);
+        List<ItemCambioEstadoDTO> items = unicos.stream().map(id -> {
+            EstadoResultado actual = actuales.get(id);
+            if (actual == null) {
+                return new ItemCambioEstadoDTO(id, false, null, "Resultado médico no encontrado");
+            }
+            if (actual != destino.anterior()) {
+                return new ItemCambioEstadoDTO(id, false, actual.name(),
+                        "No se puede pasar de " + actual + " a " + destino);
+            }
+            return new ItemCambioEstadoDTO(id, true, actual.name(), null);
+        }).toList();
 
-        log.info("Estado del resultado médico {} cambiado a: {}", id, nuevoEstado);
-        return resultadoMedicoMapper.toDTO(actualizado);
+        ResultadoCambioEstadoLoteDTO resultado = new ResultadoCambioEstadoLoteDTO(destino.name(), items);
+        log.info("Cambio de estado en lote a {}: {} recibidos, {} cambiados, {} rechazados",
+                destino, resultado.getRecibidos(), resultado.getCambiados(), resultado.getFallidos());
+        return resultado;
+    }
+
+    // El destino debe existir en el flujo y tener un estado previo (a PENDIENTE no se vuelve)
+    private static EstadoResultado destinoValido(String nuevoEstado) {
+        EstadoResultado destino = EstadoResultado.desde(nuevoEstado);
+        if (destino == null) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+        if (destino.anterior() == null) {
+            throw new IllegalArgumentException("No se permite cambiar un resultado a " + destino);
+        }
+        return destino;
     }
 }
 
@@ -0,0 +1,58 @@
+package com.uniquindio.edu.back.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
+
+// Contador de cambios por colección: es el ETag de los listados, así un sondeo sin cambios
+// se responde 304 sin consultar la base. Se incrementa después del commit, de modo que un
+// cliente nunca recibe 304 con datos viejos; el instante de arranque evita repetir etiquetas
+// tras un reinicio.
+// El ETag de un recurso suelto usa el mismo prefijo: la base en memoria se vuelve a generar al arrancar y
+// una fila nueva puede tener el mismo id y la misma versión que la que el cliente guardó.
+// La búsqueda de texto libre lee el índice, que se actualiza después (asíncrono): su etiqueta suma las
+// actualizaciones ya aplicadas al índice, así cambia otra vez cuando el índice alcanza a la tabla.
+@Component
+public class VersionColecciones {
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong citas = new AtomicLong();
+    private final AtomicLong resultados = new AtomicLong();
+    private final AtomicLong indexados = new AtomicLong();
+
+    public String etiquetaCitas() {
+        return arranque + "-" + citas.get();
+    }
+
+    public String etiquetaResultados() {
+        return arranque + "-" + resultados.get();
+    }
+
+    public String etiquetaBusquedaResultados() {
+        return arranque + "-" + resultados.get() + "-" + indexados.get();
+    }
+
+    // Lo llama IndiceResultadosMedicos cada vez que termina de aplicar cambios al índice
+    public void alIndexarResultados() {
+        indexados.incrementAndGet();
+    }
+
+    public String etiqueta(VersionRecursoDTO recurso) {
+        return arranque + "-" + recurso.version();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCita(CambioCita cambio) {
+        citas.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarResultado(CambioResultadoMedico cambio) {
+        resultados.incrementAndGet();
+    }
+}
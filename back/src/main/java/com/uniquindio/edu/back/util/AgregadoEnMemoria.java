@@ -0,0 +1,126 @@
+package com.uniquindio.edu.back.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.Limit;
+
+// Agregado que se carga completo desde la base y después lo mantienen los eventos de escritura
+// (estadísticas del tablero, autocompletado). Una sola reconstrucción a la vez; los cambios que llegan
+// mientras se carga se guardan y se repiten sobre el agregado nuevo antes de publicarlo.
+// Aplicar un cambio (encolarlo si hay carga y sumarlo al actual) y publicar el agregado nuevo se excluyen con
+// "intercambio": ningún cambio cae entre el vaciado de la cola y el reemplazo del agregado. Los cambios entre sí
+// no se esperan (lectura) y la carga, que es lo lento, ocurre fuera de ese candado.
+public final class AgregadoEnMemoria<A> {
+
+    public static final int TAMANO_PAGINA_CARGA = 5000;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final ReentrantReadWriteLock intercambio = new ReentrantReadWriteLock();
+    private final Queue<Consumer<A>> cambiosDuranteCarga = new ConcurrentLinkedQueue<>();
+    private boolean cargando;
+    private volatile A actual;
+
+    public AgregadoEnMemoria(A inicial) {
+        this.actual = inicial;
+    }
+
+    public A actual() {
+        return actual;
+    }
+
+    // Repetir un cambio no cuenta dos veces si reemplaza la huella de su id (ver Huellas)
+    public void aplicar(Consumer<A> cambio) {
+        intercambio.readLock().lock();
+        try {
+            if (cargando) {
+                cambiosDuranteCarga.add(cambio);
+            }
+            cambio.accept(actual);
+        } finally {
+            intercambio.readLock().unlock();
+        }
+    }
+
+    // 🔄 Crea un agregado vacío, lo llena con "cargar" y lo publica en lugar del actual
+    public A reconstruir(Supplier<A> vacio, Consumer<A> cargar) {
+        candado.lock();
+        try {
+            intercambiar(() -> cargando = true);
+            A nuevo = vacio.get();
+            cargar.accept(nuevo);
+            intercambiar(() -> {
+                Consumer<A> pendiente;
+                while ((pendiente = cambiosDuranteCarga.poll()) != null) {
+                    pendiente.accept(nuevo);
+                }
+                actual = nuevo;
+            });
+            return nuevo;
+        } finally {
+            intercambiar(() -> {
+                cargando = false;
+                cambiosDuranteCarga.clear();
+            });
+            candado.unlock();
+        }
+    }
+
+    private void intercambiar(Runnable paso) {
+        intercambio.writeLock().lock();
+        try {
+            paso.run();
+        } finally {
+            intercambio.writeLock().unlock();
+        }
+    }
+
+    // Recorre una tabla por páginas de la llave primaria: "pagina" recibe el último id visto y el tamaño
+    public static <T> void recorrer(BiFunction<Long, Limit, List<T>> pagina, ToLongFunction<T> id, Consumer<T> fila) {
+        long cursor = 0L;
+        List<T> filas;
+        do {
+            filas = pagina.apply(cursor, Limit.of(TAMANO_PAGINA_CARGA));
+            for (T f : filas) {
+                fila.accept(f);
+                cursor = id.applyAsLong(f);
+            }
+        } while (filas.size() == TAMANO_PAGINA_CARGA);
+    }
+
+    // Lo que cada id aportó al agregado, para restarlo cuando el registro cambia o se elimina.
+    // compute() es atómico por id: dos cambios del mismo registro nunca restan la misma huella dos veces.
+    public static final class Huellas<H> {
+
+        private final Map<Long, H> porId = new ConcurrentHashMap<>();
+        private final ObjIntConsumer<H> sumar;
+
+        // "sumar" recibe la huella y el signo (1 o -1); nunca se llama con null
+        public Huellas(ObjIntConsumer<H> sumar) {
+            this.sumar = sumar;
+        }
+
+        // null como huella nueva = el registro se eliminó
+        public void reemplazar(Long id, H nueva) {
+            porId.compute(id, (clave, anterior) -> {
+                if (anterior != null) {
+                    sumar.accept(anterior, -1);
+                }
+                if (nueva != null) {
+                    sumar.accept(nueva, 1);
+                }
+                return nueva;
+            });
+        }
+    }
+}
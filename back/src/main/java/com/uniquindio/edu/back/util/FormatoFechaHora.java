@@ -0,0 +1,24 @@
+package com.uniquindio.edu.back.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// La API de citas usa "yyyy-MM-dd HH:mm"; también se acepta la "T" que envía un input datetime-local
+public final class FormatoFechaHora {
+
+    private static final DateTimeFormatter ENTRADA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+    private static final DateTimeFormatter SALIDA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private FormatoFechaHora() {}
+
+    public static LocalDateTime parsear(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        return LocalDateTime.parse(texto.trim().replace('T', ' '), ENTRADA);
+    }
+
+    public static String formatear(LocalDateTime fechaHora) {
+        return fechaHora == null ? null : fechaHora.format(SALIDA);
+    }
+}
@@ -0,0 +1,48 @@
+package com.uniquindio.edu.back.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// Mezcla k secuencias ya ordenadas con el mismo criterio en una sola ordenada: un montículo guarda la cabeza
+// de cada fuente y siempre se entrega la menor, O(log k) por elemento. Cada fuente se avanza solo cuando se
+// consume su cabeza, así que de un cursor se leen únicamente las filas que llegan a la salida (más una).
+public final class MezclaOrdenada {
+
+    private MezclaOrdenada() {}
+
+    public static <T> Iterator<T> mezclar(List<? extends Iterator<? extends T>> fuentes, Comparator<? super T> orden) {
+        // A igual valor gana la fuente que va primero en la lista, para que el resultado sea estable
+        PriorityQueue<Cabeza<T>> cabezas = new PriorityQueue<>(Math.max(fuentes.size(), 1),
+                Comparator.<Cabeza<T>, T>comparing(Cabeza::valor, orden).thenComparingInt(Cabeza::fuente));
+        for (int i = 0; i < fuentes.size(); i++) {
+            Iterator<? extends T> fuente = fuentes.get(i);
+            if (fuente.hasNext()) {
+                cabezas.add(new Cabeza<>(fuente.next(), i, fuente));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cabezas.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Cabeza<T> menor = cabezas.poll();
+                if (menor == null) {
+                    throw new NoSuchElementException();
+                }
+                if (menor.resto().hasNext()) {
+                    cabezas.add(new Cabeza<>(menor.resto().next(), menor.fuente(), menor.resto()));
+                }
+                return menor.valor();
+            }
+        };
+    }
+
+    private record Cabeza<T>(T valor, int fuente, Iterator<? extends T> resto) {
+    }
+}
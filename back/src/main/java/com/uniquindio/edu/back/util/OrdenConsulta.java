@@ -0,0 +1,24 @@
+package com.uniquindio.edu.back.util;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.data.domain.Sort;
+
+// Orden de los endpoints de filtro: solo campos permitidos (con índice o baratos) y el id como desempate
+public final class OrdenConsulta {
+
+    private OrdenConsulta() {}
+
+    public static Sort construir(String campo, String direccion, Set<String> permitidos) {
+        if (campo == null || campo.isBlank()) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+        if (!permitidos.contains(campo)) {
+            throw new IllegalArgumentException("No se puede ordenar por: " + campo + ". Campos permitidos: " + new TreeSet<>(permitidos));
+        }
+        Sort.Direction sentido = Sort.Direction.fromOptionalString(direccion).orElse(Sort.Direction.ASC);
+        Sort orden = Sort.by(sentido, campo);
+        return campo.equals("id") ? orden : orden.and(Sort.by(sentido, "id"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.uniquindio.edu.back.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Utilidades para comparar textos sin importar mayúsculas ni tildes ("Pérez" == "perez")
+public final class TextoNormalizado {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextoNormalizado() {}
+
+    // Minúsculas, sin tildes y con los espacios colapsados
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Patrón LIKE para buscar por prefijo sobre una columna normalizada ('perez%'); escapa los comodines del
+    // texto con '\' para que un "_" o "%" escrito por el usuario no amplíe la búsqueda
+    public static String patronPrefijo(String texto) {
+        return escaparLike(normalizar(texto)) + "%";
+    }
+
+    // Patrón LIKE "contiene" para comparar con LOWER(columna) sobre una columna sin normalizar ('%glicemia%');
+    // escapa los comodines igual que patronPrefijo
+    public static String patronContiene(String texto) {
+        return "%" + escaparLike(texto.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // El texto normalizado a partir de cada palabra: "José Pérez Gómez" -> "jose perez gomez", "perez gomez", "gomez".
+    // Un prefijo de cualquiera de ellos es un prefijo de alguna palabra del nombre
+    public static Set<String> sufijos(String texto) {
+        String normalizado = normalizar(texto);
+        Set<String> sufijos = new LinkedHashSet<>();
+        if (normalizado.isEmpty()) {
+            return sufijos;
+        }
+        for (int inicio = 0; inicio >= 0; inicio = siguientePalabra(normalizado, inicio)) {
+            sufijos.add(normalizado.substring(inicio));
+        }
+        return sufijos;
+    }
+
+    private static int siguientePalabra(String normalizado, int desde) {
+        int espacio = normalizado.indexOf(' ', desde);
+        return espacio < 0 ? -1 : espacio + 1;
+    }
+
+    // Palabras del texto ya normalizado, descartando las de menos de 2 caracteres
+    public static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(normalizar(texto))) {
+            if (palabra.length() >= 2) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+}
@@ -0,0 +1,21 @@
+-- Esquema inicial (el que generaba Hibernate con ddl-auto=update)
+CREATE TABLE IF NOT EXISTS cita (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    paciente VARCHAR(255),
+    especialidad VARCHAR(255),
+    fecha_hora VARCHAR(255),
+    motivo VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS resultado_medico (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    paciente VARCHAR(255),
+    tipo_examen VARCHAR(255),
+    resultados VARCHAR(255),
+    medico_responsable VARCHAR(255),
+    fecha_examen TIMESTAMP(6),
+    fecha_emision TIMESTAMP(6),
+    descripcion VARCHAR(255),
+    observaciones VARCHAR(255),
+    estado VARCHAR(255)
+);
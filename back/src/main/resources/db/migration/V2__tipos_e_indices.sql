@@ -0,0 +1,17 @@
+-- Estado como valor cerrado: se normalizan los datos existentes antes de restringir la columna
+UPDATE resultado_medico SET estado = UPPER(TRIM(estado)) WHERE estado IS NOT NULL;
+UPDATE resultado_medico SET estado = 'PENDIENTE'
+    WHERE estado IS NULL OR estado NOT IN ('PENDIENTE', 'COMPLETADO', 'REVISADO');
+ALTER TABLE resultado_medico ALTER COLUMN estado SET DATA TYPE VARCHAR(20);
+ALTER TABLE resultado_medico ADD CONSTRAINT ck_resultado_estado
+    CHECK (estado IN ('PENDIENTE', 'COMPLETADO', 'REVISADO'));
+
+-- Fecha de la cita como TIMESTAMP para que ordene y filtre por rango ('yyyy-MM-dd HH:mm' se convierte directo)
+ALTER TABLE cita ALTER COLUMN fecha_hora SET DATA TYPE TIMESTAMP(6);
+
+-- Índices para las consultas por estado/fecha y por paciente
+CREATE INDEX idx_cita_fecha_hora ON cita (fecha_hora);
+CREATE INDEX idx_resultado_estado_emision ON resultado_medico (estado, fecha_emision);
+CREATE INDEX idx_resultado_fecha_examen ON resultado_medico (fecha_examen);
+CREATE INDEX idx_resultado_fecha_emision ON resultado_medico (fecha_emision);
+CREATE INDEX idx_resultado_paciente ON resultado_medico (paciente);
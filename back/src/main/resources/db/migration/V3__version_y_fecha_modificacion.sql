@@ -0,0 +1,9 @@
+-- Bloqueo optimista y peticiones condicionales (ETag / Last-Modified)
+ALTER TABLE cita ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE cita ADD COLUMN fecha_modificacion TIMESTAMP(6);
+ALTER TABLE resultado_medico ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE resultado_medico ADD COLUMN fecha_modificacion TIMESTAMP(6);
+
+-- Las filas existentes toman la fecha de la migración como última modificación
+UPDATE cita SET fecha_modificacion = LOCALTIMESTAMP;
+UPDATE resultado_medico SET fecha_modificacion = LOCALTIMESTAMP;
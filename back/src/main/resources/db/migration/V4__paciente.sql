@@ -0,0 +1,18 @@
+-- Pacientes como entidad: un registro por nombre normalizado (minúsculas, sin tildes ni espacios repetidos)
+CREATE TABLE paciente (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(255) NOT NULL,
+    nombre_normalizado VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_paciente_nombre_normalizado UNIQUE (nombre_normalizado)
+);
+
+-- Llave foránea desde citas y resultados; queda nula hasta que PacienteService vincula las filas existentes
+-- al arrancar (la normalización de tildes se hace en Java, igual que en las búsquedas)
+ALTER TABLE cita ADD COLUMN paciente_id BIGINT;
+ALTER TABLE cita ADD CONSTRAINT fk_cita_paciente FOREIGN KEY (paciente_id) REFERENCES paciente (id);
+ALTER TABLE resultado_medico ADD COLUMN paciente_id BIGINT;
+ALTER TABLE resultado_medico ADD CONSTRAINT fk_resultado_paciente FOREIGN KEY (paciente_id) REFERENCES paciente (id);
+
+-- Historial del paciente: cada tabla se recorre ya ordenada por fecha descendente desde el índice
+CREATE INDEX idx_cita_paciente_fecha ON cita (paciente_id, fecha_hora DESC, id DESC);
+CREATE INDEX idx_resultado_paciente_fecha ON resultado_medico (paciente_id, fecha_examen DESC, id DESC);
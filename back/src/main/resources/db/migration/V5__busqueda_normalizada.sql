@@ -0,0 +1,18 @@
+-- Columnas de búsqueda: nombre en minúsculas, sin tildes y con los espacios colapsados (TextoNormalizado).
+-- Las entidades las llenan al guardar; aquí se calculan para las filas existentes. TRANSLATE cubre las letras
+-- acentuadas del español y de Latin-1, que son las que aparecen en los nombres.
+ALTER TABLE cita ADD COLUMN paciente_normalizado VARCHAR(255);
+ALTER TABLE resultado_medico ADD COLUMN paciente_normalizado VARCHAR(255);
+ALTER TABLE resultado_medico ADD COLUMN medico_normalizado VARCHAR(255);
+
+UPDATE cita SET paciente_normalizado = LOWER(TRANSLATE(REGEXP_REPLACE(TRIM(paciente), '\s+', ' '), 'ÀÁÂÃÄÅÈÉÊËÌÍÎÏÒÓÔÕÖÙÚÛÜÑÇÝàáâãäåèéêëìíîïòóôõöùúûüñçýÿ', 'AAAAAAEEEEIIIIOOOOOUUUUNCYaaaaaaeeeeiiiiooooouuuuncyy'))
+    WHERE paciente IS NOT NULL;
+UPDATE resultado_medico SET paciente_normalizado = LOWER(TRANSLATE(REGEXP_REPLACE(TRIM(paciente), '\s+', ' '), 'ÀÁÂÃÄÅÈÉÊËÌÍÎÏÒÓÔÕÖÙÚÛÜÑÇÝàáâãäåèéêëìíîïòóôõöùúûüñçýÿ', 'AAAAAAEEEEIIIIOOOOOUUUUNCYaaaaaaeeeeiiiiooooouuuuncyy'))
+    WHERE paciente IS NOT NULL;
+UPDATE resultado_medico SET medico_normalizado = LOWER(TRANSLATE(REGEXP_REPLACE(TRIM(medico_responsable), '\s+', ' '), 'ÀÁÂÃÄÅÈÉÊËÌÍÎÏÒÓÔÕÖÙÚÛÜÑÇÝàáâãäåèéêëìíîïòóôõöùúûüñçýÿ', 'AAAAAAEEEEIIIIOOOOOUUUUNCYaaaaaaeeeeiiiiooooouuuuncyy'))
+    WHERE medico_responsable IS NOT NULL;
+
+-- Búsquedas por prefijo (LIKE 'perez%') recorren solo el rango del índice
+CREATE INDEX idx_cita_paciente_normalizado ON cita (paciente_normalizado);
+CREATE INDEX idx_resultado_paciente_normalizado ON resultado_medico (paciente_normalizado);
+CREATE INDEX idx_resultado_medico_normalizado ON resultado_medico (medico_normalizado);
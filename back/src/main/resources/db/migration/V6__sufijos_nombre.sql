@@ -0,0 +1,45 @@
+-- Búsqueda por el inicio de cualquier palabra del nombre: por cada fila se guarda el nombre normalizado a partir
+-- de cada palabra ("inigo ramirez busqueda", "ramirez busqueda", "busqueda"), así "ramirez" o "ramirez bus"
+-- son un LIKE 'ramirez%' sobre la llave (sufijo, id) en lugar de un '%ramirez%' que recorre toda la tabla.
+-- La llave empieza por el sufijo para que H2 parta de ella al resolver el IN; la llave foránea tiene su
+-- propio índice por id, que usan los borrados
+CREATE TABLE cita_sufijo_paciente (
+    cita_id BIGINT NOT NULL,
+    sufijo VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_cita_sufijo_paciente PRIMARY KEY (sufijo, cita_id),
+    CONSTRAINT fk_cita_sufijo_paciente FOREIGN KEY (cita_id) REFERENCES cita (id) ON DELETE CASCADE
+);
+CREATE TABLE resultado_sufijo_paciente (
+    resultado_medico_id BIGINT NOT NULL,
+    sufijo VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_resultado_sufijo_paciente PRIMARY KEY (sufijo, resultado_medico_id),
+    CONSTRAINT fk_resultado_sufijo_paciente FOREIGN KEY (resultado_medico_id) REFERENCES resultado_medico (id) ON DELETE CASCADE
+);
+CREATE TABLE resultado_sufijo_medico (
+    resultado_medico_id BIGINT NOT NULL,
+    sufijo VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_resultado_sufijo_medico PRIMARY KEY (sufijo, resultado_medico_id),
+    CONSTRAINT fk_resultado_sufijo_medico FOREIGN KEY (resultado_medico_id) REFERENCES resultado_medico (id) ON DELETE CASCADE
+);
+
+-- Filas existentes: las columnas normalizadas ya tienen los espacios colapsados, cada espacio inicia una palabra
+INSERT INTO cita_sufijo_paciente (cita_id, sufijo)
+WITH RECURSIVE s (id, resto) AS (
+    SELECT id, paciente_normalizado FROM cita WHERE paciente_normalizado <> ''
+    UNION ALL
+    SELECT id, SUBSTRING(resto, LOCATE(' ', resto) + 1) FROM s WHERE LOCATE(' ', resto) > 0)
+SELECT DISTINCT id, resto FROM s;
+
+INSERT INTO resultado_sufijo_paciente (resultado_medico_id, sufijo)
+WITH RECURSIVE s (id, resto) AS (
+    SELECT id, paciente_normalizado FROM resultado_medico WHERE paciente_normalizado <> ''
+    UNION ALL
+    SELECT id, SUBSTRING(resto, LOCATE(' ', resto) + 1) FROM s WHERE LOCATE(' ', resto) > 0)
+SELECT DISTINCT id, resto FROM s;
+
+INSERT INTO resultado_sufijo_medico (resultado_medico_id, sufijo)
+WITH RECURSIVE s (id, resto) AS (
+    SELECT id, medico_normalizado FROM resultado_medico WHERE medico_normalizado <> ''
+    UNION ALL
+    SELECT id, SUBSTRING(resto, LOCATE(' ', resto) + 1) FROM s WHERE LOCATE(' ', resto) > 0)
+SELECT DISTINCT id, resto FROM s;
@@ -0,0 +1,9 @@
+-- Filtro de citas por especialidad sin distinguir mayúsculas ni tildes: LOWER(especialidad) = ? no usa ningún
+-- índice. La especialidad normalizada (TextoNormalizado) se guarda en su columna, igual que el paciente en V5,
+-- con un índice junto a la fecha que también resuelve el rango desde/hasta del mismo filtro.
+ALTER TABLE cita ADD COLUMN especialidad_normalizada VARCHAR(255);
+
+UPDATE cita SET especialidad_normalizada = LOWER(TRANSLATE(REGEXP_REPLACE(TRIM(especialidad), '\s+', ' '), 'ÀÁÂÃÄÅÈÉÊËÌÍÎÏÒÓÔÕÖÙÚÛÜÑÇÝàáâãäåèéêëìíîïòóôõöùúûüñçýÿ', 'AAAAAAEEEEIIIIOOOOOUUUUNCYaaaaaaeeeeiiiiooooouuuuncyy'))
+    WHERE especialidad IS NOT NULL;
+
+CREATE INDEX idx_cita_especialidad_fecha ON cita (especialidad_normalizada, fecha_hora);
@@ -0,0 +1,8 @@
+-- Ids de resultado_medico por secuencia en lugar de IDENTITY: Hibernate reserva 50 ids por consulta
+-- (allocationSize = 50) y puede agrupar los INSERT de la carga masiva en lotes JDBC.
+-- Las bases anteriores a Flyway (baseline en V1) tienen la columna IDENTITY y ya tienen filas: la secuencia
+-- arranca por encima del id más alto. Hibernate usa el valor leído como el final del bloque (valor - 49 .. valor),
+-- por eso se suma 50 y no 1.
+ALTER TABLE resultado_medico ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS resultado_medico_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE resultado_medico_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM resultado_medico);
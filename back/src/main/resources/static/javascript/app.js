@@ -1,10 +1,20 @@
 const APICITAS = `${window.location.origin}/api/citas`;
 const APIRESULTADO = `${window.location.origin}/api/resultados-medicos`;
-let todasLasCitas = [];
+const APICAMBIOS = `${window.location.origin}/api/cambios`;
+const APIAUTOCOMPLETAR = `${window.location.origin}/api/autocompletar`;
+const TAMANO_PAGINA_CITAS = 50;
+let temporizadorFiltro = null;
+let temporizadorTurnos = null;
 
 document.addEventListener("DOMContentLoaded", () => {
   listarCitas();
   document.getElementById("citaForm").addEventListener("submit", guardarCita);
+  escucharCambios();
+  autocompletar("paciente", "paciente");
+  autocompletar("resultadoPaciente", "paciente");
+  autocompletar("especialidad", "especialidad");
+  autocompletar("resultadoTipoExamen", "tipo-examen");
+  autocompletar("resultadoMedico", "medico");
 });
 
 function mostrarSeccion(id) {
@@ -17,25 +27,57 @@ function mostrarSeccion(id) {
   if (boton) boton.classList.add("active");
 }
 
-async function listarCitas() {
-  const res = await fetch(APICITAS);
-  todasLasCitas = await res.json();
-  renderizarCitas(todasLasCitas);
+// El filtrado y la paginación se hacen en el servidor (/api/citas/filtro)
+async function listarCitas(pagina = 0) {
+  const params = new URLSearchParams({ pagina, tamano: TAMANO_PAGINA_CITAS, orden: "fechaHora" });
+  const busqueda = document.getElementById("busqueda").value.trim();
+  const filtroEsp = document.getElementById("filtroEspecialidad").value;
+  const filtroFecha = document.getElementById("filtroFecha").value;
+
+  if (busqueda !== "") params.set("paciente", busqueda);
+  if (filtroEsp !== "") params.set("especialidad", filtroEsp);
+  if (filtroFecha !== "") {
+    const siguienteDia = new Date(`${filtroFecha}T00:00:00`);
+    siguienteDia.setDate(siguienteDia.getDate() + 1);
+    const hasta = `${siguienteDia.getFullYear()}-${String(siguienteDia.getMonth() + 1).padStart(2, "0")}-${String(siguienteDia.getDate()).padStart(2, "0")}`;
+    params.set("desde", `${filtroFecha}T00:00:00`);
+    params.set("hasta", `${hasta}T00:00:00`);
+  }
+
+  const res = await fetch(`${APICITAS}/filtro?${params}`);
+  const pag = await res.json();
+  renderizarCitas(pag.contenido, pagina > 0, pag.siguiente);
 }
 
-function renderizarCitas(citas) {
+function renderizarCitas(citas, agregar = false, siguiente = null) {
   const container = document.getElementById("citasContainer");
-  container.innerHTML = "";
+  const botonMas = document.getElementById("cargarMasCitas");
+  if (botonMas) botonMas.remove();
+  if (!agregar) container.innerHTML = "";
 
-  if (citas.length === 0) {
-    container.innerHTML = `<p style="color:gray;text-align:center;">No hay citas registradas.</p>`;
+  if (citas.length === 0 && !agregar) {
+    container.innerHTML = `<p class="sin-datos" style="color:gray;text-align:center;">No hay citas registradas.</p>`;
     return;
   }
 
-  citas.forEach(cita => {
-    const card = document.createElement("div");
-    card.classList.add("cita-card");
-    card.innerHTML = `
+  citas.forEach(cita => container.appendChild(tarjetaCita(cita)));
+
+  if (siguiente !== null && siguiente !== undefined) {
+    const boton = document.createElement("button");
+    boton.id = "cargarMasCitas";
+    boton.className = "btn-secondary";
+    boton.textContent = "Cargar más";
+    boton.onclick = () => listarCitas(siguiente);
+    container.appendChild(boton);
+  }
+}
+
+function tarjetaCita(cita) {
+  const card = document.createElement("div");
+  card.classList.add("cita-card");
+  card.id = `cita-${cita.id}`;
+  card.dataset.orden = cita.fechaHora;
+  card.innerHTML = `
       <div class="cita-header">
         <h3>${cita.paciente}</h3>
         <small>#${cita.id}</small>
@@ -50,8 +92,7 @@ function renderizarCitas(citas) {
         <button class="btn-icon" onclick="eliminarCita(${cita.id})">🗑️</button>
       </div>
     `;
-    container.appendChild(card);
-  });
+  return card;
 }
 
 async function guardarCita(e) {
@@ -64,14 +105,20 @@ async function guardarCita(e) {
 
   const cita = { paciente, especialidad, fechaHora, motivo };
 
-  if (id) {
-    await fetch(`${APICITAS}/${id}`, { method: "PUT", headers: { "Content-Type": "application/json" }, body: JSON.stringify(cita) });
-  } else {
-    await fetch(APICITAS, { method: "POST", headers: { "Content-Type": "application/json" }, body: JSON.stringify(cita) });
+  const res = id
+    ? await fetch(`${APICITAS}/${id}`, { method: "PUT", headers: { "Content-Type": "application/json" }, body: JSON.stringify(cita) })
+    : await fetch(APICITAS, { method: "POST", headers: { "Content-Type": "application/json" }, body: JSON.stringify(cita) });
+
+  // Horario ocupado: se avisa y se muestran los turnos libres para elegir otro
+  if (res.status === 409) {
+    const error = await res.json();
+    alert(error.error);
+    buscarTurnosLibres();
+    return;
   }
 
+  // El listado se actualiza con el evento del feed de cambios
   limpiarFormulario();
-  listarCitas();
   mostrarSeccion("panel");
 }
 
@@ -91,27 +138,67 @@ async function editarCita(id) {
 async function eliminarCita(id) {
   if (confirm("¿Eliminar esta cita?")) {
     await fetch(`${APICITAS}/${id}`, { method: "DELETE" });
-    listarCitas();
   }
 }
 
 function limpiarFormulario() {
   document.getElementById("id").value = "";
   document.getElementById("citaForm").reset();
+  document.getElementById("turnosLibres").innerHTML = "";
 }
 
-function filtrarCitas() {
-  const busqueda = document.getElementById("busqueda").value.toLowerCase();
-  const filtroEsp = document.getElementById("filtroEspecialidad").value.toLowerCase();
-  const filtroFecha = document.getElementById("filtroFecha").value;
+// Próximos turnos libres de la especialidad escrita (GET /api/citas/disponibilidad)
+function buscarTurnosLibres() {
+  clearTimeout(temporizadorTurnos);
+  temporizadorTurnos = setTimeout(async () => {
+    const contenedor = document.getElementById("turnosLibres");
+    const especialidad = document.getElementById("especialidad").value.trim();
+    if (especialidad.length < 3) {
+      contenedor.innerHTML = "";
+      return;
+    }
+    const params = new URLSearchParams({ especialidad, cantidad: 6 });
+    const res = await fetch(`${APICITAS}/disponibilidad?${params}`);
+    if (!res.ok) return;
+    const turnos = await res.json();
+    contenedor.innerHTML = turnos.length === 0 ? "<small>Sin turnos libres esta semana</small>" : "";
+    turnos.forEach(turno => {
+      const boton = document.createElement("button");
+      boton.type = "button";
+      boton.className = "btn-secondary";
+      boton.textContent = turno.inicio;
+      boton.onclick = () => document.getElementById("fechaHora").value = turno.inicio.replace(" ", "T");
+      contenedor.appendChild(boton);
+    });
+  }, 300);
+}
 
-  let filtradas = todasLasCitas.filter(c =>
-    c.paciente.toLowerCase().includes(busqueda) &&
-    (filtroEsp === "" || c.especialidad.toLowerCase() === filtroEsp) &&
-    (filtroFecha === "" || c.fechaHora.startsWith(filtroFecha))
-  );
+// Llena la lista de sugerencias del campo con los valores ya registrados que empiezan por lo escrito,
+// para que se elija la forma existente en lugar de escribir otra variante del mismo nombre
+function autocompletar(idInput, campo) {
+  const input = document.getElementById(idInput);
+  const lista = document.getElementById(input.getAttribute("list"));
+  let temporizador = null;
+  input.addEventListener("input", () => {
+    clearTimeout(temporizador);
+    temporizador = setTimeout(async () => {
+      const params = new URLSearchParams({ prefijo: input.value, limite: 10 });
+      const res = await fetch(`${APIAUTOCOMPLETAR}/${campo}?${params}`);
+      if (!res.ok) return;
+      const sugerencias = await res.json();
+      lista.replaceChildren(...sugerencias.map(s => {
+        const opcion = document.createElement("option");
+        opcion.value = s.texto;
+        return opcion;
+      }));
+    }, 150);
+  });
+}
 
-  renderizarCitas(filtradas);
+// Espera a que el usuario deje de escribir para no lanzar una consulta por tecla
+function filtrarCitas() {
+  clearTimeout(temporizadorFiltro);
+  temporizadorFiltro = setTimeout(() => listarCitas(0), 300);
 }
 
 
@@ -132,25 +219,43 @@ document.addEventListener("DOMContentLoaded", () => {
   document.getElementById("resultadosForm").addEventListener("submit", guardarResultado);
 });
 
-async function listarResultados() {
-  const res = await fetch(APIRESULTADO);
-  const resultados = await res.json();
-  renderizarResultados(resultados);
+// Las tarjetas usan el resumen (sin el texto de resultados); el detalle completo se pide al editar
+async function listarResultados(cursor = null) {
+  const params = new URLSearchParams({ tamano: 50 });
+  if (cursor !== null) params.set("cursor", cursor);
+  const res = await fetch(`${APIRESULTADO}/resumen?${params}`);
+  const pag = await res.json();
+  renderizarResultados(pag.contenido, cursor !== null, pag.siguiente);
 }
 
-function renderizarResultados(resultados) {
+function renderizarResultados(resultados, agregar = false, siguiente = null) {
   const cont = document.getElementById("resultadosContainer");
-  cont.innerHTML = "";
+  const botonMas = document.getElementById("cargarMasResultados");
+  if (botonMas) botonMas.remove();
+  if (!agregar) cont.innerHTML = "";
 
-  if (resultados.length === 0) {
-    cont.innerHTML = `<p style="color:gray;text-align:center;">No hay resultados registrados.</p>`;
+  if (resultados.length === 0 && !agregar) {
+    cont.innerHTML = `<p class="sin-datos" style="color:gray;text-align:center;">No hay resultados registrados.</p>`;
     return;
   }
 
-  resultados.forEach(r => {
-    const card = document.createElement("div");
-    card.classList.add("cita-card");
-    card.innerHTML = `
+  resultados.forEach(r => cont.appendChild(tarjetaResultado(r)));
+
+  if (siguiente !== null && siguiente !== undefined) {
+    const boton = document.createElement("button");
+    boton.id = "cargarMasResultados";
+    boton.className = "btn-secondary";
+    boton.textContent = "Cargar más";
+    boton.onclick = () => listarResultados(siguiente);
+    cont.appendChild(boton);
+  }
+}
+
+function tarjetaResultado(r) {
+  const card = document.createElement("div");
+  card.classList.add("cita-card");
+  card.id = `resultado-${r.id}`;
+  card.innerHTML = `
       <div class="cita-header">
         <h3>${r.paciente}</h3>
         <small>${r.tipoExamen}</small>
@@ -159,15 +264,13 @@ function renderizarResultados(resultados) {
         <p><b>Fecha examen:</b> ${r.fechaExamen ? r.fechaExamen.replace("T", " ") : "N/A"}</p>
         <p><b>Médico:</b> ${r.medicoResponsable}</p>
         <p><b>Estado:</b> ${r.estado}</p>
-        <p><b>Resultados:</b> ${r.resultados || "Sin detalles"}</p>
       </div>
       <div class="cita-actions">
         <button class="btn-icon" onclick="editarResultado(${r.id})">✏️</button>
         <button class="btn-icon" onclick="eliminarResultado(${r.id})">🗑️</button>
       </div>
     `;
-    cont.appendChild(card);
-  });
+  return card;
 }
 
 async function guardarResultado(e) {
@@ -196,7 +299,6 @@ async function guardarResultado(e) {
 
   if (res.ok) {
     limpiarFormularioResultado();
-    listarResultados();
   } else {
     console.error("Error al guardar resultado:", res.status);
     alert(" Error al guardar el resultado. Ver consola para detalles.");
@@ -226,7 +328,6 @@ async function editarResultado(id) {
 async function eliminarResultado(id) {
   if (confirm("¿Eliminar este resultado médico?")) {
     await fetch(`${APIRESULTADO}/${id}`, { method: "DELETE" });
-    listarResultados();
   }
 }
 
@@ -235,3 +336,81 @@ function limpiarFormularioResultado() {
   document.getElementById("resultadosForm").reset();
 }
 
+
+/* ==========================
+   FEED DE CAMBIOS (SSE)
+========================== */
+
+// Cada escritura llega como evento con la cita o el resultado actualizado: se reemplaza, inserta o quita
+// solo esa tarjeta. EventSource se reconecta solo y envía Last-Event-ID; si el servidor ya no tiene los
+// eventos intermedios responde "reinicio" y se recargan los listados.
+function escucharCambios() {
+  const feed = new EventSource(APICAMBIOS);
+  feed.addEventListener("cita", e => aplicarCambioCita(JSON.parse(e.data)));
+  feed.addEventListener("resultado", e => aplicarCambioResultado(JSON.parse(e.data)));
+  // Un lote (carga masiva o cambio de estado de muchos) llega como un solo evento con los ids
+  feed.addEventListener("resultados", () => listarResultados());
+  feed.addEventListener("reinicio", () => {
+    listarCitas();
+    listarResultados();
+  });
+}
+
+function aplicarCambioCita(cambio) {
+  const container = document.getElementById("citasContainer");
+  const anterior = document.getElementById(`cita-${cambio.id}`);
+  if (anterior) anterior.remove();
+
+  const cita = cambio.dato;
+  if (cita && citaCoincideConFiltro(cita)) {
+    // Se ubica por fecha entre las tarjetas cargadas; si queda después de la última y hay más páginas,
+    // aparecerá al pedirlas
+    const clave = `${cita.fechaHora}|${String(cita.id).padStart(19, "0")}`;
+    const siguiente = Array.from(container.querySelectorAll(".cita-card"))
+      .find(c => `${c.dataset.orden}|${c.id.substring(5).padStart(19, "0")}` > clave);
+    const botonMas = document.getElementById("cargarMasCitas");
+    if (siguiente || !botonMas) {
+      container.querySelector(".sin-datos")?.remove();
+      container.insertBefore(tarjetaCita(cita), siguiente || botonMas);
+    }
+  }
+  mostrarVacioSiCorresponde(container, "No hay citas registradas.");
+}
+
+// Mismo criterio que /api/citas/filtro: nombre del paciente que empieza por la búsqueda (sin tildes ni
+// mayúsculas), especialidad igual y día de la fecha
+function citaCoincideConFiltro(cita) {
+  const busqueda = normalizarTexto(document.getElementById("busqueda").value);
+  const filtroEsp = document.getElementById("filtroEspecialidad").value.toLowerCase();
+  const filtroFecha = document.getElementById("filtroFecha").value;
+  // Mismo criterio que el servidor: el texto es el inicio de alguna palabra del nombre
+  return (busqueda === "" || (" " + normalizarTexto(cita.paciente)).includes(" " + busqueda))
+    && (filtroEsp === "" || (cita.especialidad || "").toLowerCase() === filtroEsp)
+    && (filtroFecha === "" || (cita.fechaHora || "").startsWith(filtroFecha));
+}
+
+// Igual que TextoNormalizado.normalizar en el servidor: "  José  Pérez" → "jose perez"
+function normalizarTexto(texto) {
+  return (texto || "").normalize("NFD").replace(/\p{M}+/gu, "").toLowerCase().replace(/\s+/g, " ").trim();
+}
+
+function aplicarCambioResultado(cambio) {
+  const cont = document.getElementById("resultadosContainer");
+  const anterior = document.getElementById(`resultado-${cambio.id}`);
+  if (cambio.dato && anterior) {
+    anterior.replaceWith(tarjetaResultado(cambio.dato));
+  } else if (anterior) {
+    anterior.remove();
+  } else if (cambio.tipo === "CREADO" && !document.getElementById("cargarMasResultados")) {
+    // El listado va por id ascendente: un resultado nuevo va al final, visible si ya se cargó la última página
+    cont.querySelector(".sin-datos")?.remove();
+    cont.appendChild(tarjetaResultado(cambio.dato));
+  }
+  mostrarVacioSiCorresponde(cont, "No hay resultados registrados.");
+}
+
+function mostrarVacioSiCorresponde(container, texto) {
+  if (container.children.length === 0) {
+    container.innerHTML = `<p class="sin-datos" style="color:gray;text-align:center;">${texto}</p>`;
+  }
+}
@@ -0,0 +1,116 @@
+package com.uniquindio.edu.back;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.uniquindio.edu.back.config.AgendaProperties;
+import com.uniquindio.edu.back.exception.ConflictoAgendaException;
+import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.model.dto.TurnoDisponibleDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.service.AgendaService;
+
+@ExtendWith(MockitoExtension.class)
+class AgendaServiceTest {
+
+    // Lunes
+    private static final LocalDateTime LUNES = LocalDateTime.of(2025, 10, 20, 0, 0);
+
+    @Mock
+    private CitaRepository citaRepository;
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private AgendaService agendaService;
+
+    @BeforeEach
+    void setUp() {
+        AgendaProperties propiedades = new AgendaProperties(Duration.ofMinutes(30),
+                Map.of("cardiologia", Duration.ofMinutes(40)), LocalTime.of(8, 0), LocalTime.of(10, 0),
+                EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+        agendaService = new AgendaService(citaRepository, propiedades);
+    }
+
+    @Test
+    void reservar_DeberiaRechazarCrucesYAceptarTurnosContiguos() {
+        when(citaRepository.existsById(anyLong())).thenReturn(true);
+        Cita primera = reservar(null, "Cardiología", LUNES.withHour(8));
+
+        assertThrows(ConflictoAgendaException.class, () -> reservar(null, "cardiologia", LUNES.withHour(8).withMinute(20)));
+        reservar(null, "Cardiología", LUNES.withHour(8).withMinute(40));
+        reservar(null, "Pediatría", LUNES.withHour(8));
+        // Mover la misma cita dentro de su propio turno no es un cruce
+        reservar(primera.getId(), "Cardiología", LUNES.withHour(7).withMinute(55));
+    }
+
+    @Test
+    void reservar_DeberiaDescartarReservasDeCitasQueYaNoExisten() {
+        Cita huerfana = reservar(null, "Pediatría", LUNES.withHour(9));
+        when(citaRepository.existsById(huerfana.getId())).thenReturn(false);
+
+        reservar(null, "Pediatría", LUNES.withHour(9));
+    }
+
+    @Test
+    void reservar_DeberiaAceptarUnaSolaDeVariasPeticionesSimultaneas() throws Exception {
+        when(citaRepository.existsById(anyLong())).thenReturn(true);
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Cita>> tareas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tareas.add(() -> reservar(null, "Neurología", LUNES.withHour(8)));
+            }
+            int aceptadas = 0;
+            for (Future<Cita> f : hilos.invokeAll(tareas)) {
+                try {
+                    f.get();
+                    aceptadas++;
+                } catch (ExecutionException ex) {
+                    assertTrue(ex.getCause() instanceof ConflictoAgendaException);
+                }
+            }
+            assertEquals(1, aceptadas);
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    @Test
+    void turnosDisponibles_DeberiaSaltarOcupadosYRespetarElHorario() {
+        reservar(null, "Pediatría", LUNES.withHour(8).withMinute(30));
+        agendaService.liberar(reservar(null, "Pediatría", LUNES.withHour(9)).getId());
+
+        List<TurnoDisponibleDTO> turnos = agendaService.turnosDisponibles("Pediatría", LUNES.minusDays(2), null, 5);
+
+        assertEquals(List.of("2025-10-20 08:00", "2025-10-20 09:00", "2025-10-20 09:30", "2025-10-21 08:00",
+                "2025-10-21 08:30"), turnos.stream().map(TurnoDisponibleDTO::inicio).toList());
+        assertEquals("2025-10-20 08:30", turnos.get(0).fin());
+    }
+
+    private Cita reservar(Long id, String especialidad, LocalDateTime fechaHora) {
+        return agendaService.reservar(id, especialidad, fechaHora, () ->
+                new Cita(id == null ? secuencia.incrementAndGet() : id, "Paciente", especialidad, fechaHora, "Control"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.uniquindio.edu.back;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.uniquindio.edu.back.util.AgregadoEnMemoria;
+import com.uniquindio.edu.back.util.AgregadoEnMemoria.Huellas;
+
+class AgregadoEnMemoriaTest {
+
+    // "Base" de id -> valor y un agregado con la suma de los valores
+    private final Map<Long, Long> base = new ConcurrentHashMap<>();
+    private final AgregadoEnMemoria<Suma> agregado = new AgregadoEnMemoria<>(new Suma());
+
+    @Test
+    void reconstruir_DeberiaRepetirLosCambiosQueLleganDuranteLaCarga() {
+        base.put(1L, 10L);
+        base.put(2L, 20L);
+
+        agregado.reconstruir(Suma::new, nueva -> {
+            cargar(nueva);
+            // Llega mientras se carga, después de que la carga ya leyó el id 2
+            CompletableFuture.runAsync(() -> escribir(2L, 25L)).join();
+        });
+
+        assertEquals(35L, agregado.actual().total.sum());
+    }
+
+    @Test
+    void escriturasConcurrentes_NoDeberianPerderseEntreReconstrucciones() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        AtomicBoolean escribiendo = new AtomicBoolean(true);
+        try {
+            List<Future<?>> escritores = new ArrayList<>();
+            for (int h = 0; h < 3; h++) {
+                long primero = h * 1000L;
+                escritores.add(hilos.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        escribir(primero + i % 1000, (long) i);
+                    }
+                }));
+            }
+            Future<?> reconstrucciones = hilos.submit(() -> {
+                while (escribiendo.get()) {
+                    agregado.reconstruir(Suma::new, this::cargar);
+                }
+            });
+            for (Future<?> escritor : escritores) {
+                escritor.get(60, TimeUnit.SECONDS);
+            }
+            escribiendo.set(false);
+            reconstrucciones.get(60, TimeUnit.SECONDS);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(base.values().stream().mapToLong(Long::longValue).sum(), agregado.actual().total.sum());
+    }
+
+    // Como los servicios: primero se confirma en la base y después llega el evento
+    private void escribir(Long id, Long valor) {
+        base.put(id, valor);
+        agregado.aplicar(s -> s.valores.reemplazar(id, valor));
+    }
+
+    private void cargar(Suma destino) {
+        base.forEach(destino.valores::reemplazar);
+    }
+
+    private static final class Suma {
+
+        private final LongAdder total = new LongAdder();
+        private final Huellas<Long> valores = new Huellas<>((valor, signo) -> total.add(signo * valor));
+    }
+}
@@ -0,0 +1,106 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.uniquindio.edu.back.busqueda.Autocompletado;
+import com.uniquindio.edu.back.busqueda.CampoAutocompletado;
+import com.uniquindio.edu.back.busqueda.IndiceAutocompletado;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.SugerenciaDTO;
+import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+class AutocompletadoTest {
+
+    @Autowired
+    private IndiceAutocompletado indiceAutocompletado;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Test
+    void sugerir_DeberiaOrdenarPorFrecuenciaSinImportarTildesNiMayusculas() {
+        Autocompletado autocompletado = new Autocompletado();
+        autocompletado.sumar("José Pérez", 1);
+        autocompletado.sumar("jose  perez", 2);
+        autocompletado.sumar("Josefina Ruiz", 2);
+        autocompletado.sumar("Juan Gómez", 5);
+
+        assertEquals(List.of(new SugerenciaDTO("José Pérez", 3), new SugerenciaDTO("Josefina Ruiz", 2)),
+                autocompletado.sugerir("JOSÉ", 10));
+        assertEquals("Juan Gómez", autocompletado.sugerir("", 1).get(0).texto());
+
+        autocompletado.sumar("JOSE PEREZ", -3);
+        assertEquals(List.of(new SugerenciaDTO("Josefina Ruiz", 2)), autocompletado.sugerir("jos", 10));
+        assertEquals(2, autocompletado.tamano());
+    }
+
+    @Test
+    void sugerir_DeberiaCoincidirConUnRecorridoCompletoTrasFundirPendientes() {
+        Autocompletado autocompletado = new Autocompletado();
+        Map<String, Long> conteos = new HashMap<>();
+        Random azar = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String nombre = "p" + Integer.toString(azar.nextInt(9_000), 36);
+            long delta = azar.nextInt(4) == 0 && conteos.getOrDefault(nombre, 0L) > 0 ? -1 : 1;
+            autocompletado.sumar(nombre, delta);
+            conteos.merge(nombre, delta, Long::sum);
+        }
+
+        for (String prefijo : List.of("", "p", "p1", "pa", "p3f", "pzz", "q")) {
+            List<SugerenciaDTO> esperado = conteos.entrySet().stream()
+                    .filter(e -> e.getValue() > 0 && e.getKey().startsWith(prefijo))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(10)
+                    .map(e -> new SugerenciaDTO(e.getKey(), e.getValue()))
+                    .toList();
+            assertEquals(esperado, autocompletado.sugerir(prefijo, 10), prefijo);
+        }
+        assertEquals(conteos.values().stream().filter(c -> c > 0).count(), autocompletado.tamano());
+    }
+
+    @Test
+    void escrituras_DeberianActualizarLasSugerencias() {
+        ResultadoMedicoDTO resultado = resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null,
+                "Zacarías Autocompletado", "Zinc Sérico", "90", "Dra. Zoe Autocompletado", LocalDateTime.now().minusDays(1),
+                null, null, null, null));
+        CitaDTO cita = citaService.crearCita(new CitaDTO(null, "zacarias autocompletado", "Zoología Clínica",
+                "2024-06-03 10:00", "Control"));
+
+        assertEquals(List.of(new SugerenciaDTO("Zacarías Autocompletado", 2)),
+                indiceAutocompletado.sugerir(CampoAutocompletado.PACIENTE, "zacarias auto", 10));
+        assertEquals("Zinc Sérico", indiceAutocompletado.sugerir(CampoAutocompletado.TIPO_EXAMEN, "zinc s", 10).get(0).texto());
+        assertEquals("Zoología Clínica", indiceAutocompletado.sugerir(CampoAutocompletado.ESPECIALIDAD, "zoolo", 10).get(0).texto());
+
+        resultado.setMedicoResponsable("Dra. Zoe Autocompletada");
+        resultadoMedicoService.actualizarResultadoMedico(resultado.getId(), resultado);
+        citaService.eliminarCita(cita.getId());
+
+        assertEquals(List.of(new SugerenciaDTO("Dra. Zoe Autocompletada", 1)),
+                indiceAutocompletado.sugerir(CampoAutocompletado.MEDICO, "dra. zoe autocompleta", 10));
+        assertEquals(1, indiceAutocompletado.sugerir(CampoAutocompletado.PACIENTE, "zacarias auto", 10).get(0).frecuencia());
+        assertTrue(indiceAutocompletado.sugerir(CampoAutocompletado.ESPECIALIDAD, "zoolo", 10).isEmpty());
+    }
+
+    @Test
+    void desdeRuta_DeberiaRechazarCamposDesconocidos() {
+        assertEquals(CampoAutocompletado.TIPO_EXAMEN, CampoAutocompletado.desdeRuta("tipo-examen"));
+        assertThrows(IllegalArgumentException.class, () -> CampoAutocompletado.desdeRuta("motivo"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+class BusquedaNormalizadaTest {
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Test
+    void buscar_DeberiaIgnorarTildesYMayusculasPorInicioDePalabra() {
+        ResultadoMedicoDTO creado = resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null,
+                "Íñigo  Ramírez Búsqueda", "Glicemia", "90 mg/dL", "Dra. Águeda Ortúzar", LocalDateTime.now().minusDays(1),
+                null, null, null, null));
+
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorPaciente("INIGO ramirez busq")));
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorMedicoResponsable("dra. agueda ortu")));
+        // Inicio de cualquier palabra: el apellido suelto encuentra el nombre; un fragmento dentro de una palabra
+        // y los comodines escritos por el usuario no amplían la búsqueda
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorPaciente("ramirez busqueda")));
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorPaciente("Búsq")));
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorMedicoResponsable("ortuzar")));
+        assertTrue(resultadoMedicoService.buscarPorPaciente("amirez busqueda").isEmpty());
+        assertTrue(resultadoMedicoService.buscarPorPaciente("inigo_ramirez").isEmpty());
+
+        FiltroResultadoMedicoDTO filtro = new FiltroResultadoMedicoDTO();
+        filtro.setPaciente("ramírez búsqueda");
+        filtro.setMedico("AGUEDA");
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.filtrarResultados(filtro).getContenido()));
+
+        // La actualización recalcula la columna normalizada
+        creado.setPaciente("Íñigo Ramírez Renombrado");
+        resultadoMedicoService.actualizarResultadoMedico(creado.getId(), creado);
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorPaciente("inigo ramirez ren")));
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorPaciente("renombrado")));
+        assertTrue(resultadoMedicoService.buscarPorPaciente("ramirez busqueda").isEmpty());
+    }
+
+    @Test
+    void filtrarCitas_DeberiaBuscarPacientePorCualquierPalabraSinTildes() {
+        CitaDTO cita = citaService.crearCita(new CitaDTO(null, "Ñusta Peñaloza Filtro", "Dermatología Normalizada",
+                "2024-08-01 09:00", "Control"));
+        FiltroCitaDTO filtro = new FiltroCitaDTO();
+        filtro.setPaciente("nusta penaloza");
+        assertEquals(List.of(cita.getId()), citaService.filtrarCitas(filtro).getContenido().stream().map(CitaDTO::getId).toList());
+
+        filtro.setPaciente("PEÑALOZA fil");
+        assertEquals(List.of(cita.getId()), citaService.filtrarCitas(filtro).getContenido().stream().map(CitaDTO::getId).toList());
+
+        // Al cambiar el nombre se reemplazan los sufijos de la cita
+        cita.setPaciente("Ñusta Quispe Filtro");
+        citaService.actualizarCita(cita.getId(), cita);
+        assertTrue(citaService.filtrarCitas(filtro).getContenido().isEmpty());
+        filtro.setPaciente("quispe");
+        assertEquals(List.of(cita.getId()), citaService.filtrarCitas(filtro).getContenido().stream().map(CitaDTO::getId).toList());
+    }
+
+    @Test
+    void filtrar_DeberiaNormalizarEspecialidadYTomarLiteralesLosComodinesDelTipoDeExamen() {
+        CitaDTO cita = citaService.crearCita(new CitaDTO(null, "Irene Filtro Especialidad", "Neumología Infantil",
+                "2024-08-02 10:00", "Control"));
+        FiltroCitaDTO filtroCita = new FiltroCitaDTO();
+        filtroCita.setEspecialidad(" NEUMOLOGIA  infantil ");
+        assertEquals(List.of(cita.getId()), citaService.filtrarCitas(filtroCita).getContenido().stream().map(CitaDTO::getId).toList());
+
+        ResultadoMedicoDTO creado = resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null,
+                "Irene Filtro Especialidad", "Perfil_Lipídico 100%", "Normal", "Dr. Luis Fernández",
+                LocalDateTime.now().minusDays(1), null, null, null, null));
+        FiltroResultadoMedicoDTO filtro = new FiltroResultadoMedicoDTO();
+        filtro.setTipoExamen("PERFIL_LIPÍDICO 100%");
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.filtrarResultados(filtro).getContenido()));
+        assertEquals(List.of(creado.getId()), ids(resultadoMedicoService.buscarPorTipoExamen("lipídico 100%")));
+        // Si "_" y "%" actuaran como comodines, los dos coincidirían con "perfil_lipídico 100%"
+        filtro.setTipoExamen("fil_l%pídico");
+        assertTrue(resultadoMedicoService.filtrarResultados(filtro).getContenido().isEmpty());
+        assertTrue(resultadoMedicoService.buscarPorTipoExamen("o 1%").isEmpty());
+    }
+
+    private static List<Long> ids(List<ResultadoMedicoDTO> resultados) {
+        return resultados.stream().map(ResultadoMedicoDTO::getId).toList();
+    }
+}
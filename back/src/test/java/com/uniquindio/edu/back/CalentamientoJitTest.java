@@ -0,0 +1,33 @@
+package com.uniquindio.edu.back;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+@SpringBootTest(properties = {
+        "saludvital.calentamiento.habilitado=true",
+        "saludvital.calentamiento.iteraciones=25"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class CalentamientoJitTest {
+
+    @Autowired
+    private ApplicationAvailability disponibilidad;
+
+    @Test
+    void arranque_DeberiaCalentarAntesDeAceptarTrafico(CapturedOutput salida) {
+        String log = salida.getAll();
+        int calentamiento = log.indexOf("Calentamiento JIT: 25 de 25 iteraciones");
+        assertTrue(calentamiento >= 0, "No se registró el calentamiento");
+        // Los runners de datos terminan antes de calentar
+        assertTrue(log.indexOf("Datos iniciales de citas cargados") < calentamiento);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, disponibilidad.getReadinessState());
+    }
+}
@@ -9,13 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,4 +89,74 @@ public class CitaControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.paciente").value("Andrés Gómez"));
     }
+
+    @Test
+    void deberiaResponder304MientrasLaCitaNoCambie() throws Exception {
+        CitaDTO citaDTO = new CitaDTO(null, "Marta", "Cardiología", "2025-10-24 10:00", "Control");
+        String location = mockMvc.perform(post("/api/citas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(citaDTO)))
+                .andReturn().getResponse().getHeader("Location");
+        assert location != null;
+
+        String etag = mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assert etag != null;
+
+        mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(location)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CitaDTO(null, "Marta", "Cardiología", "2025-10-24 11:00", "Control"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void deberiaResponder304EnElListadoHastaQueHayaCambios() throws Exception {
+        String etag = mockMvc.perform(get("/api/citas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assert etag != null;
+
+        mockMvc.perform(get("/api/citas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/citas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CitaDTO(null, "Nora", "Pediatría", "2025-10-23 08:00", "Vacunas"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/citas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].paciente").value("Nora"));
+    }
+
+    @Test
+    void deberiaRechazarDobleReservaYOfrecerTurnosLibres() throws Exception {
+        mockMvc.perform(post("/api/citas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CitaDTO(null, "Olga", "Dermatología", "2025-10-27 07:00", "Control"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/citas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CitaDTO(null, "Pablo", "dermatologia", "2025-10-27 07:15", "Control"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.citaEnConflicto").exists());
+
+        mockMvc.perform(get("/api/citas/disponibilidad")
+                        .param("especialidad", "Dermatología")
+                        .param("desde", "2025-10-27T00:00:00")
+                        .param("cantidad", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].inicio").value("2025-10-27 07:30"));
+    }
 }
@@ -2,14 +2,25 @@ package com.uniquindio.edu.back;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+
+import com.uniquindio.edu.back.config.CacheConfig;
+import com.uniquindio.edu.back.exception.ConflictoAgendaException;
 import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.FiltroCitaDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
 import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.PacienteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 @SpringBootTest
 public class CitaServiceTest {
@@ -17,6 +28,12 @@ public class CitaServiceTest {
     @Autowired
     private CitaService citaService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PacienteService pacienteService;
+
     @BeforeEach
     void limpiarDatos() {
         citaService.listarCitas().forEach(c -> citaService.eliminarCita(c.getId()));
@@ -32,6 +49,16 @@ public class CitaServiceTest {
         assertEquals(1, citaService.listarCitas().size());
     }
 
+    @Test
+    void crearCita_conHorarioOcupado_noDeberiaRegistrarAlPaciente() {
+        citaService.crearCita(new CitaDTO(null, "Juan Pérez", "Odontología", "2025-10-20 10:00", "Limpieza dental"));
+
+        assertThrows(ConflictoAgendaException.class, () -> citaService.crearCita(
+                new CitaDTO(null, "Paciente Sin Turno", "Odontología", "2025-10-20 10:00", "Control")));
+
+        assertTrue(pacienteService.buscarPorNombre("Paciente Sin Turno").isEmpty());
+    }
+
     @Test
     void actualizarCita_deberiaModificarCampos() {
         CitaDTO cita = citaService.crearCita(new CitaDTO(null, "Ana", "Medicina General", "2025-10-11 09:00", "Chequeo"));
@@ -61,4 +88,76 @@ public class CitaServiceTest {
         assertTrue(encontrada.isPresent());
         assertEquals("Carlos", encontrada.get().getPaciente());
     }
+
+    @Test
+    void listarCitasPaginadas_deberiaRecorrerTodasLasPaginas() {
+        for (int i = 0; i < 5; i++) {
+            citaService.crearCita(new CitaDTO(null, "Paciente " + i, "Pediatría", "2025-12-0" + (i + 1) + " 08:00", "Control"));
+        }
+
+        PaginaDTO<CitaDTO> primera = citaService.listarCitasPaginadas(null, 2);
+        assertEquals(2, primera.getContenido().size());
+        assertNotNull(primera.getSiguiente());
+
+        PaginaDTO<CitaDTO> segunda = citaService.listarCitasPaginadas(primera.getSiguiente(), 2);
+        assertEquals(2, segunda.getContenido().size());
+        assertTrue(segunda.getContenido().get(0).getId() > primera.getSiguiente());
+
+        PaginaDTO<CitaDTO> tercera = citaService.listarCitasPaginadas(segunda.getSiguiente(), 2);
+        assertEquals(1, tercera.getContenido().size());
+        assertNull(tercera.getSiguiente());
+    }
+
+    @Test
+    void filtrarCitas_deberiaCombinarCriteriosOrdenYPagina() {
+        citaService.crearCita(new CitaDTO(null, "Laura Gómez", "Pediatría", "2025-12-02 09:00", "Control"));
+        citaService.crearCita(new CitaDTO(null, "Laura Ruiz", "Pediatría", "2025-12-02 08:00", "Vacunas"));
+        citaService.crearCita(new CitaDTO(null, "Laura Díaz", "Pediatría", "2025-12-03 08:00", "Control"));
+        citaService.crearCita(new CitaDTO(null, "Laura Mejía", "Cardiología", "2025-12-02 10:00", "Control"));
+        citaService.crearCita(new CitaDTO(null, "Mario", "Pediatría", "2025-12-02 11:00", "Control"));
+
+        FiltroCitaDTO filtro = new FiltroCitaDTO();
+        filtro.setPaciente("laura");
+        filtro.setEspecialidad("pediatría");
+        filtro.setDesde(LocalDateTime.of(2025, 12, 2, 0, 0));
+        filtro.setHasta(LocalDateTime.of(2025, 12, 3, 0, 0));
+        filtro.setOrden("fechaHora");
+        filtro.setTamano(1);
+
+        PaginaDTO<CitaDTO> primera = citaService.filtrarCitas(filtro);
+        assertEquals(1, primera.getContenido().size());
+        assertEquals("Laura Ruiz", primera.getContenido().get(0).getPaciente());
+        assertEquals(1L, primera.getSiguiente());
+
+        filtro.setPagina(1);
+        PaginaDTO<CitaDTO> segunda = citaService.filtrarCitas(filtro);
+        assertEquals("Laura Gómez", segunda.getContenido().get(0).getPaciente());
+        assertNull(segunda.getSiguiente());
+    }
+
+    @Test
+    void filtrarCitas_deberiaRechazarCampoDeOrdenNoPermitido() {
+        FiltroCitaDTO filtro = new FiltroCitaDTO();
+        filtro.setOrden("motivo");
+
+        assertThrows(IllegalArgumentException.class, () -> citaService.filtrarCitas(filtro));
+    }
+
+    @Test
+    void obtenerCita_deberiaUsarCacheHastaQueLaCitaCambie() {
+        CitaDTO cita = citaService.crearCita(new CitaDTO(null, "Sofía", "Dermatología", "2025-11-03 10:00", "Control"));
+        Cache cache = cacheManager.getCache(CacheConfig.CITAS);
+        assertNotNull(cache);
+
+        citaService.obtenerCita(cita.getId());
+        assertNotNull(cache.get(cita.getId()));
+
+        citaService.actualizarCita(cita.getId(), new CitaDTO(null, "Sofía Torres", "Dermatología", "2025-11-03 10:00", "Control"));
+        assertNull(cache.get(cita.getId()));
+        assertEquals("Sofía Torres", citaService.obtenerCita(cita.getId()).orElseThrow().getPaciente());
+
+        citaService.eliminarCita(cita.getId());
+        assertNull(cache.get(cita.getId()));
+        assertTrue(citaService.obtenerCita(cita.getId()).isEmpty());
+    }
 }
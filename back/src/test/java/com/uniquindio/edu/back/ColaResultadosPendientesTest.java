@@ -0,0 +1,74 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.EntradaPendienteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.ColaResultadosPendientes;
+
+class ColaResultadosPendientesTest {
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 10, 1, 8, 0);
+    private ColaResultadosPendientes cola;
+
+    @BeforeEach
+    void setUp() {
+        cola = new ColaResultadosPendientes(null);
+        cola.agregar(1L, base.plusHours(3));
+        cola.agregar(2L, base.plusHours(1));
+        cola.agregar(3L, base.plusHours(2));
+    }
+
+    @Test
+    void siguientes_DeberiaOrdenarPorFechaDeEmision() {
+        assertEquals(List.of(2L, 3L, 1L), cola.siguientes(null, 10));
+        assertEquals(List.of(3L, 1L), cola.siguientes(cola.entrada(2L).orElseThrow(), 10));
+    }
+
+    @Test
+    void alCambiarResultado_DeberiaSacarLosQueDejanDeEstarPendientes() {
+        cola.alCambiarResultado(new CambioResultadoMedico(TipoCambio.ESTADO_CAMBIADO, 2L, resultado(2L, "COMPLETADO")));
+        cola.alCambiarResultado(new CambioResultadoMedico(TipoCambio.ELIMINADO, 3L, null));
+        cola.alCambiarResultado(new CambioResultadoMedico(TipoCambio.CREADO, 4L, resultado(4L, "PENDIENTE")));
+
+        assertEquals(List.of(4L, 1L), cola.siguientes(null, 10));
+        assertTrue(cola.entrada(2L).isEmpty());
+        assertEquals(2, cola.tamano());
+    }
+
+    @Test
+    void reconstruir_NoDeberiaPerderLosCambiosQueLleganDuranteLaCarga() {
+        ResultadoMedicoRepository repositorio = mock(ResultadoMedicoRepository.class);
+        ColaResultadosPendientes reconstruida = new ColaResultadosPendientes(repositorio);
+        // La consulta ve la tabla antes de dos cambios que se confirman mientras corre
+        when(repositorio.findEntradasPendientes()).thenAnswer(invocacion -> {
+            reconstruida.quitar(1L);
+            reconstruida.agregar(4L, base);
+            return List.of(new EntradaPendienteDTO(1L, base.plusHours(3)), new EntradaPendienteDTO(2L, base.plusHours(1)));
+        });
+
+        reconstruida.reconstruir();
+
+        assertEquals(List.of(4L, 2L), reconstruida.siguientes(null, 10));
+        assertEquals(2, reconstruida.tamano());
+    }
+
+    private ResultadoMedicoDTO resultado(Long id, String estado) {
+        ResultadoMedicoDTO dto = new ResultadoMedicoDTO();
+        dto.setId(id);
+        dto.setEstado(estado);
+        dto.setFechaEmision(base);
+        return dto;
+    }
+}
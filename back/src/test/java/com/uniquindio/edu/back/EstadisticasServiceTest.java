@@ -0,0 +1,107 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.EstadoResultado;
+import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.EstadisticasDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.EstadisticasService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+class EstadisticasServiceTest {
+
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private ResultadoMedicoRepository resultadoMedicoRepository;
+
+    @Test
+    void escrituras_DeberianActualizarLosContadoresSinConsultarLaBase() {
+        LocalDateTime examen = LocalDateTime.of(2024, 3, 5, 8, 0);
+        ResultadoMedicoDTO creado = resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null,
+                "Estadística Uno", "Perfil Estadístico", "Normal", "Dr. Estadístico", examen, null, null, null, null));
+        EstadisticasDTO antes = estadisticasService.obtenerEstadisticas(examen.toLocalDate(), examen.toLocalDate());
+        assertEquals(1L, antes.resultadosPorTipoExamen().get("Perfil Estadístico"));
+        assertEquals(1L, antes.resultadosPorDia().get(examen.toLocalDate()));
+
+        resultadoMedicoService.cambiarEstado(creado.getId(), "COMPLETADO");
+        creado.setTipoExamen("Perfil Renombrado");
+        creado.setEstado("COMPLETADO");
+        resultadoMedicoService.actualizarResultadoMedico(creado.getId(), creado);
+
+        EstadisticasDTO despues = estadisticasService.obtenerEstadisticas(null, null);
+        assertEquals(null, despues.resultadosPorTipoExamen().get("Perfil Estadístico"));
+        assertEquals(1L, despues.resultadosPorTipoExamen().get("Perfil Renombrado"));
+        assertEquals(antes.totalResultados(), despues.totalResultados());
+
+        resultadoMedicoService.eliminarResultadoMedico(creado.getId());
+        assertEquals(antes.totalResultados() - 1, estadisticasService.obtenerEstadisticas(null, null).totalResultados());
+        assertEquals(null, estadisticasService.obtenerEstadisticas(null, null).resultadosPorMedico().get("Dr. Estadístico"));
+    }
+
+    @Test
+    void citas_DeberianContarPorEspecialidadYDia() {
+        long antes = estadisticasService.obtenerEstadisticas(null, null).totalCitas();
+        CitaDTO cita = citaService.crearCita(new CitaDTO(null, "Estadística Dos", "Geriatría Estadística",
+                "2024-04-10 09:00", "Control"));
+
+        EstadisticasDTO estadisticas = estadisticasService.obtenerEstadisticas(LocalDate.of(2024, 4, 10), null);
+        assertEquals(antes + 1, estadisticas.totalCitas());
+        assertEquals(1L, estadisticas.citasPorEspecialidad().get("Geriatría Estadística"));
+        assertEquals(1L, estadisticas.citasPorDia().get(LocalDate.of(2024, 4, 10)));
+        assertTrue(estadisticas.citasPorDia().keySet().stream().noneMatch(d -> d.isBefore(LocalDate.of(2024, 4, 10))));
+
+        citaService.eliminarCita(cita.getId());
+        assertEquals(antes, estadisticasService.obtenerEstadisticas(null, null).totalCitas());
+    }
+
+    @Test
+    void conciliar_DeberiaCoincidirConLosGroupByDeLaBase() {
+        // Otros contextos de prueba escriben en la misma base en memoria; se parte de una carga completa
+        estadisticasService.reconstruir();
+        resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null, "Estadística Tres", "Glicemia",
+                "90 mg/dL", "Dr. Luis Fernández", LocalDateTime.now().minusDays(2), null, null, null, null));
+        citaService.crearCita(new CitaDTO(null, "Estadística Tres", "Medicina General", "2024-05-02 10:30", "Control"));
+
+        assertTrue(estadisticasService.conciliar());
+    }
+
+    @Test
+    void conciliar_ConUnEventoEnCamino_NoDeberiaReconstruir() throws Exception {
+        estadisticasService.reconstruir();
+        // La fila ya está en la base pero su evento llega después de la primera comparación
+        ResultadoMedico guardado = resultadoMedicoRepository.save(new ResultadoMedico(null, "Estadística Cuatro",
+                "Glicemia", "92 mg/dL", "Dr. Luis Fernández", LocalDateTime.now().minusDays(1), null, null,
+                EstadoResultado.PENDIENTE));
+        ResultadoMedicoDTO dto = resultadoMedicoService.obtenerResultadoMedico(guardado.getId()).orElseThrow();
+        CompletableFuture<Void> evento = CompletableFuture.runAsync(
+                () -> estadisticasService.alCambiarResultado(new CambioResultadoMedico(TipoCambio.CREADO, dto.getId(), dto)),
+                CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+
+        assertTrue(estadisticasService.conciliar());
+        evento.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,171 @@
+package com.uniquindio.edu.back;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.evento.CambioCita;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.service.FeedCambios;
+
+class FeedCambiosTest {
+
+    private final List<Runnable> tareasPendientes = new ArrayList<>();
+
+    @Test
+    void suscribir_DeberiaReenviarSoloLoPosteriorAlUltimoEventoRecibido() {
+        FeedCambios feed = new FeedCambios(new ObjectMapper(), Runnable::run, 10, 10, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        EmisorDePrueba primero = new EmisorDePrueba();
+        feed.suscribir(primero, null);
+        for (long id = 1; id <= 3; id++) {
+            feed.alCambiarCita(new CambioCita(TipoCambio.CREADO, id,
+                    new CitaDTO(id, "Paciente " + id, "Pediatría", "2025-10-20 08:00", "Control")));
+        }
+        assertEquals(4, primero.eventos.size());
+        String idPrimerCambio = idDe(primero.eventos.get(1));
+
+        EmisorDePrueba reconectado = new EmisorDePrueba();
+        feed.suscribir(reconectado, idPrimerCambio);
+        feed.alCambiarCita(new CambioCita(TipoCambio.ELIMINADO, 2L, null));
+
+        assertEquals(List.of("conectado", "cita", "cita", "cita"), reconectado.eventos.stream().map(FeedCambiosTest::nombreDe).toList());
+        assertTrue(reconectado.eventos.get(1).contains("Paciente 2"));
+        assertTrue(reconectado.eventos.get(3).contains("\"tipo\":\"ELIMINADO\""));
+        assertEquals(idDe(primero.eventos.get(4)), idDe(reconectado.eventos.get(3)));
+    }
+
+    @Test
+    void suscribir_DeberiaPedirReinicioSiElEventoYaNoEstaEnElHistorial() {
+        FeedCambios feed = new FeedCambios(new ObjectMapper(), Runnable::run, 2, 10, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        EmisorDePrueba primero = new EmisorDePrueba();
+        feed.suscribir(primero, null);
+        for (long id = 1; id <= 4; id++) {
+            feed.alCambiarCita(new CambioCita(TipoCambio.ELIMINADO, id, null));
+        }
+
+        EmisorDePrueba atrasado = new EmisorDePrueba();
+        feed.suscribir(atrasado, idDe(primero.eventos.get(1)));
+        EmisorDePrueba deOtroArranque = new EmisorDePrueba();
+        feed.suscribir(deOtroArranque, "otroarranque-3");
+
+        assertEquals(List.of("reinicio"), atrasado.eventos.stream().map(FeedCambiosTest::nombreDe).toList());
+        assertEquals(List.of("reinicio"), deOtroArranque.eventos.stream().map(FeedCambiosTest::nombreDe).toList());
+    }
+
+    @Test
+    void publicar_DeberiaDesconectarAlSuscriptorQueNoLeeSinFrenarALosDemas() {
+        // Las tareas de envío quedan pendientes: el suscriptor nunca vacía su cola
+        FeedCambios feed = new FeedCambios(new ObjectMapper(), tareasPendientes::add, 100, 3, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        EmisorDePrueba lento = new EmisorDePrueba();
+        feed.suscribir(lento, null);
+        for (long id = 1; id <= 5; id++) {
+            feed.alCambiarCita(new CambioCita(TipoCambio.ELIMINADO, id, null));
+        }
+
+        assertEquals(0, feed.totalSuscriptores());
+        assertEquals(1, feed.totalDesconectadosPorLentitud());
+        tareasPendientes.forEach(Runnable::run);
+        assertTrue(lento.completado);
+    }
+
+    @Test
+    void lote_DeberiaLlegarComoUnSoloEventoAunqueSupereLaCola() {
+        // Cola de 3 que nunca se vacía: un lote de 500 filas publicado fila a fila desconectaría al suscriptor
+        FeedCambios feed = new FeedCambios(new ObjectMapper(), tareasPendientes::add, 100, 3, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        EmisorDePrueba suscriptor = new EmisorDePrueba();
+        feed.suscribir(suscriptor, null);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            feed.alCambiarResultado(new CambioResultadoMedico(TipoCambio.CREADO, id, null, true));
+            ids.add(id);
+        }
+        feed.alCambiarLoteResultados(new CambioLoteResultadosMedicos(TipoCambio.CREADO, ids));
+
+        assertEquals(1, feed.totalSuscriptores());
+        assertEquals(0, feed.totalDesconectadosPorLentitud());
+        tareasPendientes.forEach(Runnable::run);
+        assertEquals(List.of("conectado", "resultados"), suscriptor.eventos.stream().map(FeedCambiosTest::nombreDe).toList());
+        assertTrue(suscriptor.eventos.get(1).contains("\"ids\":[1,2,3,"));
+
+        // Quien se reconecta desde antes del lote recibe ese único evento, no un "reinicio"
+        EmisorDePrueba reconectado = new EmisorDePrueba();
+        feed.suscribir(reconectado, idDe(suscriptor.eventos.get(0)).replaceAll("-\\d+$", "-0"));
+        tareasPendientes.forEach(Runnable::run);
+        assertEquals(List.of("conectado", "resultados"), reconectado.eventos.stream().map(FeedCambiosTest::nombreDe).toList());
+    }
+
+    @Test
+    void latido_DeberiaDesconectarAlSuscriptorConUnEnvioBloqueado() throws Exception {
+        ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+        FeedCambios feed = new FeedCambios(new ObjectMapper(), hilos, 100, 10, Duration.ofMinutes(1), Duration.ofMillis(50));
+        CountDownLatch soltar = new CountDownLatch(1);
+        CountDownLatch bloqueado = new CountDownLatch(1);
+        EmisorDePrueba colgado = new EmisorDePrueba() {
+            @Override
+            public void send(SseEventBuilder evento) throws IOException {
+                bloqueado.countDown();
+                try {
+                    soltar.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        EmisorDePrueba sano = new EmisorDePrueba();
+        try {
+            feed.suscribir(colgado, null);
+            feed.suscribir(sano, null);
+            assertTrue(bloqueado.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+
+            feed.latido();
+
+            assertEquals(1, feed.totalSuscriptores());
+            assertEquals(1, feed.totalDesconectadosPorLentitud());
+        } finally {
+            soltar.countDown();
+            hilos.shutdown();
+        }
+    }
+
+    private static String nombreDe(String evento) {
+        return evento.lines().filter(l -> l.startsWith("event:")).findFirst().orElseThrow().substring(6);
+    }
+
+    private static String idDe(String evento) {
+        return evento.lines().filter(l -> l.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+
+    // Guarda el texto SSE de cada evento en lugar de escribirlo en una respuesta
+    private static class EmisorDePrueba extends SseEmitter {
+
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+        private volatile boolean completado;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            eventos.add(evento.build().stream().map(d -> d.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+    }
+}
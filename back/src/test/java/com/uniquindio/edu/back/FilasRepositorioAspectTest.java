@@ -0,0 +1,69 @@
+package com.uniquindio.edu.back;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import com.uniquindio.edu.back.metricas.FilasRepositorioAspect;
+import com.uniquindio.edu.back.model.Cita;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FilasRepositorioAspectTest {
+
+    interface CitaRepositorioPrueba extends Repository<Cita, Long> {
+        List<Cita> findByPaciente(String paciente);
+        Optional<Cita> findById(Long id);
+        long count();
+    }
+
+    private SimpleMeterRegistry registro;
+    private CitaRepositorioPrueba repositorio;
+
+    @BeforeEach
+    void setUp() {
+        registro = new SimpleMeterRegistry();
+        CitaRepositorioPrueba real = new CitaRepositorioPrueba() {
+            public List<Cita> findByPaciente(String paciente) {
+                return List.of(new Cita(), new Cita(), new Cita());
+            }
+
+            public Optional<Cita> findById(Long id) {
+                return Optional.empty();
+            }
+
+            public long count() {
+                return 3;
+            }
+        };
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(real);
+        fabrica.addAspect(new FilasRepositorioAspect(registro));
+        repositorio = fabrica.getProxy();
+    }
+
+    @Test
+    void contarFilas_DeberiaRegistrarFilasPorMetodo() {
+        repositorio.findByPaciente("Juan");
+        repositorio.findByPaciente("Ana");
+        repositorio.findById(1L);
+
+        DistributionSummary porPaciente = registro.get(FilasRepositorioAspect.METRICA)
+                .tags("repositorio", "CitaRepositorioPrueba", "metodo", "findByPaciente").summary();
+        assertEquals(2, porPaciente.count());
+        assertEquals(6, porPaciente.totalAmount());
+        assertEquals(0, registro.get(FilasRepositorioAspect.METRICA).tag("metodo", "findById").summary().totalAmount());
+    }
+
+    @Test
+    void contarFilas_NoDeberiaRegistrarConsultasQueNoDevuelvenFilas() {
+        repositorio.count();
+        assertNull(registro.find(FilasRepositorioAspect.METRICA).tag("metodo", "count").summary());
+    }
+}
@@ -0,0 +1,63 @@
+package com.uniquindio.edu.back;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.uniquindio.edu.back.model.dto.ConteoDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:generador;DB_CLOSE_DELAY=-1",
+        "saludvital.generador.citas=2500",
+        "saludvital.generador.resultados=4000",
+        "saludvital.generador.lote=300"})
+@ActiveProfiles("generador")
+class GeneradorDatosTest {
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private ResultadoMedicoRepository resultadoMedicoRepository;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Test
+    void generador_DeberiaReemplazarLosDatosDeEjemploConLaMezclaConfigurada() {
+        assertEquals(2500, citaRepository.count());
+        assertEquals(4000, resultadoMedicoRepository.count());
+
+        Map<String, Long> porEstado = resultadoMedicoRepository.contarPorEstado().stream()
+                .collect(Collectors.toMap(ConteoDTO::clave, ConteoDTO::total));
+        // Pesos 25 / 45 / 30 con tolerancia de cinco puntos
+        assertTrue(Math.abs(porEstado.get("PENDIENTE") - 1000) < 200, porEstado.toString());
+        assertTrue(Math.abs(porEstado.get("COMPLETADO") - 1800) < 200, porEstado.toString());
+
+        // El tipo de examen más frecuente concentra bastante más que una distribución uniforme (1/8)
+        long masFrecuente = resultadoMedicoRepository.contarPorTipoExamen().stream()
+                .mapToLong(ConteoDTO::total).max().orElseThrow();
+        assertTrue(masFrecuente > 4000 / 8 * 2);
+    }
+
+    @Test
+    void generador_NoDeberiaChocarConLosIdsQueReservaHibernate() {
+        ResultadoMedicoDTO creado = resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null,
+                "Después Del Generador", "Glicemia", "95 mg/dL", "Dr. Luis Fernández", null, null, null, null, null));
+
+        assertNotNull(creado.getId());
+        assertTrue(resultadoMedicoRepository.existsById(creado.getId()));
+        resultadoMedicoService.eliminarResultadoMedico(creado.getId());
+    }
+}
@@ -0,0 +1,62 @@
+package com.uniquindio.edu.back;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.uniquindio.edu.back.busqueda.IndiceInvertido;
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = IndiceResultadosMedicos.crearIndice();
+        indice.indexar(1L, "Juan Pérez", "Hemograma Completo", "Dr. María González",
+                "Hemoglobina: 14.2 g/dL (Normal)", null, "Resultados normales");
+        indice.indexar(2L, "Ana María", "Electrocardiograma", "Dr. Carlos Mendoza",
+                "Ritmo sinusal regular", null, "ECG normal para la edad");
+        indice.indexar(3L, "Carlos Ramírez", "Resonancia Magnética Cerebral", "Dr. Luis Fernández",
+                "Sin evidencia de lesiones focales", null, "RMN normal");
+    }
+
+    @Test
+    void buscar_DeberiaIgnorarTildesYMayusculas() {
+        assertEquals(List.of(1L), indice.buscar("PEREZ", 10));
+        assertEquals(List.of(3L), indice.buscar("ramirez", 10));
+    }
+
+    @Test
+    void buscar_DeberiaEncontrarFragmentosDePalabras() {
+        assertEquals(List.of(1L), indice.buscar("hemogra", 10));
+        assertEquals(List.of(2L), indice.buscar("cardio", 10));
+    }
+
+    @Test
+    void buscar_DeberiaPriorizarCoincidenciasEnCamposConMasPeso() {
+        // "Carlos" es paciente en 3 y médico en 2
+        assertEquals(List.of(3L, 2L), indice.buscar("carlos", 10));
+    }
+
+    @Test
+    void buscar_ConVariasPalabras_DeberiaExigirTodas() {
+        assertEquals(List.of(2L), indice.buscar("normal ecg", 10));
+        assertTrue(indice.buscar("normal inexistente", 10).isEmpty());
+    }
+
+    @Test
+    void reindexarYEliminar_DeberianActualizarElIndice() {
+        indice.indexar(1L, "Juan Pérez", "Perfil Lipídico", "Dr. Patricia Silva", "Colesterol 180", null, null);
+        assertTrue(indice.buscar("hemograma", 10).isEmpty());
+        assertEquals(List.of(1L), indice.buscar("lipidico", 10));
+
+        indice.eliminar(1L);
+        assertTrue(indice.buscar("perez", 10).isEmpty());
+        assertEquals(2, indice.totalDocumentos());
+    }
+}
@@ -0,0 +1,97 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.uniquindio.edu.back.model.dto.CitaDTO;
+import com.uniquindio.edu.back.model.dto.EntradaHistorialDTO;
+import com.uniquindio.edu.back.model.dto.PacienteDTO;
+import com.uniquindio.edu.back.model.dto.PaginaHistorialDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.service.CitaService;
+import com.uniquindio.edu.back.service.PacienteService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+class PacienteServiceTest {
+
+    @Autowired
+    private PacienteService pacienteService;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void historial_DeberiaMezclarCitasYResultadosEnOrdenYPaginar() {
+        LocalDateTime base = LocalDateTime.of(2024, 6, 3, 8, 0);
+        CitaDTO primera = citaService.crearCita(new CitaDTO(null, "Rosa Historial Uno", "Medicina Historial",
+                "2024-06-03 08:00", "Control"));
+        citaService.crearCita(new CitaDTO(null, "rosa  historial uno", "Medicina Historial", "2024-06-05 08:00", "Control"));
+        resultado("Rosa Histórial Uno", base);
+        resultado("ROSA HISTORIAL UNO", base.plusDays(1));
+        resultado("Rosa Historial Uno", base.plusDays(3));
+
+        PacienteDTO paciente = pacienteService.buscarPorNombre("rosa historial uno").orElseThrow();
+        List<EntradaHistorialDTO> todas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaHistorialDTO pagina = pacienteService.historial(paciente.id(), cursor, 2).orElseThrow();
+            assertTrue(pagina.contenido().size() <= 2);
+            todas.addAll(pagina.contenido());
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+
+        // Las variantes del nombre comparten paciente; a igual fecha la cita va antes que el resultado
+        assertEquals(List.of("RESULTADO", "CITA", "RESULTADO", "CITA", "RESULTADO"),
+                todas.stream().map(EntradaHistorialDTO::tipo).toList());
+        assertEquals(List.of(base.plusDays(3), base.plusDays(2), base.plusDays(1), base, base),
+                todas.stream().map(EntradaHistorialDTO::fecha).toList());
+        assertEquals(primera.getId(), todas.get(3).id());
+    }
+
+    @Test
+    void vincularExistentes_DeberiaAsignarPacienteALasFilasSinLlave() {
+        jdbcTemplate.update("INSERT INTO cita (paciente, especialidad, fecha_hora, motivo, version) "
+                + "VALUES ('Tomás Vinculado', 'Pediatría Vinculada', TIMESTAMP '2024-07-01 10:00:00', 'Control', 0)");
+        jdbcTemplate.update("INSERT INTO cita (paciente, especialidad, fecha_hora, motivo, version) "
+                + "VALUES ('tomas vinculado ', 'Pediatría Vinculada', TIMESTAMP '2024-07-02 10:00:00', 'Control', 0)");
+
+        pacienteService.vincularExistentes();
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT paciente_id FROM cita WHERE especialidad = 'Pediatría Vinculada'", Long.class);
+        assertEquals(2, ids.size());
+        assertEquals(ids.get(0), ids.get(1));
+        assertEquals(ids.get(0), pacienteService.buscarPorNombre("TOMAS VINCULADO").orElseThrow().id());
+        assertEquals(2, pacienteService.historial(ids.get(0), null, 10).orElseThrow().contenido().size());
+    }
+
+    @Test
+    void historial_DeberiaRechazarCursoresInvalidosYPacientesInexistentes() {
+        Long id = pacienteService.resolver("Cursor Inválido");
+        assertThrows(IllegalArgumentException.class, () -> pacienteService.historial(id, "2024-01-01T00:00|OTRO|1", 10));
+        assertTrue(pacienteService.historial(Long.MAX_VALUE, null, 10).isEmpty());
+        assertNull(pacienteService.resolver("   "));
+    }
+
+    private void resultado(String paciente, LocalDateTime examen) {
+        resultadoMedicoService.crearResultadoMedico(new ResultadoMedicoDTO(null, paciente, "Glicemia", "90 mg/dL",
+                "Dr. Historial", examen, null, null, null, null));
+    }
+}
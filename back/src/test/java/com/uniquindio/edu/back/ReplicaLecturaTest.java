@@ -0,0 +1,57 @@
+package com.uniquindio.edu.back;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uniquindio.edu.back.model.Cita;
+import com.uniquindio.edu.back.repository.CitaRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest
+class ReplicaLecturaTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    @Qualifier("primarioDataSource")
+    private HikariDataSource primario;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Test
+    void transaccionReadOnly_DeberiaUsarElPoolDeLaReplica() {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+
+        lectura.executeWithoutResult(estado -> {
+            citaRepository.listarDTO();
+            assertTrue(replica.getHikariPoolMXBean().getActiveConnections() >= 1);
+        });
+    }
+
+    @Test
+    void transaccionDeEscritura_DeberiaUsarElPrimario() {
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+
+        escritura.executeWithoutResult(estado -> {
+            Cita cita = citaRepository.save(new Cita(null, "Réplica", "Dermatología",
+                    LocalDateTime.of(2024, 6, 3, 9, 0), "Control"));
+            citaRepository.flush();
+            assertTrue(primario.getHikariPoolMXBean().getActiveConnections() >= 1);
+            citaRepository.delete(cita);
+        });
+    }
+}
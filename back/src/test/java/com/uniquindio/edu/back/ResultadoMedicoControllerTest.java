@@ -6,21 +6,33 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.uniquindio.edu.back.controller.ResultadoMedicoController;
 import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.VersionRecursoDTO;
 import com.uniquindio.edu.back.service.ResultadoMedicoService;
+import com.uniquindio.edu.back.service.VersionColecciones;
 
 @ExtendWith(MockitoExtension.class)
 class ResultadoMedicoControllerTest {
@@ -28,6 +40,9 @@ class ResultadoMedicoControllerTest {
     @Mock
     private ResultadoMedicoService resultadoMedicoService;
 
+    @Spy
+    private VersionColecciones versionColecciones = new VersionColecciones();
+
     @InjectMocks
     private ResultadoMedicoController resultadoMedicoController;
 
@@ -82,11 +97,13 @@ class ResultadoMedicoControllerTest {
     @Test
     void obtenerResultadoMedico_ConIdExistente_DeberiaRetornar200ConResultado() {
         // Arrange
+        when(resultadoMedicoService.obtenerVersion(1L))
+                .thenReturn(Optional.of(new VersionRecursoDTO(0L, LocalDateTime.now())));
         when(resultadoMedicoService.obtenerResultadoMedico(1L))
                 .thenReturn(Optional.of(resultadoMedicoDTO));
 
         // Act
-        ResponseEntity<ResultadoMedicoDTO> response = resultadoMedicoController.obtenerResultadoMedico(1L);
+        ResponseEntity<ResultadoMedicoDTO> response = resultadoMedicoController.obtenerResultadoMedico(1L, peticion());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -99,16 +116,74 @@ class ResultadoMedicoControllerTest {
     @Test
     void obtenerResultadoMedico_ConIdInexistente_DeberiaRetornar404() {
         // Arrange
-        when(resultadoMedicoService.obtenerResultadoMedico(999L))
+        when(resultadoMedicoService.obtenerVersion(999L))
                 .thenReturn(Optional.empty());
 
         // Act
-        ResponseEntity<ResultadoMedicoDTO> response = resultadoMedicoController.obtenerResultadoMedico(999L);
+        ResponseEntity<ResultadoMedicoDTO> response = resultadoMedicoController.obtenerResultadoMedico(999L, peticion());
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    void obtenerResultadoMedico_ConEtagVigente_DeberiaResponder304SinLeerElResultado() {
+        // Arrange
+        VersionRecursoDTO version = new VersionRecursoDTO(3L, LocalDateTime.now());
+        when(resultadoMedicoService.obtenerVersion(1L)).thenReturn(Optional.of(version));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resultados-medicos/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + versionColecciones.etiqueta(version) + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<ResultadoMedicoDTO> respuesta =
+                resultadoMedicoController.obtenerResultadoMedico(1L, new ServletWebRequest(request, response));
+
+        // Assert
+        assertNull(respuesta);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(resultadoMedicoService, never()).obtenerResultadoMedico(1L);
+    }
+
+    @Test
+    void etiquetaBusqueda_CambiaCuandoElIndiceAplicaElCambio() {
+        // Arrange: el commit ya subió la versión, el índice todavía no aplicó el cambio
+        versionColecciones.alCambiarResultado(null);
+        String antesDeIndexar = versionColecciones.etiquetaBusquedaResultados();
+        String coleccion = versionColecciones.etiquetaResultados();
+
+        // Act
+        versionColecciones.alIndexarResultados();
+
+        // Assert: la tabla no cambió, pero quien recibió la búsqueda vieja ya no obtiene 304
+        assertEquals(coleccion, versionColecciones.etiquetaResultados());
+        assertNotEquals(antesDeIndexar, versionColecciones.etiquetaBusquedaResultados());
+    }
+
+    private static ServletWebRequest peticion() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/resultados-medicos"), new MockHttpServletResponse());
+    }
+
+    @Test
+    void obtenerResultadoMedico_ConEtagDeOtroArranque_DeberiaRetornar200() {
+        // Arrange: misma versión que la que el cliente guardó antes del reinicio, con el formato viejo y con otro prefijo
+        when(resultadoMedicoService.obtenerVersion(1L))
+                .thenReturn(Optional.of(new VersionRecursoDTO(3L, LocalDateTime.now())));
+        when(resultadoMedicoService.obtenerResultadoMedico(1L)).thenReturn(Optional.of(resultadoMedicoDTO));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/resultados-medicos/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\", \"arranqueanterior-3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<ResultadoMedicoDTO> respuesta =
+                resultadoMedicoController.obtenerResultadoMedico(1L, new ServletWebRequest(request, response));
+
+        // Assert
+        assertNotNull(respuesta);
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertTrue(response.getHeader(HttpHeaders.ETAG).endsWith("-3\""));
+    }
+
     @Test
     void actualizarResultadoMedico_ConIdExistente_DeberiaRetornar200ConResultadoActualizado() {
         // Arrange
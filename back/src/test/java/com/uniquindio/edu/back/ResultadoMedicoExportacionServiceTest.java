@@ -0,0 +1,75 @@
+package com.uniquindio.edu.back;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService;
+import com.uniquindio.edu.back.service.ResultadoMedicoExportacionService.Formato;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+class ResultadoMedicoExportacionServiceTest {
+
+    @Autowired
+    private ResultadoMedicoExportacionService resultadoMedicoExportacionService;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private ResultadoMedicoRepository resultadoMedicoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportarNdjson_DeberiaEscribirUnaLineaJsonPorResultado() throws Exception {
+        resultadoMedicoService.crearResultadoMedico(nuevo("Exportación Uno", "Normal"));
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long filas = resultadoMedicoExportacionService.exportar(Formato.NDJSON, salida);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(resultadoMedicoRepository.count(), filas);
+        assertEquals(filas, lineas.length);
+        for (String linea : lineas) {
+            assertTrue(objectMapper.readValue(linea, ResultadoMedicoDTO.class).getId() != null);
+        }
+    }
+
+    @Test
+    void exportarCsv_DeberiaEscaparComasComillasYSaltosDeLinea() {
+        ResultadoMedicoDTO creado = resultadoMedicoService.crearResultadoMedico(
+                nuevo("Exportación, Dos", "Valor \"alto\"\nrepetir en 8 días"));
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long filas = resultadoMedicoExportacionService.exportar(Formato.CSV, salida);
+
+        String csv = salida.toString(StandardCharsets.UTF_8);
+        assertEquals(resultadoMedicoRepository.count(), filas);
+        assertTrue(csv.startsWith("id,paciente,tipoExamen,resultados,medicoResponsable,"));
+        assertTrue(csv.contains(creado.getId() + ",\"Exportación, Dos\",Hemograma,\"Valor \"\"alto\"\"\nrepetir en 8 días\","));
+    }
+
+    @Test
+    void formatoDesde_DeberiaRechazarFormatosDesconocidos() {
+        assertEquals(Formato.CSV, Formato.desde(" csv "));
+        assertThrows(IllegalArgumentException.class, () -> Formato.desde("xml"));
+    }
+
+    private static ResultadoMedicoDTO nuevo(String paciente, String resultados) {
+        return new ResultadoMedicoDTO(null, paciente, "Hemograma", resultados, "Dr. Luis Fernández",
+                LocalDateTime.now().minusDays(1), null, null, null, null);
+    }
+}
@@ -0,0 +1,216 @@
+package com.uniquindio.edu.back;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioResultadoMedico;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.model.dto.ItemLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoCambioEstadoLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoLoteDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.PacienteService;
+import com.uniquindio.edu.back.service.ResultadoMedicoLoteService;
+import com.uniquindio.edu.back.service.ResultadoMedicoService;
+
+@SpringBootTest
+@RecordApplicationEvents
+class ResultadoMedicoLoteServiceTest {
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResultadoMedicoLoteService resultadoMedicoLoteService;
+
+    @Autowired
+    private ResultadoMedicoService resultadoMedicoService;
+
+    @Autowired
+    private IndiceResultadosMedicos indiceResultadosMedicos;
+
+    @Autowired
+    private PacienteService pacienteService;
+
+    @Autowired
+    private ResultadoMedicoRepository resultadoMedicoRepository;
+
+    @Test
+    void crearEnLote_DeberiaReportarCadaRegistroPorSeparado() {
+        ResultadoMedicoDTO valido = new ResultadoMedicoDTO(null, "Lote Uno", "Glicemia", "95 mg/dL",
+                "Dr. Luis Fernández", LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(3),
+                null, null, null);
+        ResultadoMedicoDTO sinPaciente = new ResultadoMedicoDTO(null, "", "Glicemia", "95 mg/dL",
+                "Dr. Luis Fernández", LocalDateTime.now().minusDays(1), null, null, null, null);
+
+        ResultadoLoteDTO resultado = resultadoMedicoLoteService.crearEnLote(Arrays.asList(valido, sinPaciente));
+
+        assertEquals(2, resultado.getRecibidos());
+        assertEquals(1, resultado.getCreados());
+        assertTrue(resultado.getItems().get(0).isExito());
+        assertFalse(resultado.getItems().get(1).isExito());
+        assertEquals(1, resultado.getItems().get(1).getErrores().size());
+
+        ResultadoMedicoDTO guardado = resultadoMedicoService.obtenerResultadoMedico(resultado.getItems().get(0).getId()).orElseThrow();
+        assertEquals("PENDIENTE", guardado.getEstado());
+        assertFalse(guardado.getFechaEmision().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void crearEnLoteNdjson_DeberiaMarcarLineasInvalidasSinDetenerElLote() throws Exception {
+        String ndjson = """
+                {"paciente":"Lote Dos","tipoExamen":"Uroanálisis","resultados":"Normal","medicoResponsable":"Dr. Ana Rodríguez","fechaExamen":"2025-01-10T08:00:00"}
+                {esto no es json
+                {"paciente":"Lote Tres","tipoExamen":"Uroanálisis","resultados":"Normal","medicoResponsable":"Dr. Ana Rodríguez","fechaExamen":"2025-01-10T09:00:00"}
+                """;
+
+        ResultadoLoteDTO resultado = resultadoMedicoLoteService.crearEnLoteNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, resultado.getRecibidos());
+        assertEquals(2, resultado.getCreados());
+        assertFalse(resultado.getItems().get(1).isExito());
+        assertNotNull(resultado.getItems().get(2).getId());
+    }
+
+    @Test
+    void cambiarEstadoEnLote_DeberiaAplicarSoloLasTransicionesValidas() {
+        ResultadoLoteDTO creados = resultadoMedicoLoteService.crearEnLote(Arrays.asList(
+                nuevo("Turno Uno"), nuevo("Turno Dos"), nuevo("Turno Tres")));
+        Long uno = creados.getItems().get(0).getId();
+        Long dos = creados.getItems().get(1).getId();
+        Long tres = creados.getItems().get(2).getId();
+
+        ResultadoCambioEstadoLoteDTO completados =
+                resultadoMedicoService.cambiarEstadoEnLote(Arrays.asList(uno, dos, uno, -1L), "COMPLETADO");
+        assertEquals(3, completados.getRecibidos());
+        assertEquals(2, completados.getCambiados());
+        assertEquals("Resultado médico no encontrado", completados.getItems().get(2).getError());
+
+        ResultadoCambioEstadoLoteDTO revisados =
+                resultadoMedicoService.cambiarEstadoEnLote(Arrays.asList(uno, tres), "REVISADO");
+        assertTrue(revisados.getItems().get(0).isExito());
+        assertFalse(revisados.getItems().get(1).isExito());
+        assertEquals("PENDIENTE", revisados.getItems().get(1).getEstadoAnterior());
+
+        assertEquals("REVISADO", resultadoMedicoService.obtenerResultadoMedico(uno).orElseThrow().getEstado());
+        assertEquals("COMPLETADO", resultadoMedicoService.obtenerResultadoMedico(dos).orElseThrow().getEstado());
+        assertEquals("PENDIENTE", resultadoMedicoService.obtenerResultadoMedico(tres).orElseThrow().getEstado());
+    }
+
+    @Test
+    void lotes_DeberianPublicarUnEventoPorGrupoAdemasDeLosDeCadaFila() {
+        ResultadoLoteDTO creados = resultadoMedicoLoteService.crearEnLote(Arrays.asList(
+                nuevo("Evento Uno"), nuevo("Evento Dos"), nuevo("Evento Tres")));
+        List<Long> ids = creados.getItems().stream().map(ItemLoteDTO::getId).toList();
+        resultadoMedicoService.cambiarEstadoEnLote(ids, "COMPLETADO");
+
+        assertEquals(List.of(new CambioLoteResultadosMedicos(TipoCambio.CREADO, ids),
+                        new CambioLoteResultadosMedicos(TipoCambio.ESTADO_CAMBIADO, ids)),
+                eventos.stream(CambioLoteResultadosMedicos.class).toList());
+        // Las filas siguen llegando a estadísticas y cola (el índice usa el evento del grupo), marcadas para que el feed no las repita
+        assertEquals(6, eventos.stream(CambioResultadoMedico.class).filter(CambioResultadoMedico::enLote).count());
+    }
+
+    @Test
+    void crearEnLote_DeberiaResolverLosPacientesDelGrupoDeUnaVez() {
+        Long existente = pacienteService.resolver("Lote Paciente Existente");
+
+        ResultadoLoteDTO creados = resultadoMedicoLoteService.crearEnLote(Arrays.asList(
+                nuevo("Lote Ñandú Nuevo"), nuevo("lote  ñandu nuevo"), nuevo("LOTE PACIENTE EXISTENTE")));
+        List<Long> pacientes = creados.getItems().stream()
+                .map(i -> resultadoMedicoRepository.findById(i.getId()).orElseThrow().getPacienteId())
+                .toList();
+
+        assertEquals(3, creados.getCreados());
+        assertNotNull(pacientes.get(0));
+        assertEquals(pacientes.get(0), pacientes.get(1));
+        assertEquals(existente, pacientes.get(2));
+        assertEquals("Lote Ñandú Nuevo", pacienteService.obtenerPaciente(pacientes.get(0)).orElseThrow().nombre());
+    }
+
+    @Test
+    void crearEnLote_DeberiaQuedarEnElIndiceDeBusquedaConUnaTareaPorGrupo() throws Exception {
+        ResultadoLoteDTO creados = resultadoMedicoLoteService.crearEnLote(Arrays.asList(
+                nuevo("Indice Zorzalito"), nuevo("Indice Zorzalito")));
+        List<Long> ids = creados.getItems().stream().map(ItemLoteDTO::getId).toList();
+
+        // La indexación es asíncrona: se espera a que el grupo aparezca
+        long limite = System.currentTimeMillis() + 10_000;
+        while (indiceResultadosMedicos.buscar("zorzalito", 10).size() < 2 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(Set.copyOf(ids), Set.copyOf(indiceResultadosMedicos.buscar("zorzalito", 10)));
+    }
+
+    @Test
+    void cambiarEstadoEnLote_Concurrente_DeberiaEsperarAlOtroYRechazarLoQueYaCambio() throws Exception {
+        ResultadoLoteDTO creados = resultadoMedicoLoteService.crearEnLote(Arrays.asList(
+                nuevo("Carrera Uno"), nuevo("Carrera Dos")));
+        List<Long> ids = creados.getItems().stream().map(ItemLoteDTO::getId).toList();
+        CountDownLatch aplicado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            // El primero cambia las filas y retiene la transacción abierta
+            Future<ResultadoCambioEstadoLoteDTO> primero = hilos.submit(() -> transactionTemplate.execute(estado -> {
+                ResultadoCambioEstadoLoteDTO r = resultadoMedicoService.cambiarEstadoEnLote(ids, "COMPLETADO");
+                aplicado.countDown();
+                try {
+                    confirmar.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return r;
+            }));
+            assertTrue(aplicado.await(10, TimeUnit.SECONDS));
+
+            // El segundo espera el bloqueo de las filas y, al confirmarse el primero, ya las ve en COMPLETADO
+            Future<ResultadoCambioEstadoLoteDTO> segundo = hilos.submit(
+                    () -> resultadoMedicoService.cambiarEstadoEnLote(ids, "COMPLETADO"));
+            assertThrows(TimeoutException.class, () -> segundo.get(300, TimeUnit.MILLISECONDS));
+            confirmar.countDown();
+
+            assertEquals(2, primero.get(10, TimeUnit.SECONDS).getCambiados());
+            ResultadoCambioEstadoLoteDTO rechazado = segundo.get(10, TimeUnit.SECONDS);
+            assertEquals(0, rechazado.getCambiados());
+            assertEquals("COMPLETADO", rechazado.getItems().get(0).getEstadoAnterior());
+        } finally {
+            confirmar.countDown();
+            hilos.shutdownNow();
+        }
+    }
+
+    private static ResultadoMedicoDTO nuevo(String paciente) {
+        return new ResultadoMedicoDTO(null, paciente, "Glicemia", "95 mg/dL", "Dr. Luis Fernández",
+                LocalDateTime.now().minusDays(1), null, null, null, null);
+    }
+}
@@ -8,12 +8,14 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -21,11 +23,24 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import com.uniquindio.edu.back.busqueda.IndiceResultadosMedicos;
+import com.uniquindio.edu.back.evento.CambioLoteResultadosMedicos;
+import com.uniquindio.edu.back.evento.TipoCambio;
+import com.uniquindio.edu.back.exception.TransicionEstadoInvalidaException;
 import com.uniquindio.edu.back.mapper.ResultadoMedicoMapper;
+import com.uniquindio.edu.back.model.EstadoResultado;
 import com.uniquindio.edu.back.model.ResultadoMedico;
+import com.uniquindio.edu.back.model.dto.EstadoActualDTO;
+import com.uniquindio.edu.back.model.dto.PaginaDTO;
+import com.uniquindio.edu.back.model.dto.ResultadoCambioEstadoLoteDTO;
 import com.uniquindio.edu.back.model.dto.ResultadoMedicoDTO;
+import com.uniquindio.edu.back.model.dto.ResumenResultadoMedicoDTO;
 import com.uniquindio.edu.back.repository.ResultadoMedicoRepository;
+import com.uniquindio.edu.back.service.ColaResultadosPendientes;
+import com.uniquindio.edu.back.service.PacienteService;
 import com.uniquindio.edu.back.service.ResultadoMedicoService;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +52,18 @@ class ResultadoMedicoServiceTest {
     @Mock
     private ResultadoMedicoMapper resultadoMedicoMapper;
 
+    @Mock
+    private IndiceResultadosMedicos indiceResultadosMedicos;
+
+    @Mock
+    private ColaResultadosPendientes colaResultadosPendientes;
+
+    @Mock
+    private ApplicationEventPublisher publicadorEventos;
+
+    @Mock
+    private PacienteService pacienteService;
+
     @InjectMocks
     private ResultadoMedicoService resultadoMedicoService;
 
@@ -52,7 +79,7 @@ class ResultadoMedicoServiceTest {
                 1L, "Juan Pérez", "Hemograma Completo", 
                 "Hemoglobina: 14.2 g/dL (Normal)", 
                 "Dr. María González", fechaExamen, fechaEmision, 
-                "Resultados normales", "COMPLETADO");
+                "Resultados normales", EstadoResultado.COMPLETADO);
 
         resultadoMedicoDTO = new ResultadoMedicoDTO(
                 1L, "Juan Pérez", "Hemograma Completo", 
@@ -81,9 +108,7 @@ class ResultadoMedicoServiceTest {
     @Test
     void listarResultadosMedicos_DeberiaRetornarListaDeResultados() {
         // Arrange
-        List<ResultadoMedico> resultados = Arrays.asList(resultadoMedico);
-        when(resultadoMedicoRepository.findAll()).thenReturn(resultados);
-        when(resultadoMedicoMapper.toDTO(any(ResultadoMedico.class))).thenReturn(resultadoMedicoDTO);
+        when(resultadoMedicoRepository.listarDTO()).thenReturn(Arrays.asList(resultadoMedicoDTO));
 
         // Act
         List<ResultadoMedicoDTO> resultado = resultadoMedicoService.listarResultadosMedicos();
@@ -94,11 +119,42 @@ class ResultadoMedicoServiceTest {
         assertEquals("Juan Pérez", resultado.get(0).getPaciente());
     }
 
+    @Test
+    void listarResultadosPaginados_ConMasFilas_DeberiaRetornarCursorSiguiente() {
+        // Arrange
+        ResultadoMedicoDTO otroDTO = new ResultadoMedicoDTO();
+        otroDTO.setId(2L);
+        when(resultadoMedicoRepository.listarDTODesde(eq(0L), any(Limit.class)))
+                .thenReturn(Arrays.asList(resultadoMedicoDTO, otroDTO));
+
+        // Act
+        PaginaDTO<ResultadoMedicoDTO> pagina = resultadoMedicoService.listarResultadosPaginados(null, 1);
+
+        // Assert
+        assertEquals(1, pagina.getContenido().size());
+        assertEquals(1L, pagina.getSiguiente());
+    }
+
+    @Test
+    void listarResumenPaginado_DeberiaUsarLaProyeccionSinTextosLargos() {
+        // Arrange
+        ResumenResultadoMedicoDTO resumen = new ResumenResultadoMedicoDTO(1L, "Juan Pérez", "Hemograma Completo",
+                "Dr. María González", LocalDateTime.now().minusDays(1), LocalDateTime.now(), EstadoResultado.COMPLETADO);
+        when(resultadoMedicoRepository.listarResumenDesde(eq(0L), any(Limit.class))).thenReturn(Arrays.asList(resumen));
+
+        // Act
+        PaginaDTO<ResumenResultadoMedicoDTO> pagina = resultadoMedicoService.listarResumenPaginado(null, 10);
+
+        // Assert
+        assertEquals(1, pagina.getContenido().size());
+        assertNull(pagina.getSiguiente());
+        verify(resultadoMedicoMapper, never()).toDTO(any(ResultadoMedico.class));
+    }
+
     @Test
     void obtenerResultadoMedico_ConIdExistente_DeberiaRetornarResultado() {
         // Arrange
-        when(resultadoMedicoRepository.findById(1L)).thenReturn(Optional.of(resultadoMedico));
-        when(resultadoMedicoMapper.toDTO(any(ResultadoMedico.class))).thenReturn(resultadoMedicoDTO);
+        when(resultadoMedicoRepository.buscarDTOPorId(1L)).thenReturn(Optional.of(resultadoMedicoDTO));
 
         // Act
         Optional<ResultadoMedicoDTO> resultado = resultadoMedicoService.obtenerResultadoMedico(1L);
@@ -111,7 +167,7 @@ class ResultadoMedicoServiceTest {
     @Test
     void obtenerResultadoMedico_ConIdInexistente_DeberiaRetornarVacio() {
         // Arrange
-        when(resultadoMedicoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(resultadoMedicoRepository.buscarDTOPorId(999L)).thenReturn(Optional.empty());
 
         // Act
         Optional<ResultadoMedicoDTO> resultado = resultadoMedicoService.obtenerResultadoMedico(999L);
@@ -187,9 +243,7 @@ class ResultadoMedicoServiceTest {
     @Test
     void buscarPorPaciente_DeberiaRetornarResultadosDelPaciente() {
         // Arrange
-        List<ResultadoMedico> resultados = Arrays.asList(resultadoMedico);
-        when(resultadoMedicoRepository.findByPacienteContainingIgnoreCase("Juan")).thenReturn(resultados);
-        when(resultadoMedicoMapper.toDTO(any(ResultadoMedico.class))).thenReturn(resultadoMedicoDTO);
+        when(resultadoMedicoRepository.buscarDTOPorPalabraPaciente("juan%")).thenReturn(Arrays.asList(resultadoMedicoDTO));
 
         // Act
         List<ResultadoMedicoDTO> resultado = resultadoMedicoService.buscarPorPaciente("Juan");
@@ -200,12 +254,45 @@ class ResultadoMedicoServiceTest {
         assertEquals("Juan Pérez", resultado.get(0).getPaciente());
     }
 
+    @Test
+    void buscarTextoLibre_DeberiaRespetarElOrdenDelIndice() {
+        // Arrange
+        ResultadoMedicoDTO otroDTO = new ResultadoMedicoDTO();
+        otroDTO.setId(2L);
+        when(indiceResultadosMedicos.buscar("hemograma", 20)).thenReturn(Arrays.asList(2L, 1L));
+        when(resultadoMedicoRepository.buscarDTOPorIds(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(resultadoMedicoDTO, otroDTO));
+
+        // Act
+        List<ResultadoMedicoDTO> resultado = resultadoMedicoService.buscarTextoLibre("hemograma", 20);
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals(2L, resultado.get(0).getId());
+        assertEquals(1L, resultado.get(1).getId());
+    }
+
+    @Test
+    void buscarResultadosPendientes_DeberiaRetornarLaListaEnElOrdenDeLaCola() {
+        // Arrange
+        ResultadoMedicoDTO otroDTO = new ResultadoMedicoDTO();
+        otroDTO.setId(2L);
+        when(colaResultadosPendientes.tamano()).thenReturn(2);
+        when(colaResultadosPendientes.siguientes(null, 2)).thenReturn(Arrays.asList(2L, 1L));
+        when(resultadoMedicoRepository.buscarDTOPorIds(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(resultadoMedicoDTO, otroDTO));
+
+        // Act
+        List<ResultadoMedicoDTO> resultado = resultadoMedicoService.buscarResultadosPendientes();
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals(2L, resultado.get(0).getId());
+        assertEquals(1L, resultado.get(1).getId());
+    }
+
     @Test
     void buscarPorEstado_DeberiaRetornarResultadosConEstadoEspecifico() {
         // Arrange
-        List<ResultadoMedico> resultados = Arrays.asList(resultadoMedico);
-        when(resultadoMedicoRepository.findByEstado("COMPLETADO")).thenReturn(resultados);
-        when(resultadoMedicoMapper.toDTO(any(ResultadoMedico.class))).thenReturn(resultadoMedicoDTO);
+        when(resultadoMedicoRepository.buscarDTOPorEstado(EstadoResultado.COMPLETADO)).thenReturn(Arrays.asList(resultadoMedicoDTO));
 
         // Act
         List<ResultadoMedicoDTO> resultado = resultadoMedicoService.buscarPorEstado("COMPLETADO");
@@ -219,12 +306,12 @@ class ResultadoMedicoServiceTest {
     @Test
     void cambiarEstado_ConIdExistente_DeberiaCambiarEstadoYRetornarResultado() {
         // Arrange
-        when(resultadoMedicoRepository.findById(1L)).thenReturn(Optional.of(resultadoMedico));
-        when(resultadoMedicoRepository.save(any(ResultadoMedico.class))).thenReturn(resultadoMedico);
-        
+        when(resultadoMedicoRepository.cambiarEstadoSi(eq(List.of(1L)), eq(EstadoResultado.COMPLETADO),
+                eq(EstadoResultado.REVISADO), any(LocalDateTime.class))).thenReturn(1);
         ResultadoMedicoDTO dtoConNuevoEstado = new ResultadoMedicoDTO();
+        dtoConNuevoEstado.setId(1L);
         dtoConNuevoEstado.setEstado("REVISADO");
-        when(resultadoMedicoMapper.toDTO(any(ResultadoMedico.class))).thenReturn(dtoConNuevoEstado);
+        when(resultadoMedicoRepository.buscarDTOPorId(1L)).thenReturn(Optional.of(dtoConNuevoEstado));
 
         // Act
         ResultadoMedicoDTO resultado = resultadoMedicoService.cambiarEstado(1L, "REVISADO");
@@ -232,13 +319,16 @@ class ResultadoMedicoServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals("REVISADO", resultado.getEstado());
-        verify(resultadoMedicoRepository, times(1)).save(any(ResultadoMedico.class));
+        verify(resultadoMedicoRepository, never()).findById(any());
+        verify(resultadoMedicoRepository, never()).save(any(ResultadoMedico.class));
     }
 
     @Test
     void cambiarEstado_ConIdInexistente_DeberiaLanzarExcepcion() {
         // Arrange
-        when(resultadoMedicoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(resultadoMedicoRepository.cambiarEstadoSi(eq(List.of(999L)), eq(EstadoResultado.COMPLETADO),
+                eq(EstadoResultado.REVISADO), any(LocalDateTime.class))).thenReturn(0);
+        when(resultadoMedicoRepository.buscarEstados(List.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -246,4 +336,50 @@ class ResultadoMedicoServiceTest {
         });
         assertNotNull(exception);
     }
+
+    @Test
+    void cambiarEstado_ConEstadoInvalido_DeberiaLanzarIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> resultadoMedicoService.cambiarEstado(1L, "ARCHIVADO"));
+        assertThrows(IllegalArgumentException.class, () -> resultadoMedicoService.cambiarEstado(1L, "PENDIENTE"));
+        verify(resultadoMedicoRepository, never()).cambiarEstadoSi(any(), any(), any(), any());
+    }
+
+    @Test
+    void cambiarEstado_SiOtroRevisorSeAdelanto_DeberiaRechazarLaTransicion() {
+        // Arrange: el resultado ya no está en COMPLETADO cuando llega el UPDATE
+        when(resultadoMedicoRepository.cambiarEstadoSi(eq(List.of(1L)), eq(EstadoResultado.COMPLETADO),
+                eq(EstadoResultado.REVISADO), any(LocalDateTime.class))).thenReturn(0);
+        when(resultadoMedicoRepository.buscarEstados(List.of(1L)))
+                .thenReturn(List.of(new EstadoActualDTO(1L, EstadoResultado.REVISADO)));
+
+        // Act & Assert
+        assertThrows(TransicionEstadoInvalidaException.class, () -> resultadoMedicoService.cambiarEstado(1L, "REVISADO"));
+        verify(publicadorEventos, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void cambiarEstadoEnLote_SiElUpdateTocaMenosFilas_DeberiaReleerYReportarSoloLasCambiadas() {
+        // Arrange: las tres estaban en COMPLETADO al bloquear, pero el UPDATE solo cambió una
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(resultadoMedicoRepository.bloquearEstados(ids)).thenReturn(List.of(
+                new EstadoActualDTO(1L, EstadoResultado.COMPLETADO),
+                new EstadoActualDTO(2L, EstadoResultado.COMPLETADO),
+                new EstadoActualDTO(3L, EstadoResultado.COMPLETADO)));
+        when(resultadoMedicoRepository.cambiarEstadoSi(eq(ids), eq(EstadoResultado.COMPLETADO),
+                eq(EstadoResultado.REVISADO), any(LocalDateTime.class))).thenReturn(1);
+        when(resultadoMedicoRepository.buscarEstados(ids)).thenReturn(List.of(
+                new EstadoActualDTO(1L, EstadoResultado.REVISADO),
+                new EstadoActualDTO(2L, EstadoResultado.PENDIENTE)));
+        when(resultadoMedicoRepository.buscarDTOPorIds(List.of(1L))).thenReturn(List.of(resultadoMedicoDTO));
+
+        // Act
+        ResultadoCambioEstadoLoteDTO resultado = resultadoMedicoService.cambiarEstadoEnLote(ids, "REVISADO");
+
+        // Assert
+        assertEquals(1, resultado.getCambiados());
+        assertEquals("PENDIENTE", resultado.getItems().get(1).getEstadoAnterior());
+        assertEquals("Resultado médico no encontrado", resultado.getItems().get(2).getError());
+        verify(publicadorEventos).publishEvent(new CambioLoteResultadosMedicos(TipoCambio.ESTADO_CAMBIADO, List.of(1L)));
+    }
 }